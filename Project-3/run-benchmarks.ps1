@@ -0,0 +1,23 @@
+# Simple helper to compile the project and run one of the benchmark programs
+param(
+    [string] $benchmark = "GraphSuiteBenchmark",
+    [string] $heap = "4g",
+    [string[]] $options = @()
+)
+
+if (-not (Get-Command javac -ErrorAction SilentlyContinue)) {
+    Write-Error "javac not found. Please install a JDK and ensure javac is on your PATH."
+    exit 1
+}
+
+$outDir = "out" # Untracked; bin holds the checked-in classes
+$sources = Get-ChildItem -Path "src" -Recurse -Filter *.java | ForEach-Object { $_.FullName }
+
+javac -d $outDir $sources
+if ($LASTEXITCODE -ne 0) {
+    Write-Error "javac failed with exit code $LASTEXITCODE"
+    exit $LASTEXITCODE
+}
+
+# Options are passed through as name=value pairs, e.g. maxVertices=10000000 family=grid
+java "-Xmx$heap" -cp $outDir "BenchmarkPackage.$benchmark" $options
@@ -0,0 +1,139 @@
+package ADTPackage;
+
+/**
+ * A circular-array implementation of the QueueInterface. The array doubles
+ * when full, so enqueue takes amortized constant time, and unlike
+ * LinkedQueue no node is allocated per entry.
+ */
+public final class ArrayQueue<T> implements QueueInterface<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private T[] queue;      // Circular array; length is a power of two
+    private int frontIndex; // Index of the front entry
+    private int size;       // Number of entries
+
+    public ArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue that holds the given number of entries
+     * before it needs to grow.
+     *
+     * @param initialCapacity the number of entries expected
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ArrayQueue(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be non-negative.");
+        }
+        @SuppressWarnings("unchecked")
+        T[] tempQueue = (T[]) new Object[capacityFor(initialCapacity)];
+        queue = tempQueue;
+        frontIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a new entry to the back of this queue.
+     *
+     * @param newEntry the element to add to the queue
+     */
+    @Override
+    public void enqueue(T newEntry) {
+        if (size == queue.length) {
+            grow();
+        }
+        queue[(frontIndex + size) & (queue.length - 1)] = newEntry;
+        size++;
+    }
+
+    /**
+     * Removes and returns the entry at the front of this queue.
+     *
+     * @return the element removed from the front of the queue
+     * @throws EmptyQueueException if the queue is empty before the operation
+     */
+    @Override
+    public T dequeue() {
+        if (isEmpty()) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+
+        T front = queue[frontIndex];
+        queue[frontIndex] = null; // Let the entry be collected
+        frontIndex = (frontIndex + 1) & (queue.length - 1);
+        size--;
+        return front;
+    }
+
+    /**
+     * Retrieves the entry at the front of this queue without removing it.
+     *
+     * @return the element at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+    @Override
+    public T getFront() {
+        if (isEmpty()) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return queue[frontIndex];
+    }
+
+    /**
+     * Detects whether this queue is empty.
+     *
+     * @return true if the queue contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries in this queue.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Removes all entries from this queue, keeping its array for reuse.
+     */
+    @Override
+    public void clear() {
+        while (size > 0) {
+            queue[frontIndex] = null;
+            frontIndex = (frontIndex + 1) & (queue.length - 1);
+            size--;
+        }
+        frontIndex = 0;
+    }
+
+    // Doubles the array, moving the entries to its start in queue order
+    private void grow() {
+        if (queue.length == Integer.highestOneBit(Integer.MAX_VALUE)) {
+            throw new IllegalStateException("Queue has reached its maximum capacity.");
+        }
+        @SuppressWarnings("unchecked")
+        T[] larger = (T[]) new Object[2 * queue.length];
+        int frontPart = queue.length - frontIndex;
+        System.arraycopy(queue, frontIndex, larger, 0, frontPart);
+        System.arraycopy(queue, 0, larger, frontPart, frontIndex);
+        queue = larger;
+        frontIndex = 0;
+    }
+
+    // Smallest power of two that is at least the given capacity
+    static int capacityFor(int capacity) {
+        int result = DEFAULT_CAPACITY;
+        while (result < capacity && result < Integer.highestOneBit(Integer.MAX_VALUE)) {
+            result <<= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package ADTPackage;
+
+import java.util.Arrays;
+
+/**
+ * A resizable-array implementation of the StackInterface. The top entry is
+ * at the end of the occupied part of the array, so push and pop take
+ * amortized constant time and, unlike LinkedStack, allocate no nodes.
+ */
+public final class ArrayStack<T> implements StackInterface<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private T[] stack;       // stack[0..topIndex] holds the entries, top last
+    private int topIndex;    // Index of the top entry, or -1 if empty
+
+    public ArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack that holds the given number of entries
+     * before it needs to grow.
+     *
+     * @param initialCapacity the number of entries expected
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ArrayStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be non-negative.");
+        }
+        @SuppressWarnings("unchecked")
+        T[] tempStack = (T[]) new Object[Math.max(initialCapacity, 1)];
+        stack = tempStack;
+        topIndex = -1;
+    }
+
+    /**
+     * Adds a new entry to the top of this stack.
+     *
+     * @param newEntry the element to push on the stack
+     */
+    @Override
+    public void push(T newEntry) {
+        if (topIndex == stack.length - 1) {
+            stack = Arrays.copyOf(stack, 2 * stack.length);
+        }
+        topIndex++;
+        stack[topIndex] = newEntry;
+    }
+
+    /**
+     * Removes and returns this stack's top entry.
+     *
+     * @return the element previously at the top of the stack
+     * @throws EmptyStackException if the stack is empty before the operation
+     */
+    @Override
+    public T pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException("Stack is empty");
+        }
+
+        T top = stack[topIndex];
+        stack[topIndex] = null; // Let the entry be collected
+        topIndex--;
+        return top;
+    }
+
+    /**
+     * Retrieves this stack's top entry without removing it.
+     *
+     * @return the element at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    @Override
+    public T peek() {
+        if (isEmpty()) {
+            throw new EmptyStackException("Stack is empty");
+        }
+        return stack[topIndex];
+    }
+
+    /**
+     * Detects whether this stack is empty.
+     *
+     * @return true if the stack contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return topIndex < 0;
+    }
+
+    /**
+     * Gets the number of entries in this stack.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return topIndex + 1;
+    }
+
+    /**
+     * Removes all entries from this stack, keeping its array for reuse.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(stack, 0, topIndex + 1, null);
+        topIndex = -1;
+    }
+}
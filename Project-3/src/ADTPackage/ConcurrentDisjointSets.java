@@ -0,0 +1,137 @@
+package ADTPackage;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free union-find structure over the int values 0 to size() - 1,
+ * which any number of threads may update at once. It offers the same
+ * operations as DisjointSets.
+ *
+ * <p>A union links one representative under the other with a
+ * compare-and-set, retrying if another thread changed either tree first;
+ * find halves the path it follows with compare-and-sets that are allowed
+ * to fail. Rank cannot be kept consistent without locking, so the root
+ * with the lower of two fixed pseudo-random priorities is linked under
+ * the other, which keeps trees logarithmic in expectation.</p>
+ *
+ * <p>A representative is only stable while no union runs; once all
+ * updates are done, every find and getSetCount is exact.</p>
+ */
+public final class ConcurrentDisjointSets {
+
+    private final AtomicIntegerArray parent; // parent[x] == x for the representative of a set
+    private final LongAdder unions = new LongAdder();
+
+    /**
+     * Creates a structure in which every value is in a set of its own.
+     *
+     * @param size the number of values
+     * @throws IllegalArgumentException if size is negative
+     */
+    public ConcurrentDisjointSets(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative.");
+        }
+        parent = new AtomicIntegerArray(size);
+        for (int x = 0; x < size; x++) {
+            parent.set(x, x);
+        }
+    }
+
+    /**
+     * Finds the representative of the set containing a value.
+     *
+     * @param x a value from 0 to size() - 1
+     * @return the representative at some moment during the call
+     */
+    public int find(int x) {
+        int next = parent.get(x);
+        while (next != x) {
+            int grandparent = parent.get(next);
+            if (grandparent != next) {
+                parent.weakCompareAndSetVolatile(x, next, grandparent); // Path halving
+            }
+            x = grandparent;
+            next = parent.get(x);
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets containing two values.
+     *
+     * @param x a value from 0 to size() - 1
+     * @param y another value
+     * @return true if this call merged two different sets; false if the
+     *         values were already in the same set
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return false;
+            }
+            if (outranks(x, y)) {
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+            if (parent.compareAndSet(x, x, y)) {
+                unions.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Sees whether two values are in the same set.
+     *
+     * @param x a value from 0 to size() - 1
+     * @param y another value
+     * @return true if they were in the same set at some moment during the
+     *         call
+     */
+    public boolean isSameSet(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return true;
+            }
+            if (parent.get(x) == x) { // Still a representative, so y's set was not x's
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of disjoint sets.
+     *
+     * @return the number of sets, exact once no union is running
+     */
+    public int getSetCount() {
+        return (int) (parent.length() - unions.sum());
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values, in all sets together
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    // True if x should stay the root when the trees of x and y are linked.
+    // Links always point to a higher priority, so no thread can close a cycle.
+    private static boolean outranks(int x, int y) {
+        return priority(x) > priority(y);
+    }
+
+    // A bijective scramble of the value, so priorities never tie and do not follow the numbering
+    private static int priority(int x) {
+        return Hashing.mix(x);
+    }
+}
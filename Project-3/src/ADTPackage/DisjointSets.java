@@ -0,0 +1,110 @@
+package ADTPackage;
+
+/**
+ * A union-find structure over the int values 0 to size() - 1, such as
+ * vertex ids. Each value starts in a set of its own; union merges two
+ * sets and find names the set a value belongs to by one of its members.
+ *
+ * <p>Union by rank keeps every tree's height logarithmic, and find
+ * compresses the path it follows, so a sequence of operations costs
+ * nearly constant time per operation. The structure is not thread safe;
+ * see ConcurrentDisjointSets.</p>
+ */
+public final class DisjointSets {
+
+    private final int[] parent; // parent[x] == x for the representative of a set
+    private final byte[] rank;  // An upper bound on the height of each representative's tree
+    private int setCount;
+
+    /**
+     * Creates a structure in which every value is in a set of its own.
+     *
+     * @param size the number of values
+     * @throws IllegalArgumentException if size is negative
+     */
+    public DisjointSets(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative.");
+        }
+        parent = new int[size];
+        for (int x = 0; x < size; x++) {
+            parent[x] = x;
+        }
+        rank = new byte[size];
+        setCount = size;
+    }
+
+    /**
+     * Finds the representative of the set containing a value.
+     *
+     * @param x a value from 0 to size() - 1
+     * @return the representative, the same for every member of the set
+     *         until the set is merged with another
+     */
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing two values.
+     *
+     * @param x a value from 0 to size() - 1
+     * @param y another value
+     * @return true if the values were in different sets before the call
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Sees whether two values are in the same set.
+     *
+     * @param x a value from 0 to size() - 1
+     * @param y another value
+     * @return true if they are in the same set
+     */
+    public boolean isSameSet(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Gets the number of disjoint sets.
+     *
+     * @return the number of sets, from 1 to size(), or 0 if size() is 0
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values, in all sets together
+     */
+    public int size() {
+        return parent.length;
+    }
+}
@@ -0,0 +1,358 @@
+package ADTPackage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash implementation of DictionaryInterface.
+ * Entries live in parallel key/value arrays probed linearly, so search,
+ * insertion and removal take expected constant time. The table doubles
+ * whenever it becomes half full, and removed slots are marked and later
+ * reclaimed by the next rehash.
+ *
+ * <p>Iteration normally follows table order. If the dictionary is created
+ * with sorted iteration enabled, the key and value iterators instead visit
+ * entries in ascending key order; the keys must then be Comparable.</p>
+ */
+public class HashedDictionary<K, V> implements DictionaryInterface<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final Object REMOVED = new Object(); // Marks a vacated slot
+
+    private Object[] keys;          // Search keys; null = never used
+    private Object[] values;        // Values parallel to keys
+    private int numberOfEntries;
+    private int occupiedSlots;      // Entries plus removed markers
+    private final boolean sortedIteration;
+
+    public HashedDictionary() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates a dictionary sized to hold the given number of entries
+     * without rehashing.
+     *
+     * @param expectedEntries The number of entries expected
+     */
+    public HashedDictionary(int expectedEntries) {
+        this(expectedEntries, false);
+    }
+
+    /**
+     * Creates a dictionary sized to hold the given number of entries
+     * without rehashing.
+     *
+     * @param expectedEntries The number of entries expected
+     * @param sortedIteration True if the iterators should visit entries in
+     *                        ascending key order instead of table order
+     * @throws IllegalArgumentException if expectedEntries is negative
+     */
+    public HashedDictionary(int expectedEntries, boolean sortedIteration) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("Expected entries must be non-negative.");
+        }
+        int capacity = tableSizeFor(expectedEntries);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        numberOfEntries = 0;
+        occupiedSlots = 0;
+        this.sortedIteration = sortedIteration;
+    }
+
+    /**
+     * Adds a new entry to this dictionary. If the given search key already
+     * exists in the dictionary, replaces the corresponding value.
+     *
+     * @param key   The search key of the new entry
+     * @param value The value associated with the key
+     * @return Either null if the new entry was added to the dictionary or the
+     *         value that was associated with key if that value was replaced.
+     * @throws IllegalArgumentException if key or value is null
+     */
+    @Override
+    public V add(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot add null key or value.");
+        }
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        int firstRemoved = -1;
+
+        // Probe until the key or a never-used slot is found
+        while (keys[index] != null) {
+            Object candidate = keys[index];
+            if (candidate == REMOVED) {
+                if (firstRemoved < 0) {
+                    firstRemoved = index;
+                }
+            } else if (candidate.equals(key)) {
+                @SuppressWarnings("unchecked")
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (firstRemoved >= 0) {
+            // Reuse a vacated slot; the occupied count is unchanged
+            index = firstRemoved;
+        } else {
+            occupiedSlots++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        numberOfEntries++;
+
+        if (occupiedSlots > keys.length / 2) {
+            rehash();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry with the given key, if present.
+     *
+     * @param key The key for the entry to remove
+     * @return The value that was associated with the key, or null if not found
+     */
+    @Override
+    public V remove(K key) {
+        int index = locate(key);
+        if (index < 0) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V result = (V) values[index];
+        keys[index] = REMOVED;
+        values[index] = null;
+        numberOfEntries--;
+        return result;
+    }
+
+    /**
+     * Retrieves the value associated with the given key, if present.
+     *
+     * @param key The search key to look for
+     * @return The associated value, or null if there is no entry for the key
+     */
+    @Override
+    public V getValue(K key) {
+        int index = locate(key);
+        if (index < 0) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V result = (V) values[index];
+        return result;
+    }
+
+    /**
+     * Determines whether the dictionary contains the given key.
+     *
+     * @param key The search key to look for
+     * @return True if the dictionary contains key, or false otherwise
+     */
+    @Override
+    public boolean contains(K key) {
+        return locate(key) >= 0;
+    }
+
+    /**
+     * Creates an iterator that traverses the dictionary's keys, in ascending
+     * order if sorted iteration was requested.
+     *
+     * @return An iterator over keys
+     */
+    @Override
+    public Iterator<K> getKeyIterator() {
+        return sortedIteration ? new SortedIterator<>(true) : new TableIterator<>(keys);
+    }
+
+    /**
+     * Creates an iterator that traverses the dictionary's values, in the
+     * same order as the keys returned by getKeyIterator.
+     *
+     * @return An iterator over values
+     */
+    @Override
+    public Iterator<V> getValueIterator() {
+        return sortedIteration ? new SortedIterator<>(false) : new TableIterator<>(values);
+    }
+
+    /**
+     * Checks whether the dictionary is empty (no key/value pairs).
+     *
+     * @return True if the dictionary contains no entries
+     */
+    @Override
+    public boolean isEmpty() {
+        return numberOfEntries == 0;
+    }
+
+    /**
+     * Gets the number of key/value pairs in the dictionary.
+     *
+     * @return The number of entries
+     */
+    @Override
+    public int getSize() {
+        return numberOfEntries;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        numberOfEntries = 0;
+        occupiedSlots = 0;
+    }
+
+    // ===== Private helpers =====
+
+    // Returns the slot holding key, or -1 if key is absent
+    private int locate(K key) {
+        if (key == null) {
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (keys[index] != null) {
+            Object candidate = keys[index];
+            if (candidate != REMOVED && candidate.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Rebuilds the table, dropping removed markers and growing if needed
+    private void rehash() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int capacity = tableSizeFor(numberOfEntries);
+
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null && key != REMOVED) {
+                int index = hash(key) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+        occupiedSlots = numberOfEntries;
+    }
+
+    // Spreads the key's hash code so that linear probing sees well-mixed low bits
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    // Smallest power of two that keeps the given entries at most half full
+    private static int tableSizeFor(int entries) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 2 <= entries) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // ===== Table-order iterator over either the key or the value array =====
+    private class TableIterator<E> implements Iterator<E> {
+        private final Object[] source;
+        private int nextIndex;
+
+        private TableIterator(Object[] source) {
+            this.source = source;
+            nextIndex = 0;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < keys.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            E result = (E) source[nextIndex];
+            nextIndex++;
+            advance();
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Skips unused and removed slots
+        private void advance() {
+            while (nextIndex < keys.length &&
+                   (keys[nextIndex] == null || keys[nextIndex] == REMOVED)) {
+                nextIndex++;
+            }
+        }
+    }
+
+    // ===== Ascending-key iterator over either keys or their values =====
+    private class SortedIterator<E> implements Iterator<E> {
+        private final Object[] sortedKeys;
+        private final boolean returnKeys;
+        private int nextIndex;
+
+        private SortedIterator(boolean returnKeys) {
+            this.returnKeys = returnKeys;
+            sortedKeys = new Object[numberOfEntries];
+            int count = 0;
+            for (Object key : keys) {
+                if (key != null && key != REMOVED) {
+                    sortedKeys[count++] = key;
+                }
+            }
+            Arrays.sort(sortedKeys); // Natural ordering of the keys
+            nextIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < sortedKeys.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            @SuppressWarnings("unchecked")
+            K key = (K) sortedKeys[nextIndex++];
+            @SuppressWarnings("unchecked")
+            E result = returnKeys ? (E) key : (E) getValue(key);
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
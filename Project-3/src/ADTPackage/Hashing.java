@@ -0,0 +1,35 @@
+package ADTPackage;
+
+/**
+ * The hash mixing shared by the open-addressing tables of both packages.
+ * Multiplying by the golden-ratio constant 0x9E3779B9 spreads every input
+ * bit upward, and folding the high half back down gives the low bits,
+ * which pick the slot in a power-of-two table, a share of all of them.
+ * The mix is a bijection on int, so distinct inputs stay distinct.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Mixes a hash code so that linear probing sees well-spread low bits.
+     *
+     * @param h a hash code or key
+     * @return the mixed value
+     */
+    public static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Mixes a long key by folding its halves together first.
+     *
+     * @param key a key
+     * @return the mixed value
+     */
+    public static int mix(long key) {
+        return mix((int) (key ^ (key >>> 32)));
+    }
+}
@@ -0,0 +1,202 @@
+package ADTPackage;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of int items 0 to capacity - 1, each with a double
+ * priority. Because the heap remembers where every item sits, it can lower
+ * an item's priority in place (decrease-key) in O(log n) time, and nothing
+ * is boxed or allocated per operation.
+ *
+ * <p>clear() only touches the items currently in the heap, so one heap can
+ * be reused cheaply for many searches over the same item range.</p>
+ */
+public final class IndexedMinHeap {
+
+    private int[] heap;          // heap[1..size] holds items
+    private double[] priority;   // priority[item]
+    private int[] position;      // position[item] in heap, or 0 if absent
+    private int size;
+
+    /**
+     * Creates an empty heap for items 0 to capacity - 1.
+     *
+     * @param capacity the number of distinct items
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity + 1];
+        priority = new double[capacity];
+        position = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Makes room for items up to capacity - 1, keeping the current entries.
+     *
+     * @param capacity the number of distinct items needed
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            heap = Arrays.copyOf(heap, capacity + 1);
+            priority = Arrays.copyOf(priority, capacity);
+            position = Arrays.copyOf(position, capacity);
+        }
+    }
+
+    /**
+     * Adds an item that is not in the heap.
+     *
+     * @param item        the item to add
+     * @param newPriority its priority
+     * @throws IllegalArgumentException if the item is already in the heap
+     */
+    public void add(int item, double newPriority) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item already in heap: " + item);
+        }
+        size++;
+        heap[size] = item;
+        position[item] = size;
+        priority[item] = newPriority;
+        siftUp(size);
+    }
+
+    /**
+     * Lowers the priority of an item in the heap.
+     *
+     * @param item        an item in the heap
+     * @param newPriority a priority no greater than its current one
+     * @throws IllegalArgumentException if the item is absent or the
+     *         priority would increase
+     */
+    public void decreasePriority(int item, double newPriority) {
+        if (!contains(item) || newPriority > priority[item]) {
+            throw new IllegalArgumentException("Cannot decrease priority of item " + item);
+        }
+        priority[item] = newPriority;
+        siftUp(position[item]);
+    }
+
+    /**
+     * Sees whether an item is in the heap.
+     *
+     * @param item an item
+     * @return true if the item is in the heap
+     */
+    public boolean contains(int item) {
+        return position[item] != 0;
+    }
+
+    /**
+     * Gets the priority of an item in the heap.
+     *
+     * @param item an item in the heap
+     * @return its priority
+     */
+    public double getPriority(int item) {
+        return priority[item];
+    }
+
+    /**
+     * Gets the smallest priority in the heap.
+     *
+     * @return the priority of the item at the top of the heap
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double getMinPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return priority[heap[1]];
+    }
+
+    /**
+     * Removes and returns the item with the smallest priority.
+     *
+     * @return the removed item
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = heap[1];
+        position[top] = 0;
+        int last = heap[size];
+        size--;
+        if (size > 0) {
+            heap[1] = last;
+            position[last] = 1;
+            siftDown(1);
+        }
+        return top;
+    }
+
+    /**
+     * Detects whether the heap is empty.
+     *
+     * @return true if the heap contains no items
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of items in the heap.
+     *
+     * @return the number of items
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Removes all items, in time proportional to the number removed. */
+    public void clear() {
+        for (int i = 1; i <= size; i++) {
+            position[heap[i]] = 0;
+        }
+        size = 0;
+    }
+
+    // ===== Private helpers =====
+
+    private void siftUp(int index) {
+        int item = heap[index];
+        double key = priority[item];
+        while (index > 1) {
+            int parentIndex = index >>> 1;
+            int parent = heap[parentIndex];
+            if (priority[parent] <= key) {
+                break;
+            }
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+
+    private void siftDown(int index) {
+        int item = heap[index];
+        double key = priority[item];
+        int half = size >>> 1;
+        while (index <= half) {
+            int childIndex = 2 * index;
+            int child = heap[childIndex];
+            if (childIndex < size && priority[heap[childIndex + 1]] < priority[child]) {
+                childIndex++;
+                child = heap[childIndex];
+            }
+            if (key <= priority[child]) {
+                break;
+            }
+            heap[index] = child;
+            position[child] = index;
+            index = childIndex;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+}
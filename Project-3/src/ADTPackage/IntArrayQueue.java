@@ -0,0 +1,113 @@
+package ADTPackage;
+
+/**
+ * A circular-array FIFO queue of int values, such as vertex indices. It
+ * behaves like ArrayQueue but stores primitives, so enqueue and dequeue
+ * never box or allocate once the array is large enough. clear() takes
+ * constant time, so one queue can serve many traversals.
+ */
+public final class IntArrayQueue {
+
+    private int[] queue;    // Circular array; length is a power of two
+    private int frontIndex; // Index of the front entry
+    private int size;       // Number of entries
+
+    public IntArrayQueue() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty queue that holds the given number of entries
+     * before it needs to grow.
+     *
+     * @param initialCapacity the number of entries expected
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public IntArrayQueue(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be non-negative.");
+        }
+        queue = new int[ArrayQueue.capacityFor(initialCapacity)];
+        frontIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a new entry to the back of this queue.
+     *
+     * @param newEntry the value to add to the queue
+     */
+    public void enqueue(int newEntry) {
+        if (size == queue.length) {
+            grow();
+        }
+        queue[(frontIndex + size) & (queue.length - 1)] = newEntry;
+        size++;
+    }
+
+    /**
+     * Removes and returns the entry at the front of this queue.
+     *
+     * @return the value removed from the front of the queue
+     * @throws EmptyQueueException if the queue is empty before the operation
+     */
+    public int dequeue() {
+        if (size == 0) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        int front = queue[frontIndex];
+        frontIndex = (frontIndex + 1) & (queue.length - 1);
+        size--;
+        return front;
+    }
+
+    /**
+     * Retrieves the entry at the front of this queue without removing it.
+     *
+     * @return the value at the front of the queue
+     * @throws EmptyQueueException if the queue is empty
+     */
+    public int getFront() {
+        if (size == 0) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return queue[frontIndex];
+    }
+
+    /**
+     * Detects whether this queue is empty.
+     *
+     * @return true if the queue contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries in this queue.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Removes all entries from this queue, keeping its array for reuse. */
+    public void clear() {
+        frontIndex = 0;
+        size = 0;
+    }
+
+    // Doubles the array, moving the entries to its start in queue order
+    private void grow() {
+        if (queue.length == Integer.highestOneBit(Integer.MAX_VALUE)) {
+            throw new IllegalStateException("Queue has reached its maximum capacity.");
+        }
+        int[] larger = new int[2 * queue.length];
+        int frontPart = queue.length - frontIndex;
+        System.arraycopy(queue, frontIndex, larger, 0, frontPart);
+        System.arraycopy(queue, 0, larger, frontPart, frontIndex);
+        queue = larger;
+        frontIndex = 0;
+    }
+}
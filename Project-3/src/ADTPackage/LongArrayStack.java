@@ -0,0 +1,95 @@
+package ADTPackage;
+
+import java.util.Arrays;
+
+/**
+ * A resizable-array LIFO stack of long values, such as vertex labels. It
+ * behaves like ArrayStack but stores primitives, so push and pop never box
+ * or allocate once the array is large enough. clear() takes constant time,
+ * so one stack can serve many traversals.
+ */
+public final class LongArrayStack {
+
+    private long[] stack; // stack[0..size - 1] holds the entries, top last
+    private int size;
+
+    public LongArrayStack() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty stack that holds the given number of entries
+     * before it needs to grow.
+     *
+     * @param initialCapacity the number of entries expected
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public LongArrayStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be non-negative.");
+        }
+        stack = new long[Math.max(initialCapacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Adds a new entry to the top of this stack.
+     *
+     * @param newEntry the value to push on the stack
+     */
+    public void push(long newEntry) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, 2 * size);
+        }
+        stack[size++] = newEntry;
+    }
+
+    /**
+     * Removes and returns this stack's top entry.
+     *
+     * @return the value previously at the top of the stack
+     * @throws EmptyStackException if the stack is empty before the operation
+     */
+    public long pop() {
+        if (size == 0) {
+            throw new EmptyStackException("Stack is empty");
+        }
+        return stack[--size];
+    }
+
+    /**
+     * Retrieves this stack's top entry without removing it.
+     *
+     * @return the value at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public long peek() {
+        if (size == 0) {
+            throw new EmptyStackException("Stack is empty");
+        }
+        return stack[size - 1];
+    }
+
+    /**
+     * Detects whether this stack is empty.
+     *
+     * @return true if the stack contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries in this stack.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Removes all entries from this stack, keeping its array for reuse. */
+    public void clear() {
+        size = 0;
+    }
+}
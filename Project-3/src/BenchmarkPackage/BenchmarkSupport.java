@@ -0,0 +1,102 @@
+package BenchmarkPackage;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Small timing and allocation helpers shared by the benchmark programs.
+ *
+ * <p>The benchmarks are plain programs with a main method, run directly
+ * from the compiled classes, for example
+ * {@code java -cp bin BenchmarkPackage.VertexStoreBenchmark}.</p>
+ */
+public final class BenchmarkSupport {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated so far.
+     *
+     * @return the allocated byte count, or -1 if the JVM does not report it
+     */
+    public static long allocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Converts an elapsed nanosecond count to milliseconds.
+     *
+     * @param nanos an elapsed time in nanoseconds
+     * @return the same time in milliseconds
+     */
+    public static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Computes an operation rate.
+     *
+     * @param operations the number of operations performed
+     * @param nanos the time they took in nanoseconds
+     * @return operations per second
+     */
+    public static double perSecond(long operations, long nanos) {
+        return operations * 1_000_000_000.0 / Math.max(1, nanos);
+    }
+
+    /**
+     * Reads an integer option of the form {@code name=value} from the
+     * command-line arguments.
+     *
+     * @param args the command-line arguments
+     * @param name the option name
+     * @param defaultValue the value to use if the option is absent
+     * @return the option's value
+     */
+    public static int intOption(String[] args, String name, int defaultValue) {
+        String prefix = name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads a text option of the form {@code name=value} from the
+     * command-line arguments.
+     *
+     * @param args the command-line arguments
+     * @param name the option name
+     * @param defaultValue the value to use if the option is absent
+     * @return the option's value
+     */
+    public static String stringOption(String[] args, String name, String defaultValue) {
+        String prefix = name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    // The HotSpot extension exposes per-thread allocation counters
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotspotBean.isThreadAllocatedMemorySupported()) {
+                hotspotBean.setThreadAllocatedMemoryEnabled(true);
+                return hotspotBean;
+            }
+        }
+        return null;
+    }
+}
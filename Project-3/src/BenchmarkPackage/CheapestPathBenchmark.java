@@ -0,0 +1,94 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+import ADTPackage.LinkedStack;
+import GraphPackage.DirectedGraph;
+import GraphPackage.GraphAlgorithmsInterface;
+
+/**
+ * Measures getCheapestPath (Dijkstra) on a random graph and on a grid,
+ * for both DirectedGraph and its frozen CsrGraph form. Besides query
+ * throughput it reports the bytes allocated per query, which shows that
+ * the heap and cost arrays are reused between calls.
+ *
+ * <p>Options: {@code vertices=N degree=D side=S queries=Q}</p>
+ */
+public class CheapestPathBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 200_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+        int side = BenchmarkSupport.intOption(args, "side", 400);
+        int queries = BenchmarkSupport.intOption(args, "queries", 200);
+
+        System.out.printf("%-8s %-10s %12s %14s%n", "graph", "form", "queries/s", "bytes/query");
+
+        DirectedGraph<Integer> random = buildRandomGraph(vertexCount, degree);
+        run("random", "linked", random, vertexCount, queries);
+        run("random", "csr", random.freeze(), vertexCount, queries);
+
+        DirectedGraph<Integer> grid = buildGrid(side);
+        run("grid", "linked", grid, side * side, queries);
+        run("grid", "csr", grid.freeze(), side * side, queries);
+    }
+
+    private static void run(String graphName, String form, GraphAlgorithmsInterface<Integer> graph,
+                            int vertexCount, int queries) {
+        Random random = new Random(7);
+        // Warm-up, which also creates the reusable heap
+        for (int q = 0; q < queries / 10 + 1; q++) {
+            graph.getCheapestPath(random.nextInt(vertexCount), random.nextInt(vertexCount), new LinkedStack<>());
+        }
+
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        double totalCost = 0;
+        for (int q = 0; q < queries; q++) {
+            totalCost += graph.getCheapestPath(random.nextInt(vertexCount), random.nextInt(vertexCount),
+                    new LinkedStack<>());
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-8s %-10s %12.1f %14d  (total cost %.0f)%n", graphName, form,
+                BenchmarkSupport.perSecond(queries, nanos), allocated / queries, totalCost);
+    }
+
+    private static DirectedGraph<Integer> buildRandomGraph(int vertexCount, int degree) {
+        Random random = new Random(42);
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int d = 0; d < degree; d++) {
+                graph.addEdge(v, random.nextInt(vertexCount), 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+
+    // A side x side grid with edges in both directions between neighboring cells
+    private static DirectedGraph<Integer> buildGrid(int side) {
+        Random random = new Random(42);
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(side * side);
+        for (int v = 0; v < side * side; v++) {
+            graph.addVertex(v);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) {
+                    graph.addEdge(v, v + 1, 1 + random.nextInt(10));
+                    graph.addEdge(v + 1, v, 1 + random.nextInt(10));
+                }
+                if (row + 1 < side) {
+                    graph.addEdge(v, v + side, 1 + random.nextInt(10));
+                    graph.addEdge(v + side, v, 1 + random.nextInt(10));
+                }
+            }
+        }
+        return graph;
+    }
+}
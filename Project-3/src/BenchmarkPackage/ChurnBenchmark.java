@@ -0,0 +1,91 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures a DirectedGraph under churn: each step removes a random vertex
+ * and adds a new one with fresh edges, so the graph keeps its size while
+ * its vertex table fills with removed places and is compacted.
+ * <ul>
+ *   <li>with the reverse index, so removing a vertex visits only its
+ *       neighbors;</li>
+ *   <li>without it, so every removal scans all vertices for edges into
+ *       the removed one;</li>
+ *   <li>rebuilding the graph from scratch, which was the only way to
+ *       drop vertices before removal existed.</li>
+ * </ul>
+ *
+ * <p>Options: {@code vertices=N degree=D steps=S}. The scanning run does
+ * at most 1000 steps, since each costs time proportional to the graph.</p>
+ */
+public class ChurnBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 200_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+        int steps = BenchmarkSupport.intOption(args, "steps", 200_000);
+
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            if (print) {
+                System.out.printf("%d vertices, out-degree %d%n", vertexCount, degree);
+                System.out.printf("%-22s %10s %14s%n", "churn", "steps", "us/step");
+            }
+            churn(vertexCount, degree, steps, true, print);
+            churn(vertexCount, degree, Math.min(steps, 1000), false, print);
+
+            long start = System.nanoTime();
+            load(vertexCount, degree);
+            long nanos = System.nanoTime() - start;
+            if (print) {
+                System.out.printf("%-22s %10d %14.0f%n", "rebuild", 1, nanos / 1000.0);
+            }
+        }
+    }
+
+    private static DirectedGraph<Integer> load(int vertexCount, int degree) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        GraphFamily.RANDOM.generate(vertexCount, degree, 42,
+                (begin, end, weight) -> graph.addEdge(begin, end, weight));
+        return graph;
+    }
+
+    private static void churn(int vertexCount, int degree, int steps, boolean indexed, boolean print) {
+        DirectedGraph<Integer> graph = load(vertexCount, degree);
+        if (indexed) {
+            graph.buildReverseIndex();
+        }
+
+        // live[0 .. vertexCount - 1] holds the labels currently in the graph
+        int[] live = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            live[v] = v;
+        }
+        int nextLabel = vertexCount;
+        Random random = new Random(7);
+
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            int slot = random.nextInt(vertexCount);
+            graph.removeVertex(live[slot]);
+            live[slot] = nextLabel;
+            graph.addVertex(nextLabel);
+            for (int d = 0; d < degree; d++) {
+                graph.addEdge(nextLabel, live[random.nextInt(vertexCount)], 1.0);
+                graph.addEdge(live[random.nextInt(vertexCount)], nextLabel, 1.0);
+            }
+            nextLabel++;
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (print) {
+            System.out.printf("%-22s %10d %14.2f%n", indexed ? "remove (reverse index)" : "remove (scan)",
+                    steps, nanos / 1000.0 / steps);
+        }
+    }
+}
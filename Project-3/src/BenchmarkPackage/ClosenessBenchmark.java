@@ -0,0 +1,108 @@
+package BenchmarkPackage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import GraphPackage.CsrGraph;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures all-origins work: the closeness of many origins spread evenly
+ * over the ids, computed
+ * <ul>
+ *   <li>with one getBreadthFirstLevels call on the CsrGraph per origin;</li>
+ *   <li>from the per-origin levels that getBreadthFirstLevels computes
+ *       for 256 origins at a time on the CsrGraph;</li>
+ *   <li>with getClosenessCentrality, which runs the searches 256 at a
+ *       time, on the DirectedGraph and on the CsrGraph.</li>
+ * </ul>
+ * The scores of every method are checked against each other.
+ *
+ * <p>Options: {@code vertices=N degree=D origins=K}</p>
+ */
+public class ClosenessBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 100_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+        int originCount = BenchmarkSupport.intOption(args, "origins", 1024);
+
+        for (GraphFamily family : new GraphFamily[] {GraphFamily.RANDOM, GraphFamily.POWER_LAW}) {
+            DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                graph.addVertex(v);
+            }
+            family.generate(vertexCount, degree, 42, (begin, end, weight) -> graph.addEdge(begin, end, weight));
+            CsrGraph<Integer> frozen = graph.freeze();
+            List<Integer> origins = new ArrayList<>();
+            for (int i = 0; i < originCount; i++) {
+                origins.add((int) ((long) i * vertexCount / originCount));
+            }
+
+            for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+                boolean print = (pass == 1);
+                if (print) {
+                    System.out.printf("%s: %d vertices, %d edges, %d origins%n", family, vertexCount,
+                            frozen.getNumberOfEdges(), originCount);
+                    System.out.printf("%-28s %12s %12s%n", "closeness", "ms", "us/origin");
+                }
+
+                long start = System.nanoTime();
+                double[] expected = new double[originCount];
+                for (int i = 0; i < originCount; i++) {
+                    expected[i] = closeness(frozen.getBreadthFirstLevels(origins.get(i)));
+                }
+                report(print, "levels per origin (CsrGraph)", originCount, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                double[] scores = new double[originCount];
+                for (int first = 0; first < originCount; first += 256) {
+                    List<Integer> batch = origins.subList(first, Math.min(originCount, first + 256));
+                    int[][] levels = frozen.getBreadthFirstLevels(batch);
+                    for (int i = 0; i < levels.length; i++) {
+                        scores[first + i] = closeness(levels[i]);
+                    }
+                }
+                report(print, "batched levels (CsrGraph)", originCount, System.nanoTime() - start);
+                check(expected, scores);
+
+                start = System.nanoTime();
+                scores = graph.getClosenessCentrality(origins);
+                report(print, "batched (DirectedGraph)", originCount, System.nanoTime() - start);
+                check(expected, scores);
+
+                start = System.nanoTime();
+                scores = frozen.getClosenessCentrality(origins);
+                report(print, "batched (CsrGraph)", originCount, System.nanoTime() - start);
+                check(expected, scores);
+            }
+        }
+    }
+
+    private static double closeness(int[] levels) {
+        long distanceSum = 0;
+        int reached = 0;
+        for (int level : levels) {
+            if (level > 0) {
+                distanceSum += level;
+                reached++;
+            }
+        }
+        return (distanceSum == 0) ? 0 : reached / (double) distanceSum;
+    }
+
+    private static void report(boolean print, String method, int originCount, long nanos) {
+        if (print) {
+            System.out.printf("%-28s %12.1f %12.1f%n", method, BenchmarkSupport.millis(nanos),
+                    nanos / 1000.0 / originCount);
+        }
+    }
+
+    private static void check(double[] expected, double[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (Math.abs(expected[i] - actual[i]) > 1e-12) {
+                throw new IllegalStateException("Closeness differs for origin " + i);
+            }
+        }
+    }
+}
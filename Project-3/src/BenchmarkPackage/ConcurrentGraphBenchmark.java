@@ -0,0 +1,173 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import ADTPackage.QueueInterface;
+import GraphPackage.ConcurrentDirectedGraph;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures a mixed workload: writer threads add the edges of a random
+ * graph while reader threads run breadth-first traversals from random
+ * origins, until the writers are done. Compares ConcurrentDirectedGraph
+ * with a DirectedGraph guarded by one ReentrantReadWriteLock, where each
+ * edge takes the write lock and each traversal the read lock.
+ *
+ * <p>Reported are edges added per second, traversals finished per
+ * second, and vertices visited per second; the last is the fairer
+ * read figure, since a traversal that starts while the graph is still
+ * sparse reaches few vertices.</p>
+ *
+ * <p>Options: {@code vertices=N degree=D writers=W readers=R}</p>
+ */
+public class ConcurrentGraphBenchmark {
+
+    /** The operations the workload needs from a graph. */
+    private interface Workload {
+        void addEdge(Integer begin, Integer end, double weight);
+
+        int traverse(Integer origin);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 100_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+        int writerCount = BenchmarkSupport.intOption(args, "writers", 2);
+        int readerCount = BenchmarkSupport.intOption(args, "readers", 4);
+
+        Integer[] labels = new Integer[vertexCount]; // Boxed once, outside the timing
+        for (int v = 0; v < vertexCount; v++) {
+            labels[v] = v;
+        }
+        int[] begins = new int[vertexCount * degree];
+        int[] ends = new int[vertexCount * degree];
+        int[] edgeCount = new int[1];
+        GraphFamily.RANDOM.generate(vertexCount, degree, 42, (begin, end, weight) -> {
+            begins[edgeCount[0]] = begin;
+            ends[edgeCount[0]] = end;
+            edgeCount[0]++;
+        });
+
+        System.out.printf("%d vertices, %d edges, %d writers, %d readers%n",
+                vertexCount, edgeCount[0], writerCount, readerCount);
+        System.out.printf("%-30s %12s %12s %14s%n", "graph", "edges/s", "bfs/s", "visited/s");
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            run("ConcurrentDirectedGraph", concurrent(labels), labels, begins, ends,
+                    edgeCount[0], writerCount, readerCount, print);
+            run("DirectedGraph + RW lock", locked(labels), labels, begins, ends,
+                    edgeCount[0], writerCount, readerCount, print);
+        }
+    }
+
+    private static Workload concurrent(Integer[] labels) {
+        ConcurrentDirectedGraph<Integer> graph = new ConcurrentDirectedGraph<>(labels.length);
+        for (Integer label : labels) {
+            graph.addVertex(label);
+        }
+        return new Workload() {
+            @Override
+            public void addEdge(Integer begin, Integer end, double weight) {
+                graph.addEdge(begin, end, weight);
+            }
+
+            @Override
+            public int traverse(Integer origin) {
+                return drain(graph.getBreadthFirstTraversal(origin));
+            }
+        };
+    }
+
+    private static Workload locked(Integer[] labels) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(labels.length);
+        for (Integer label : labels) {
+            graph.addVertex(label);
+        }
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        return new Workload() {
+            @Override
+            public void addEdge(Integer begin, Integer end, double weight) {
+                lock.writeLock().lock();
+                try {
+                    graph.addEdge(begin, end, weight);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            public int traverse(Integer origin) {
+                lock.readLock().lock();
+                try {
+                    return drain(graph.getBreadthFirstTraversal(origin));
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    private static void run(String name, Workload graph, Integer[] labels, int[] begins, int[] ends,
+                            int edgeCount, int writerCount, int readerCount, boolean print)
+            throws InterruptedException {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong traversals = new AtomicLong();
+        AtomicLong reached = new AtomicLong();
+
+        Thread[] writers = new Thread[writerCount];
+        for (int w = 0; w < writerCount; w++) {
+            int first = w;
+            writers[w] = new Thread(() -> {
+                for (int i = first; i < edgeCount; i += writerCount) {
+                    graph.addEdge(labels[begins[i]], labels[ends[i]], 1.0);
+                }
+            });
+        }
+        Thread[] readers = new Thread[readerCount];
+        for (int r = 0; r < readerCount; r++) {
+            Random random = new Random(r);
+            readers[r] = new Thread(() -> {
+                while (writing.get()) {
+                    reached.addAndGet(graph.traverse(labels[random.nextInt(labels.length)]));
+                    traversals.incrementAndGet();
+                }
+            });
+        }
+
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        long start = System.nanoTime();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long nanos = System.nanoTime() - start;
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        if (print) {
+            System.out.printf("%-30s %12.0f %12.1f %14.0f%n", name,
+                    BenchmarkSupport.perSecond(edgeCount, nanos),
+                    BenchmarkSupport.perSecond(traversals.get(), nanos),
+                    BenchmarkSupport.perSecond(reached.get(), nanos));
+        }
+    }
+
+    private static int drain(QueueInterface<Integer> queue) {
+        int count = 0;
+        while (!queue.isEmpty()) {
+            queue.dequeue();
+            count++;
+        }
+        return count;
+    }
+}
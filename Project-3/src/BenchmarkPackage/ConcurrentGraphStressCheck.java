@@ -0,0 +1,247 @@
+package BenchmarkPackage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ADTPackage.LinkedStack;
+import ADTPackage.QueueInterface;
+import GraphPackage.ConcurrentDirectedGraph;
+import GraphPackage.CsrGraph;
+
+/**
+ * Hammers a ConcurrentDirectedGraph with writer and reader threads and
+ * checks the guarantees it documents:
+ * <ul>
+ *   <li>every edge is added exactly once, even when several writers race
+ *       to add it, and the edge count matches;</li>
+ *   <li>a traversal reaches every vertex that edges added before it began
+ *       lead to, and never reports a vertex twice;</li>
+ *   <li>queries never fail while writers append, grow adjacency arrays
+ *       and add new vertices.</li>
+ * </ul>
+ * Each writer owns a shuffled list of edges, every edge being listed for
+ * two writers, and a grower thread adds new vertices with an edge into
+ * each. Every one of them publishes how far it has got, so readers know
+ * which edges must already be visible.
+ *
+ * <p>Exits with status 1 and a message on the first violation.</p>
+ *
+ * <p>Options: {@code vertices=N edges=E writers=W readers=R rounds=K}</p>
+ */
+public class ConcurrentGraphStressCheck {
+
+    public static void main(String[] args) throws InterruptedException {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 100_000);
+        int edgeCount = BenchmarkSupport.intOption(args, "edges", 1_000_000);
+        int writerCount = BenchmarkSupport.intOption(args, "writers", 4);
+        int readerCount = BenchmarkSupport.intOption(args, "readers", 4);
+        int rounds = BenchmarkSupport.intOption(args, "rounds", 5);
+
+        for (int round = 1; round <= rounds; round++) {
+            String failure = runRound(round, vertexCount, edgeCount, writerCount, readerCount);
+            if (failure != null) {
+                System.out.println("FAILED in round " + round + ": " + failure);
+                System.exit(1);
+            }
+            System.out.println("round " + round + " passed");
+        }
+        System.out.println("OK");
+    }
+
+    private static String runRound(int round, int vertexCount, int edgeCount,
+                                   int writerCount, int readerCount) throws InterruptedException {
+        ConcurrentDirectedGraph<Integer> graph = new ConcurrentDirectedGraph<>();
+        // Half the vertices exist up front; a grower thread adds the rest
+        int initialVertices = vertexCount / 2;
+        for (int v = 0; v < initialVertices; v++) {
+            graph.addVertex(v);
+        }
+
+        // Edge i is begins[i] -> ends[i]. The first edgeCount edges join
+        // initial vertices, with skewed begins so some degrees grow large;
+        // the rest each lead from an existing vertex to a new one.
+        int growthCount = vertexCount - initialVertices;
+        int[] begins = new int[edgeCount + growthCount];
+        int[] ends = new int[edgeCount + growthCount];
+        Random random = new Random(round);
+        Set<Long> distinct = new HashSet<>();
+        for (int i = 0; i < edgeCount + growthCount; i++) {
+            if (i < edgeCount) {
+                double x = random.nextDouble();
+                begins[i] = (int) (initialVertices * x * x);
+                ends[i] = random.nextInt(initialVertices);
+            } else {
+                ends[i] = initialVertices + i - edgeCount;
+                begins[i] = random.nextInt(ends[i]);
+            }
+            if (begins[i] != ends[i]) {
+                distinct.add(((long) begins[i] << 32) | ends[i]);
+            }
+        }
+
+        // Writer w adds edges i with i % writers == w or (i + 1) % writers == w,
+        // so every edge is raced for by two writers; the grower goes last
+        int[][] plan = new int[writerCount + 1][];
+        for (int w = 0; w < writerCount; w++) {
+            int[] mine = new int[2 * edgeCount / writerCount + 2];
+            int size = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                if (i % writerCount == w || (i + 1) % writerCount == w) {
+                    mine[size++] = i;
+                }
+            }
+            plan[w] = shuffle(Arrays.copyOf(mine, size), new Random(round * 31L + w));
+        }
+        plan[writerCount] = new int[growthCount];
+        for (int k = 0; k < growthCount; k++) {
+            plan[writerCount][k] = edgeCount + k;
+        }
+
+        AtomicInteger[] progress = new AtomicInteger[plan.length]; // Entries of plan[w] done
+        AtomicInteger added = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] writers = new Thread[plan.length];
+        for (int w = 0; w < plan.length; w++) {
+            progress[w] = new AtomicInteger();
+            int[] mine = plan[w];
+            boolean grower = w == writerCount;
+            AtomicInteger done = progress[w];
+            writers[w] = new Thread(() -> {
+                for (int k = 0; k < mine.length && failure.get() == null; k++) {
+                    int i = mine[k];
+                    if (grower && !graph.addVertex(ends[i])) {
+                        failure.compareAndSet(null, "vertex " + ends[i] + " added twice");
+                    }
+                    if (graph.addEdge(begins[i], ends[i])) {
+                        added.incrementAndGet();
+                    }
+                    done.set(k + 1);
+                }
+            });
+        }
+
+        AtomicInteger queries = new AtomicInteger();
+        Thread[] readers = new Thread[readerCount];
+        for (int r = 0; r < readerCount; r++) {
+            Random readerRandom = new Random(round * 97L + r);
+            readers[r] = new Thread(() -> {
+                while (failure.get() == null && !allDone(progress, plan)) {
+                    int origin = readerRandom.nextInt(initialVertices);
+                    String problem;
+                    try {
+                        problem = checkTraversal(graph, origin, begins, ends, plan, progress);
+                        graph.getDepthFirstTraversal(origin);
+                        graph.getShortestPath(origin, 0, new LinkedStack<>());
+                        graph.getCheapestPath(origin, 0, new LinkedStack<>());
+                    } catch (RuntimeException e) {
+                        problem = "query from " + origin + " threw " + e;
+                    }
+                    if (problem != null) {
+                        failure.compareAndSet(null, problem);
+                    }
+                    queries.incrementAndGet();
+                }
+            });
+        }
+
+        for (Thread thread : writers) {
+            thread.start();
+        }
+        for (Thread thread : readers) {
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            return failure.get();
+        }
+
+        // Final state: every edge added exactly once, counts consistent
+        if (added.get() != distinct.size()) {
+            return added.get() + " edges added for " + distinct.size() + " distinct edges";
+        }
+        if (graph.getNumberOfVertices() != vertexCount) {
+            return "vertex count " + graph.getNumberOfVertices() + " != " + vertexCount;
+        }
+        if (graph.getNumberOfEdges() != distinct.size()) {
+            return "edge count " + graph.getNumberOfEdges() + " != " + distinct.size();
+        }
+        for (int i = 0; i < begins.length; i++) {
+            if (begins[i] != ends[i] && !graph.hasEdge(begins[i], ends[i])) {
+                return "missing edge " + begins[i] + " -> " + ends[i];
+            }
+        }
+        CsrGraph<Integer> frozen = graph.freeze();
+        if (frozen.getNumberOfEdges() != distinct.size()) {
+            return "frozen edge count " + frozen.getNumberOfEdges() + " != " + distinct.size();
+        }
+        System.out.printf("  %d edges, %d vertices, %d reader queries%n",
+                distinct.size(), vertexCount, queries.get());
+        return null;
+    }
+
+    // Runs one BFS and checks it against the edges known to be present
+    private static String checkTraversal(ConcurrentDirectedGraph<Integer> graph, int origin,
+                                         int[] begins, int[] ends, int[][] plan,
+                                         AtomicInteger[] progress) {
+        int[] done = new int[progress.length];
+        for (int w = 0; w < done.length; w++) {
+            done[w] = progress[w].get();
+        }
+
+        QueueInterface<Integer> order = graph.getBreadthFirstTraversal(origin);
+        boolean[] reached = new boolean[begins.length + 1]; // Labels are below this
+        boolean first = true;
+        while (!order.isEmpty()) {
+            Integer label = order.dequeue();
+            if (first && label != origin) {
+                return "traversal from " + origin + " started at " + label;
+            }
+            first = false;
+            if (reached[label]) {
+                return "vertex " + label + " reported twice";
+            }
+            reached[label] = true;
+        }
+
+        // Every edge present before the traversal began leads from a
+        // reached vertex to a reached vertex
+        for (int w = 0; w < done.length; w++) {
+            for (int k = 0; k < done[w]; k++) {
+                int i = plan[w][k];
+                if (begins[i] != ends[i] && reached[begins[i]] && !reached[ends[i]]) {
+                    return "edge " + begins[i] + " -> " + ends[i]
+                            + " was present but its end was not reached from " + origin;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean allDone(AtomicInteger[] progress, int[][] plan) {
+        for (int w = 0; w < progress.length; w++) {
+            if (progress[w].get() < plan[w].length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] shuffle(int[] items, Random random) {
+        for (int i = items.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = items[i];
+            items[i] = items[j];
+            items[j] = swap;
+        }
+        return items;
+    }
+}
@@ -0,0 +1,92 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+/**
+ * The synthetic graph shapes used by the benchmarks. Each family
+ * generates its edges from a seed, so every run, and every graph form
+ * built from the same seed, sees the same graph. Vertices are numbered
+ * 0 to vertexCount - 1 and every vertex is reachable from vertex 0 in the
+ * grid and chain families.
+ */
+public enum GraphFamily {
+
+    /** Uniformly random targets with a fixed out-degree. */
+    RANDOM {
+        @Override
+        void generate(int vertexCount, int degree, Random random, EdgeSink sink) {
+            for (int v = 0; v < vertexCount; v++) {
+                for (int d = 0; d < degree; d++) {
+                    sink.edge(v, random.nextInt(vertexCount), random.nextDouble());
+                }
+            }
+        }
+    },
+
+    /**
+     * Heavy-tailed degrees on both sides: out-degrees follow a Pareto
+     * distribution with exponent 2 and mean near the given degree, and
+     * targets are drawn with a density that piles up on low ids, which
+     * become hubs with very large in-degree.
+     */
+    POWER_LAW {
+        @Override
+        void generate(int vertexCount, int degree, Random random, EdgeSink sink) {
+            double minimumDegree = Math.max(1.0, degree / 2.0);
+            for (int v = 0; v < vertexCount; v++) {
+                double u = 1.0 - random.nextDouble(); // In (0, 1]
+                int outDegree = (int) Math.min(vertexCount - 1, minimumDegree / Math.sqrt(u));
+                for (int d = 0; d < outDegree; d++) {
+                    double x = random.nextDouble();
+                    sink.edge(v, (int) (vertexCount * x * x * x), random.nextDouble());
+                }
+            }
+        }
+    },
+
+    /** A square grid with edges pointing right and down; the degree is ignored. */
+    GRID {
+        @Override
+        void generate(int vertexCount, int degree, Random random, EdgeSink sink) {
+            int side = (int) Math.ceil(Math.sqrt(vertexCount));
+            for (int v = 0; v < vertexCount; v++) {
+                if ((v + 1) % side != 0 && v + 1 < vertexCount) {
+                    sink.edge(v, v + 1, random.nextDouble());
+                }
+                if (v + side < vertexCount) {
+                    sink.edge(v, v + side, random.nextDouble());
+                }
+            }
+        }
+    },
+
+    /** A single path 0 -> 1 -> ... -> n - 1; the degree is ignored. */
+    CHAIN {
+        @Override
+        void generate(int vertexCount, int degree, Random random, EdgeSink sink) {
+            for (int v = 0; v + 1 < vertexCount; v++) {
+                sink.edge(v, v + 1, random.nextDouble());
+            }
+        }
+    };
+
+    /** Receives the generated edges one at a time. */
+    public interface EdgeSink {
+        void edge(int begin, int end, double weight);
+    }
+
+    /**
+     * Generates the edges of a graph of this family. Duplicate edges and
+     * self-loops may occur in the random families; graphs ignore them.
+     *
+     * @param vertexCount the number of vertices
+     * @param degree      the average out-degree, where the family uses one
+     * @param seed        the random seed
+     * @param sink        receives each edge
+     */
+    public void generate(int vertexCount, int degree, long seed, EdgeSink sink) {
+        generate(vertexCount, degree, new Random(seed), sink);
+    }
+
+    abstract void generate(int vertexCount, int degree, Random random, EdgeSink sink);
+}
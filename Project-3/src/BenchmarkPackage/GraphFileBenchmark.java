@@ -0,0 +1,72 @@
+package BenchmarkPackage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import GraphPackage.DirectedGraph;
+import GraphPackage.GraphFile;
+import GraphPackage.LabelCodec;
+import GraphPackage.MappedGraph;
+
+/**
+ * Compares building a graph from scratch with opening a memory-mapped
+ * graph file. A random graph is built, written with GraphFile, and then
+ * mapped; the time to map and the time of a first breadth-first traversal
+ * over the mapped file are reported.
+ *
+ * <p>Options: {@code vertices=N degree=D}</p>
+ */
+public class GraphFileBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 1_000_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int d = 0; d < degree; d++) {
+                graph.addEdge(v, random.nextInt(vertexCount), random.nextDouble());
+            }
+        }
+        long buildNanos = System.nanoTime() - start;
+
+        Path file = Files.createTempFile("graph", ".csrg");
+        try {
+            start = System.nanoTime();
+            GraphFile.write(graph, LabelCodec.forIntegers(), file);
+            long writeNanos = System.nanoTime() - start;
+            graph = null; // Let the heap copy go before mapping
+
+            start = System.nanoTime();
+            MappedGraph<Integer> mapped = GraphFile.map(file, LabelCodec.forIntegers());
+            long mapNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] levels = mapped.getBreadthFirstLevels(0);
+            long bfsNanos = System.nanoTime() - start;
+            int reached = 0;
+            for (int level : levels) {
+                if (level >= 0) {
+                    reached++;
+                }
+            }
+
+            System.out.printf("vertices %d, edges %d, file %.1f MB%n", mapped.getNumberOfVertices(),
+                    mapped.getNumberOfEdges(), Files.size(file) / 1e6);
+            System.out.printf("build from scratch   %10.1f ms%n", BenchmarkSupport.millis(buildNanos));
+            System.out.printf("write file           %10.1f ms%n", BenchmarkSupport.millis(writeNanos));
+            System.out.printf("map file             %10.3f ms%n", BenchmarkSupport.millis(mapNanos));
+            System.out.printf("first BFS on mapping %10.1f ms (%d reached)%n",
+                    BenchmarkSupport.millis(bfsNanos), reached);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+import ADTPackage.LinkedStack;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures every basic DirectedGraph operation over the synthetic graph
+ * families at sizes growing tenfold from {@code minVertices} to
+ * {@code maxVertices}:
+ * loading with addVertex/addEdge, hasEdge, breadth-first and depth-first
+ * traversal, both search trees, getShortestPath, and
+ * getBidirectionalShortestPath.
+ *
+ * <p>Each operation is run a few times untimed before it is measured, and
+ * every size starts with an untimed run at 1000 vertices so the compiled
+ * code is in place. For each operation the suite reports milliseconds per
+ * operation, bytes allocated per operation by the measuring thread, and
+ * the resulting allocation rate. Traversals start at vertex 0; shortest
+ * paths run from vertex 0 to random ends.</p>
+ *
+ * <p>Graphs of 10^7 vertices need several gigabytes of heap, for example
+ * {@code java -Xmx12g -cp bin BenchmarkPackage.GraphSuiteBenchmark
+ * maxVertices=10000000}.</p>
+ *
+ * <p>Options: {@code minVertices=N maxVertices=N degree=D family=NAME}
+ * where NAME is one of the GraphFamily constants or {@code all}.</p>
+ */
+public class GraphSuiteBenchmark {
+
+    private static final int WORK_PER_OPERATION = 5_000_000; // Vertex visits per measurement
+    private static final int HAS_EDGE_QUERIES = 1_000_000;
+
+    public static void main(String[] args) {
+        int minVertices = BenchmarkSupport.intOption(args, "minVertices", 1_000);
+        int maxVertices = BenchmarkSupport.intOption(args, "maxVertices", 1_000_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 4);
+        String familyName = BenchmarkSupport.stringOption(args, "family", "all");
+
+        System.out.printf("%-10s %10s %-20s %12s %14s %12s%n",
+                "family", "vertices", "operation", "ms/op", "bytes/op", "alloc MB/s");
+        for (GraphFamily family : GraphFamily.values()) {
+            if (!familyName.equalsIgnoreCase("all") && !familyName.equalsIgnoreCase(family.name())) {
+                continue;
+            }
+            runFamily(family, 1_000, degree, false);
+            for (long n = minVertices; n <= maxVertices; n *= 10) {
+                runFamily(family, (int) n, degree, true);
+            }
+        }
+    }
+
+    private static void runFamily(GraphFamily family, int vertexCount, int degree, boolean print) {
+        Measurement measurement = new Measurement(family, vertexCount, print);
+
+        DirectedGraph<Integer>[] holder = newHolder();
+        measurement.once("load", () -> holder[0] = load(family, vertexCount, degree));
+        DirectedGraph<Integer> graph = holder[0];
+
+        int repetitions = Math.max(1, Math.min(50, WORK_PER_OPERATION / vertexCount));
+        Random random = new Random(7);
+        Integer[] labels = new Integer[vertexCount]; // Keeps boxing out of the measurements
+        for (int v = 0; v < vertexCount; v++) {
+            labels[v] = v;
+        }
+
+        measurement.repeat("hasEdge x10^6", 1, () -> {
+            for (int q = 0; q < HAS_EDGE_QUERIES; q++) {
+                graph.hasEdge(labels[random.nextInt(vertexCount)], labels[random.nextInt(vertexCount)]);
+            }
+        });
+        measurement.repeat("breadthFirst", repetitions, () -> graph.getBreadthFirstTraversal(0));
+        measurement.repeat("depthFirst", repetitions, () -> graph.getDepthFirstTraversal(0));
+        measurement.repeat("breadthFirstTree", Math.max(1, repetitions / 5),
+                () -> graph.getBreadthFirstTree(0));
+        measurement.repeat("depthFirstTree", Math.max(1, repetitions / 5),
+                () -> graph.getDepthFirstTree(0));
+        measurement.repeat("shortestPath", repetitions,
+                () -> graph.getShortestPath(labels[0], labels[random.nextInt(vertexCount)],
+                        new LinkedStack<>()));
+        measurement.repeat("bidirectionalPath", repetitions,
+                () -> graph.getBidirectionalShortestPath(labels[0], labels[random.nextInt(vertexCount)],
+                        new LinkedStack<>()));
+    }
+
+    private static DirectedGraph<Integer> load(GraphFamily family, int vertexCount, int degree) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        family.generate(vertexCount, degree, 42, (begin, end, weight) -> graph.addEdge(begin, end, weight));
+        return graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DirectedGraph<Integer>[] newHolder() {
+        return (DirectedGraph<Integer>[]) new DirectedGraph<?>[1];
+    }
+
+    // Times one operation and prints a row of the table
+    private static final class Measurement {
+        private final GraphFamily family;
+        private final int vertexCount;
+        private final boolean print;
+
+        Measurement(GraphFamily family, int vertexCount, boolean print) {
+            this.family = family;
+            this.vertexCount = vertexCount;
+            this.print = print;
+        }
+
+        void once(String operation, Runnable body) {
+            measure(operation, 1, body);
+        }
+
+        void repeat(String operation, int repetitions, Runnable body) {
+            for (int i = 0; i < Math.min(3, repetitions); i++) {
+                body.run(); // Untimed warm-up
+            }
+            measure(operation, repetitions, body);
+        }
+
+        private void measure(String operation, int repetitions, Runnable body) {
+            long bytes = BenchmarkSupport.allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                body.run();
+            }
+            long nanos = System.nanoTime() - start;
+            bytes = BenchmarkSupport.allocatedBytes() - bytes;
+
+            if (print) {
+                System.out.printf("%-10s %10d %-20s %12.3f %14d %12.1f%n",
+                        family.name().toLowerCase(), vertexCount, operation,
+                        BenchmarkSupport.millis(nanos) / repetitions,
+                        bytes / repetitions,
+                        bytes * 1000.0 / Math.max(1, nanos));
+            }
+        }
+    }
+}
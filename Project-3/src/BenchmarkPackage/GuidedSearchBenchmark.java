@@ -0,0 +1,129 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+import ADTPackage.LinkedStack;
+import GraphPackage.DirectedGraph;
+import GraphPackage.LandmarkHeuristic;
+import GraphPackage.PathHeuristic;
+
+/**
+ * Measures getCheapestPath on a road-like network: unguided (Dijkstra),
+ * guided by the straight-line distance between vertex coordinates, and
+ * guided by landmark distances (ALT). Besides time per query it reports
+ * the vertices each search settled, counted by a traversal listener, and
+ * checks that all three find paths of the same cost.
+ *
+ * <p>The network is a side x side grid of junctions, each moved a little
+ * off its grid point, with two-way roads to its neighbors and some
+ * diagonals; about one road in ten is missing. A road costs its length
+ * times a random detour factor from 1 to 1.5, so the straight-line
+ * distance never exceeds the cost of a path.</p>
+ *
+ * <p>Options: {@code side=S queries=Q landmarks=L}</p>
+ */
+public class GuidedSearchBenchmark {
+
+    public static void main(String[] args) {
+        int side = BenchmarkSupport.intOption(args, "side", 500);
+        int queries = BenchmarkSupport.intOption(args, "queries", 200);
+        int landmarkCount = BenchmarkSupport.intOption(args, "landmarks", 16);
+
+        double[] x = new double[side * side];
+        double[] y = new double[side * side];
+        DirectedGraph<Integer> graph = buildRoads(side, x, y);
+        PathHeuristic<Integer> straightLine = (vertex, end) -> Math.hypot(x[vertex] - x[end], y[vertex] - y[end]);
+
+        long start = System.nanoTime();
+        LandmarkHeuristic<Integer> landmarks = graph.getLandmarkHeuristic(landmarkCount);
+        System.out.printf("%d vertices, %d edges; %d landmarks in %.1f ms%n", graph.getNumberOfVertices(),
+                graph.getNumberOfEdges(), landmarks.getLandmarkCount(),
+                BenchmarkSupport.millis(System.nanoTime() - start));
+
+        long[] settled = new long[1];
+        graph.setTraversalListener(metrics -> settled[0] += metrics.getVerticesVisited());
+
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            if (print) {
+                System.out.printf("%-16s %12s %16s%n", "search", "ms/query", "settled/query");
+            }
+            Random random = new Random(7);
+            int[] begins = new int[queries];
+            int[] ends = new int[queries];
+            for (int q = 0; q < queries; q++) {
+                begins[q] = random.nextInt(side * side);
+                ends[q] = random.nextInt(side * side);
+            }
+
+            double[] expected = new double[queries];
+            settled[0] = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                expected[q] = graph.getCheapestPath(begins[q], ends[q], new LinkedStack<>());
+            }
+            report(print, "Dijkstra", queries, System.nanoTime() - start, settled[0]);
+
+            for (int h = 0; h < 2; h++) {
+                PathHeuristic<Integer> heuristic = (h == 0) ? straightLine : landmarks;
+                settled[0] = 0;
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    double cost = graph.getCheapestPath(begins[q], ends[q], new LinkedStack<>(), heuristic);
+                    check(expected[q], cost, q);
+                }
+                report(print, (h == 0) ? "A* straight line" : "A* landmarks", queries,
+                        System.nanoTime() - start, settled[0]);
+            }
+        }
+    }
+
+    private static void report(boolean print, String search, int queries, long nanos, long settled) {
+        if (print) {
+            System.out.printf("%-16s %12.3f %16.0f%n", search, BenchmarkSupport.millis(nanos) / queries,
+                    settled / (double) queries);
+        }
+    }
+
+    private static void check(double expected, double actual, int query) {
+        if (Math.abs(expected - actual) > 1e-9 * Math.max(1, expected)) {
+            throw new IllegalStateException("Query " + query + " cost " + actual + ", expected " + expected);
+        }
+    }
+
+    // Fills in the coordinates of each junction and returns the network
+    private static DirectedGraph<Integer> buildRoads(int side, double[] x, double[] y) {
+        Random random = new Random(42);
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(side * side);
+        for (int v = 0; v < side * side; v++) {
+            graph.addVertex(v);
+            x[v] = v % side + 0.6 * (random.nextDouble() - 0.5);
+            y[v] = v / side + 0.6 * (random.nextDouble() - 0.5);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) {
+                    addRoad(graph, v, v + 1, x, y, random);
+                }
+                if (row + 1 < side) {
+                    addRoad(graph, v, v + side, x, y, random);
+                }
+                if (column + 1 < side && row + 1 < side && random.nextInt(4) == 0) {
+                    addRoad(graph, v, v + side + 1, x, y, random);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static void addRoad(DirectedGraph<Integer> graph, int a, int b, double[] x, double[] y,
+                                Random random) {
+        if (random.nextInt(10) == 0) {
+            return;
+        }
+        double length = Math.hypot(x[a] - x[b], y[a] - y[b]);
+        graph.addEdge(a, b, length * (1 + 0.5 * random.nextDouble()));
+        graph.addEdge(b, a, length * (1 + 0.5 * random.nextDouble()));
+    }
+}
@@ -0,0 +1,90 @@
+package BenchmarkPackage;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import GraphPackage.CsrGraph;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures how the parallel breadth-first searches on CsrGraph scale with
+ * the number of threads, against the sequential level computation.
+ *
+ * <p>A random graph is built once and frozen. For each thread count the
+ * top-down and direction-optimizing searches are timed from several
+ * origins, and their level arrays are checked against the sequential
+ * result.</p>
+ *
+ * <p>Options: {@code vertices=N degree=D origins=K maxThreads=T}</p>
+ */
+public class ParallelBfsBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 500_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 16);
+        int origins = BenchmarkSupport.intOption(args, "origins", 5);
+
+        CsrGraph<Integer> graph = buildRandomGraph(vertexCount, degree);
+        System.out.printf("%d vertices, %d edges%n", graph.getNumberOfVertices(), graph.getNumberOfEdges());
+
+        int[][] expected = new int[origins][];
+        long start = System.nanoTime();
+        for (int o = 0; o < origins; o++) {
+            expected[o] = graph.getBreadthFirstLevels(o);
+        }
+        long sequentialNanos = (System.nanoTime() - start) / origins;
+        System.out.printf("%-20s %8s %12s%n", "search", "threads", "ms/search");
+        System.out.printf("%-20s %8d %12.1f%n", "sequential", 1, BenchmarkSupport.millis(sequentialNanos));
+
+        int maxThreads = BenchmarkSupport.intOption(args, "maxThreads",
+                Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                // Warm-up run, which also builds the reversed graph once
+                graph.getDirectionOptimizingBreadthFirstLevels(0, pool);
+
+                long topDown = 0;
+                long directionOptimizing = 0;
+                for (int o = 0; o < origins; o++) {
+                    start = System.nanoTime();
+                    int[] levels = graph.getParallelBreadthFirstLevels(o, pool);
+                    topDown += System.nanoTime() - start;
+                    check(expected[o], levels);
+
+                    start = System.nanoTime();
+                    levels = graph.getDirectionOptimizingBreadthFirstLevels(o, pool);
+                    directionOptimizing += System.nanoTime() - start;
+                    check(expected[o], levels);
+                }
+                System.out.printf("%-20s %8d %12.1f%n", "top-down", threads,
+                        BenchmarkSupport.millis(topDown / origins));
+                System.out.printf("%-20s %8d %12.1f%n", "direction-optimizing", threads,
+                        BenchmarkSupport.millis(directionOptimizing / origins));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static CsrGraph<Integer> buildRandomGraph(int vertexCount, int degree) {
+        Random random = new Random(42);
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int d = 0; d < degree; d++) {
+                graph.addEdge(v, random.nextInt(vertexCount));
+            }
+        }
+        return graph.freeze();
+    }
+
+    private static void check(int[] expected, int[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Parallel BFS levels differ from the sequential levels");
+        }
+    }
+}
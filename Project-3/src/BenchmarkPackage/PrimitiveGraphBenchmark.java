@@ -0,0 +1,138 @@
+package BenchmarkPackage;
+
+import ADTPackage.QueueInterface;
+import GraphPackage.DirectedGraph;
+import GraphPackage.IntDirectedGraph;
+import GraphPackage.LongDirectedGraph;
+
+/**
+ * Compares DirectedGraph&lt;Integer&gt; with IntDirectedGraph and
+ * LongDirectedGraph on the same random graph: load time, retained heap
+ * per vertex, and the time and allocation of breadth-first and
+ * depth-first traversals. Vertex labels are spread over the whole int
+ * range so that boxed labels are never cached Integers.
+ *
+ * <p>The heap figure is the growth in used memory after a full GC, so it
+ * is approximate; run with a fixed heap such as -Xms4g -Xmx4g for stable
+ * numbers.</p>
+ *
+ * <p>Options: {@code vertices=N degree=D traversals=T}</p>
+ */
+public class PrimitiveGraphBenchmark {
+
+    private static final int LABEL_STRIDE = 2_654_435; // Spreads labels apart
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 1_000_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 4);
+        int traversals = BenchmarkSupport.intOption(args, "traversals", 10);
+
+        System.out.printf("%-22s %10s %12s %12s %14s %12s %14s%n", "graph", "load ms",
+                "bytes/vertex", "bfs ms", "bfs bytes", "dfs ms", "dfs bytes");
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            runGeneric(vertexCount, degree, traversals, print);
+            runInt(vertexCount, degree, traversals, print);
+            runLong(vertexCount, degree, traversals, print);
+        }
+    }
+
+    private static void runGeneric(int vertexCount, int degree, int traversals, boolean print) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(label(v));
+        }
+        GraphFamily.RANDOM.generate(vertexCount, degree, 42,
+                (begin, end, weight) -> graph.addEdge(label(begin), label(end), weight));
+        long loadNanos = System.nanoTime() - start;
+        long heap = usedHeap() - heapBefore;
+
+        Integer origin = label(0);
+        long[] bfs = time(traversals, () -> drain(graph.getBreadthFirstTraversal(origin)));
+        long[] dfs = time(traversals, () -> drain(graph.getDepthFirstTraversal(origin)));
+        report("DirectedGraph<Integer>", loadNanos, heap, vertexCount, bfs, dfs, print);
+    }
+
+    private static void runInt(int vertexCount, int degree, int traversals, boolean print) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        IntDirectedGraph graph = new IntDirectedGraph(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(label(v));
+        }
+        GraphFamily.RANDOM.generate(vertexCount, degree, 42,
+                (begin, end, weight) -> graph.addEdge(label(begin), label(end), weight));
+        long loadNanos = System.nanoTime() - start;
+        long heap = usedHeap() - heapBefore;
+
+        int origin = label(0);
+        long[] bfs = time(traversals, () -> graph.getBreadthFirstTraversal(origin));
+        long[] dfs = time(traversals, () -> graph.getDepthFirstTraversal(origin));
+        report("IntDirectedGraph", loadNanos, heap, vertexCount, bfs, dfs, print);
+    }
+
+    private static void runLong(int vertexCount, int degree, int traversals, boolean print) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        LongDirectedGraph graph = new LongDirectedGraph(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(longLabel(v));
+        }
+        GraphFamily.RANDOM.generate(vertexCount, degree, 42,
+                (begin, end, weight) -> graph.addEdge(longLabel(begin), longLabel(end), weight));
+        long loadNanos = System.nanoTime() - start;
+        long heap = usedHeap() - heapBefore;
+
+        long origin = longLabel(0);
+        long[] bfs = time(traversals, () -> graph.getBreadthFirstTraversal(origin));
+        long[] dfs = time(traversals, () -> graph.getDepthFirstTraversal(origin));
+        report("LongDirectedGraph", loadNanos, heap, vertexCount, bfs, dfs, print);
+    }
+
+    private static int label(int v) {
+        return v * LABEL_STRIDE;
+    }
+
+    private static long longLabel(int v) {
+        return (long) v * LABEL_STRIDE * LABEL_STRIDE;
+    }
+
+    // Consumes a result queue, as a caller would
+    private static void drain(QueueInterface<Integer> queue) {
+        while (!queue.isEmpty()) {
+            queue.dequeue();
+        }
+    }
+
+    // Returns the time per run in nanoseconds and the bytes allocated per run
+    private static long[] time(int runs, Runnable body) {
+        body.run();
+        long bytes = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            body.run();
+        }
+        long nanos = System.nanoTime() - start;
+        return new long[] {nanos / runs, (BenchmarkSupport.allocatedBytes() - bytes) / runs};
+    }
+
+    private static void report(String name, long loadNanos, long heap, int vertexCount,
+                               long[] bfs, long[] dfs, boolean print) {
+        if (print) {
+            System.out.printf("%-22s %10.1f %12d %12.2f %14d %12.2f %14d%n", name,
+                    BenchmarkSupport.millis(loadNanos), heap / vertexCount,
+                    BenchmarkSupport.millis(bfs[0]), bfs[1],
+                    BenchmarkSupport.millis(dfs[0]), dfs[1]);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
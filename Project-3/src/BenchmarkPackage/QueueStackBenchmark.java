@@ -0,0 +1,120 @@
+package BenchmarkPackage;
+
+import ADTPackage.ArrayQueue;
+import ADTPackage.ArrayStack;
+import ADTPackage.IntArrayQueue;
+import ADTPackage.IntArrayStack;
+import ADTPackage.LinkedQueue;
+import ADTPackage.LinkedStack;
+import ADTPackage.QueueInterface;
+import ADTPackage.StackInterface;
+
+/**
+ * Compares the linked, array and int-array queues and stacks on the access
+ * pattern of a graph traversal: a round fills the structure with
+ * {@code size} entries and then drains it, and the same structure is
+ * reused for every round.
+ *
+ * <p>The object versions are fed preboxed Integers, so the reported bytes
+ * per operation are the structure's own allocation.</p>
+ *
+ * <p>Options: {@code size=N rounds=R}</p>
+ */
+public class QueueStackBenchmark {
+
+    public static void main(String[] args) {
+        int size = BenchmarkSupport.intOption(args, "size", 1_000_000);
+        int rounds = BenchmarkSupport.intOption(args, "rounds", 20);
+
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = i;
+        }
+
+        System.out.printf("%-16s %16s %12s%n", "structure", "ops/s", "bytes/op");
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            runQueue("LinkedQueue", new LinkedQueue<>(), boxed, rounds, print);
+            runQueue("ArrayQueue", new ArrayQueue<>(), boxed, rounds, print);
+            runIntQueue(size, rounds, print);
+            runStack("LinkedStack", new LinkedStack<>(), boxed, rounds, print);
+            runStack("ArrayStack", new ArrayStack<>(), boxed, rounds, print);
+            runIntStack(size, rounds, print);
+        }
+    }
+
+    private static void runQueue(String name, QueueInterface<Integer> queue,
+                                 Integer[] boxed, int rounds, boolean print) {
+        long checksum = 0;
+        long bytes = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (Integer value : boxed) {
+                queue.enqueue(value);
+            }
+            while (!queue.isEmpty()) {
+                checksum += queue.dequeue();
+            }
+        }
+        report(name, 2L * rounds * boxed.length, start, bytes, checksum, print);
+    }
+
+    private static void runIntQueue(int size, int rounds, boolean print) {
+        IntArrayQueue queue = new IntArrayQueue();
+        long checksum = 0;
+        long bytes = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < size; i++) {
+                queue.enqueue(i);
+            }
+            while (!queue.isEmpty()) {
+                checksum += queue.dequeue();
+            }
+        }
+        report("IntArrayQueue", 2L * rounds * size, start, bytes, checksum, print);
+    }
+
+    private static void runStack(String name, StackInterface<Integer> stack,
+                                 Integer[] boxed, int rounds, boolean print) {
+        long checksum = 0;
+        long bytes = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (Integer value : boxed) {
+                stack.push(value);
+            }
+            while (!stack.isEmpty()) {
+                checksum += stack.pop();
+            }
+        }
+        report(name, 2L * rounds * boxed.length, start, bytes, checksum, print);
+    }
+
+    private static void runIntStack(int size, int rounds, boolean print) {
+        IntArrayStack stack = new IntArrayStack();
+        long checksum = 0;
+        long bytes = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < size; i++) {
+                stack.push(i);
+            }
+            while (!stack.isEmpty()) {
+                checksum += stack.pop();
+            }
+        }
+        report("IntArrayStack", 2L * rounds * size, start, bytes, checksum, print);
+    }
+
+    private static void report(String name, long operations, long start,
+                               long bytesBefore, long checksum, boolean print) {
+        long nanos = System.nanoTime() - start;
+        long bytes = BenchmarkSupport.allocatedBytes() - bytesBefore;
+        if (print) {
+            System.out.printf("%-16s %16.0f %12.2f  (checksum %d)%n", name,
+                    BenchmarkSupport.perSecond(operations, nanos),
+                    (double) bytes / operations, checksum);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import GraphPackage.DirectedGraph;
+import GraphPackage.GraphSnapshot;
+
+/**
+ * Measures DirectedGraph snapshots against deep copies, and what running
+ * analytics on snapshots costs a writer that keeps adding edges.
+ * <ul>
+ *   <li>snapshot() versus freeze(): time and allocation to get a stable
+ *       view of the loaded graph;</li>
+ *   <li>writer throughput alone, then with a reader thread that builds
+ *       a full breadth-first tree on each snapshot the writer hands it.</li>
+ * </ul>
+ *
+ * <p>The reader runs on its own thread, so the throughput comparison is
+ * only meaningful with at least two cores.</p>
+ *
+ * <p>Options: {@code vertices=N degree=D edges=E}, where E is the number
+ * of edges the writer adds in each throughput run.</p>
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 200_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 8);
+        int extraEdges = BenchmarkSupport.intOption(args, "edges", 4_000_000);
+
+        Integer[] labels = new Integer[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            labels[v] = v;
+        }
+
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            DirectedGraph<Integer> graph = load(labels, degree);
+            compareViews(graph, print);
+            runWriter(graph, labels, extraEdges, false, print);
+            runWriter(load(labels, degree), labels, extraEdges, true, print);
+        }
+    }
+
+    private static DirectedGraph<Integer> load(Integer[] labels, int degree) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(labels.length);
+        for (Integer label : labels) {
+            graph.addVertex(label);
+        }
+        GraphFamily.RANDOM.generate(labels.length, degree, 42,
+                (begin, end, weight) -> graph.addEdge(labels[begin], labels[end], weight));
+        return graph;
+    }
+
+    private static void compareViews(DirectedGraph<Integer> graph, boolean print) {
+        int repetitions = 20;
+        long bytesBefore = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            graph.snapshot().close();
+        }
+        long snapshotNanos = System.nanoTime() - start;
+        long snapshotBytes = BenchmarkSupport.allocatedBytes() - bytesBefore;
+
+        bytesBefore = BenchmarkSupport.allocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            graph.freeze();
+        }
+        long freezeNanos = System.nanoTime() - start;
+        long freezeBytes = BenchmarkSupport.allocatedBytes() - bytesBefore;
+
+        if (print) {
+            System.out.printf("%d vertices, %d edges%n", graph.getNumberOfVertices(), graph.getNumberOfEdges());
+            System.out.printf("%-12s %14s %14s%n", "view", "ms/op", "bytes/op");
+            System.out.printf("%-12s %14.4f %14d%n", "snapshot()",
+                    BenchmarkSupport.millis(snapshotNanos) / repetitions, snapshotBytes / repetitions);
+            System.out.printf("%-12s %14.4f %14d%n", "freeze()",
+                    BenchmarkSupport.millis(freezeNanos) / repetitions, freezeBytes / repetitions);
+            System.out.println();
+        }
+    }
+
+    private static void runWriter(DirectedGraph<Integer> graph, Integer[] labels, int extraEdges,
+                                  boolean withReader, boolean print) throws InterruptedException {
+        BlockingQueue<GraphSnapshot<Integer>> handoff = new ArrayBlockingQueue<>(1);
+        AtomicLong trees = new AtomicLong();
+        AtomicLong treeNanos = new AtomicLong();
+        AtomicLong staleness = new AtomicLong(); // Versions the graph moved on during each tree
+
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    GraphSnapshot<Integer> snapshot = handoff.poll(10, TimeUnit.SECONDS);
+                    if (snapshot == null) {
+                        break;
+                    }
+                    try (snapshot) {
+                        long start = System.nanoTime();
+                        snapshot.getBreadthFirstTree(labels[0]);
+                        treeNanos.addAndGet(System.nanoTime() - start);
+                        trees.incrementAndGet();
+                        staleness.addAndGet(graph.getVersion() - snapshot.getVersion());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        if (withReader) {
+            reader.start();
+        }
+
+        Random random = new Random(7);
+        long start = System.nanoTime();
+        for (int i = 0; i < extraEdges; i++) {
+            graph.addEdge(labels[random.nextInt(labels.length)], labels[random.nextInt(labels.length)], 1.0);
+            if (withReader && (i & 0xFFF) == 0 && handoff.isEmpty()) {
+                // Hand over a fresh snapshot whenever the reader is ready for one
+                GraphSnapshot<Integer> snapshot = graph.snapshot();
+                if (!handoff.offer(snapshot)) {
+                    snapshot.close();
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (withReader) {
+            GraphSnapshot<Integer> pending = handoff.poll();
+            if (pending != null) {
+                pending.close();
+            }
+            reader.interrupt();
+            reader.join();
+        }
+
+        if (print) {
+            System.out.printf("%-26s %12.0f edges/s", withReader ? "writer + snapshot trees" : "writer alone",
+                    BenchmarkSupport.perSecond(extraEdges, nanos));
+            if (withReader && trees.get() > 0) {
+                System.out.printf("   %d trees, %.1f ms/tree, %.0f versions behind on finishing",
+                        trees.get(), BenchmarkSupport.millis(treeNanos.get()) / trees.get(),
+                        (double) staleness.get() / trees.get());
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package BenchmarkPackage;
+
+import GraphPackage.DirectedGraph;
+
+/**
+ * Loads star graphs, one hub with an edge to every leaf, of growing size.
+ * Every addEdge on the hub checks for a duplicate edge, so the time per
+ * edge shows whether hub-heavy loading stays linear.
+ *
+ * <p>Options: {@code maxLeaves=N}</p>
+ */
+public class StarGraphBenchmark {
+
+    public static void main(String[] args) {
+        int maxLeaves = BenchmarkSupport.intOption(args, "maxLeaves", 1_000_000);
+
+        System.out.printf("%10s %12s %12s %14s%n", "leaves", "load ms", "ns/edge", "hasEdge/s");
+        for (int leaves = 10_000; leaves <= maxLeaves; leaves *= 10) {
+            run(leaves);
+        }
+    }
+
+    private static void run(int leaves) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(leaves + 1);
+        for (int v = 0; v <= leaves; v++) {
+            graph.addVertex(v);
+        }
+
+        long start = System.nanoTime();
+        for (int leaf = 1; leaf <= leaves; leaf++) {
+            graph.addEdge(0, leaf);
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        // Every query is a hit on the hub's full adjacency
+        start = System.nanoTime();
+        int hits = 0;
+        for (int leaf = 1; leaf <= leaves; leaf++) {
+            if (graph.hasEdge(0, leaf)) {
+                hits++;
+            }
+        }
+        long queryNanos = System.nanoTime() - start;
+
+        if (hits != leaves || graph.getNumberOfEdges() != leaves) {
+            throw new IllegalStateException("Star graph was not loaded correctly");
+        }
+        System.out.printf("%10d %12.1f %12.1f %14.0f%n", leaves, BenchmarkSupport.millis(loadNanos),
+                (double) loadNanos / leaves, BenchmarkSupport.perSecond(leaves, queryNanos));
+    }
+}
@@ -0,0 +1,78 @@
+package BenchmarkPackage;
+
+import java.util.concurrent.ForkJoinPool;
+
+import GraphPackage.CsrGraph;
+import GraphPackage.DirectedGraph;
+import GraphPackage.StronglyConnectedComponents;
+
+/**
+ * Measures the strongly connected component searches on each graph
+ * family: the iterative Tarjan search on a DirectedGraph and on its
+ * frozen CsrGraph, and the parallel forward-backward search for each
+ * thread count up to maxThreads, checked against Tarjan's component
+ * count. The chain is a path of all the vertices, so a recursive search
+ * would need a call per vertex.
+ *
+ * <p>Options: {@code vertices=N degree=D maxThreads=T}</p>
+ */
+public class StrongComponentsBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 1_000_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 2);
+        int maxThreads = BenchmarkSupport.intOption(args, "maxThreads",
+                Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("%d vertices, degree %d%n", vertexCount, degree);
+        System.out.printf("%-12s %-22s %8s %12s %12s%n", "family", "search", "threads", "components", "ms");
+        for (GraphFamily family : GraphFamily.values()) {
+            DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+            for (int v = 0; v < vertexCount; v++) {
+                graph.addVertex(v);
+            }
+            family.generate(vertexCount, degree, 42, (begin, end, weight) -> graph.addEdge(begin, end, weight));
+            CsrGraph<Integer> frozen = graph.freeze();
+
+            for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+                boolean print = (pass == 1);
+                long start = System.nanoTime();
+                int expected = graph.getStronglyConnectedComponents().getComponentCount();
+                report(print, family, "Tarjan (DirectedGraph)", 1, expected, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                int components = frozen.getStronglyConnectedComponents().getComponentCount();
+                report(print, family, "Tarjan (CsrGraph)", 1, components, System.nanoTime() - start);
+                check(expected, components);
+
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    try {
+                        start = System.nanoTime();
+                        StronglyConnectedComponents<Integer> parallel =
+                                frozen.getParallelStronglyConnectedComponents(pool);
+                        report(print, family, "forward-backward", threads, parallel.getComponentCount(),
+                                System.nanoTime() - start);
+                        check(expected, parallel.getComponentCount());
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void report(boolean print, GraphFamily family, String search, int threads, int components,
+                               long nanos) {
+        if (print) {
+            System.out.printf("%-12s %-22s %8d %12d %12.1f%n", family, search, threads, components,
+                    BenchmarkSupport.millis(nanos));
+        }
+    }
+
+    private static void check(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Component searches disagree: " + expected + " vs " + actual);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+
+import GraphPackage.BulkEdgeLoader;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Compares DirectedGraph backed by the sorted linked dictionary with
+ * DirectedGraph backed by the hash dictionary.
+ *
+ * <p>For each size, a random graph with a fixed out-degree is loaded with
+ * addVertex/addEdge, then random hasEdge queries measure lookup throughput.
+ * The sorted store is only run up to {@code sortedLimit} vertices because
+ * its load time grows quadratically.</p>
+ *
+ * <p>The "bulk" rows load the same edges into a hashed graph through a
+ * BulkEdgeLoader instead of one addEdge call per edge.</p>
+ *
+ * <p>Options: {@code maxVertices=N degree=D sortedLimit=N queries=Q}</p>
+ */
+public class VertexStoreBenchmark {
+
+    public static void main(String[] args) {
+        int maxVertices = BenchmarkSupport.intOption(args, "maxVertices", 1_000_000);
+        int degree = BenchmarkSupport.intOption(args, "degree", 4);
+        int sortedLimit = BenchmarkSupport.intOption(args, "sortedLimit", 20_000);
+        int queries = BenchmarkSupport.intOption(args, "queries", 1_000_000);
+
+        System.out.printf("%-8s %10s %12s %16s%n", "store", "vertices", "load ms", "lookups/s");
+        for (int n = 1_000; n <= maxVertices; n *= 10) {
+            if (n <= sortedLimit) {
+                run("sorted", new DirectedGraph<>(), n, degree, queries);
+            }
+            run("hashed", DirectedGraph.withHashedVertices(), n, degree, queries);
+            runBulk(n, degree);
+        }
+    }
+
+    private static void run(String name, DirectedGraph<Integer> graph,
+                            int vertexCount, int degree, int queries) {
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int d = 0; d < degree; d++) {
+                graph.addEdge(v, random.nextInt(vertexCount));
+            }
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        int hits = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            if (graph.hasEdge(random.nextInt(vertexCount), random.nextInt(vertexCount))) {
+                hits++;
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        System.out.printf("%-8s %10d %12.1f %16.0f  (%d hits)%n", name, vertexCount,
+                BenchmarkSupport.millis(loadNanos),
+                BenchmarkSupport.perSecond(queries, lookupNanos), hits);
+    }
+
+    private static void runBulk(int vertexCount, int degree) {
+        Random random = new Random(42);
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices();
+
+        long start = System.nanoTime();
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        BulkEdgeLoader<Integer> loader = graph.newBulkEdgeLoader();
+        for (int v = 0; v < vertexCount; v++) {
+            for (int d = 0; d < degree; d++) {
+                loader.add(v, random.nextInt(vertexCount));
+            }
+        }
+        loader.load();
+        long loadNanos = System.nanoTime() - start;
+
+        System.out.printf("%-8s %10d %12.1f%n", "bulk", vertexCount, BenchmarkSupport.millis(loadNanos));
+    }
+}
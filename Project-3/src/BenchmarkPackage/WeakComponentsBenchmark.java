@@ -0,0 +1,117 @@
+package BenchmarkPackage;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import ADTPackage.QueueInterface;
+import GraphPackage.CsrGraph;
+import GraphPackage.DirectedGraph;
+
+/**
+ * Measures weakly connected component labelling on a random graph with
+ * fewer edges than vertices, which splits into many small components:
+ * <ul>
+ *   <li>one breadth-first traversal per unlabelled vertex, over a copy
+ *       of the graph that holds each edge in both directions;</li>
+ *   <li>the union-find pass on the DirectedGraph and on its CsrGraph;</li>
+ *   <li>the parallel pass over the lock-free union-find structure, for
+ *       each thread count up to maxThreads.</li>
+ * </ul>
+ *
+ * <p>Options: {@code vertices=N edges=M maxThreads=T}, where M defaults
+ * to N / 2.</p>
+ */
+public class WeakComponentsBenchmark {
+
+    public static void main(String[] args) {
+        int vertexCount = BenchmarkSupport.intOption(args, "vertices", 1_000_000);
+        int edgeCount = BenchmarkSupport.intOption(args, "edges", vertexCount / 2);
+        int maxThreads = BenchmarkSupport.intOption(args, "maxThreads",
+                Runtime.getRuntime().availableProcessors());
+
+        DirectedGraph<Integer> graph = load(vertexCount, edgeCount, false);
+        CsrGraph<Integer> frozen = graph.freeze();
+        DirectedGraph<Integer> symmetric = load(vertexCount, edgeCount, true);
+
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            boolean print = (pass == 1);
+            if (print) {
+                System.out.printf("%d vertices, %d edges%n", vertexCount, edgeCount);
+                System.out.printf("%-26s %8s %12s %12s%n", "labelling", "threads", "components", "ms");
+            }
+
+            long start = System.nanoTime();
+            int traversed = labelByTraversals(symmetric, vertexCount);
+            report(print, "traversal per component", 1, traversed, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int expected = graph.getWeaklyConnectedComponents().getComponentCount();
+            report(print, "union-find (DirectedGraph)", 1, expected, System.nanoTime() - start);
+            check(expected, traversed);
+
+            start = System.nanoTime();
+            int components = frozen.getWeaklyConnectedComponents().getComponentCount();
+            report(print, "union-find (CsrGraph)", 1, components, System.nanoTime() - start);
+            check(expected, components);
+
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    start = System.nanoTime();
+                    components = frozen.getParallelWeaklyConnectedComponents(pool).getComponentCount();
+                    report(print, "concurrent union-find", threads, components,
+                            System.nanoTime() - start);
+                    check(expected, components);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    // With symmetric set, each edge is added in both directions
+    private static DirectedGraph<Integer> load(int vertexCount, int edgeCount, boolean symmetric) {
+        DirectedGraph<Integer> graph = DirectedGraph.withHashedVertices(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        Random random = new Random(42);
+        for (int e = 0; e < edgeCount; e++) {
+            int begin = random.nextInt(vertexCount);
+            int end = random.nextInt(vertexCount);
+            graph.addEdge(begin, end);
+            if (symmetric) {
+                graph.addEdge(end, begin);
+            }
+        }
+        return graph;
+    }
+
+    private static int labelByTraversals(DirectedGraph<Integer> graph, int vertexCount) {
+        boolean[] labelled = new boolean[vertexCount];
+        int components = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!labelled[v]) {
+                QueueInterface<Integer> reached = graph.getBreadthFirstTraversal(v);
+                while (!reached.isEmpty()) {
+                    labelled[reached.dequeue()] = true;
+                }
+                components++;
+            }
+        }
+        return components;
+    }
+
+    private static void report(boolean print, String labelling, int threads, int components, long nanos) {
+        if (print) {
+            System.out.printf("%-26s %8d %12d %12.1f%n", labelling, threads, components,
+                    BenchmarkSupport.millis(nanos));
+        }
+    }
+
+    private static void check(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Component labellings disagree: " + expected + " vs " + actual);
+        }
+    }
+}
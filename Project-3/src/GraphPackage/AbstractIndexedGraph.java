@@ -0,0 +1,460 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Stream;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue, StackInterface, ArrayStack, IntArrayStack
+
+/**
+ * The read-only graph algorithms shared by the array-based graph forms.
+ * A subclass supplies the int-indexed structure (IntAdjacency) and the
+ * mapping between labels and vertex ids; this class implements
+ * GraphAlgorithmsInterface on top of them with IndexedTraversals.
+ *
+ * <p>Subclasses must be immutable, so every method here may be called from
+ * any number of threads at once.</p>
+ */
+abstract class AbstractIndexedGraph<T> implements GraphAlgorithmsInterface<T>, IntAdjacency {
+
+    private final TraversalContextPool contextPool = new TraversalContextPool();
+
+    /* ===================== Structure ===================== */
+
+    /**
+     * Gets the id assigned to a vertex label.
+     *
+     * @param label a vertex label
+     * @return the vertex id, or -1 if the label is not in this graph
+     */
+    public abstract int getVertexId(T label);
+
+    /**
+     * Gets the label of the vertex with a given id.
+     *
+     * @param vertexId the id of a vertex in this graph
+     * @return the vertex label
+     */
+    public abstract T getLabel(int vertexId);
+
+    /**
+     * Gets the number of edges in this graph.
+     *
+     * @return the number of edges
+     */
+    public abstract int getNumberOfEdges();
+
+    /**
+     * Gets the number of vertices in this graph.
+     *
+     * @return the number of vertices
+     */
+    public int getNumberOfVertices() {
+        return getVertexCount();
+    }
+
+    /**
+     * Sees whether an edge exists between two given vertices.
+     *
+     * @param begin the label of the origin vertex of the edge
+     * @param end   the label of the end vertex of the edge
+     * @return true if the edge exists
+     */
+    public boolean hasEdge(T begin, T end) {
+        int beginId = getVertexId(begin);
+        int endId = getVertexId(end);
+        if (beginId < 0 || endId < 0) {
+            return false;
+        }
+        int degree = getOutDegree(beginId);
+        for (int e = 0; e < degree; e++) {
+            if (getNeighbor(beginId, e) == endId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* ===================== GraphAlgorithmsInterface<T> ===================== */
+
+    @Override
+    public QueueInterface<T> getBreadthFirstTraversal(T origin) {
+        int originId = getVertexId(origin);
+        if (originId < 0) {
+            return new ArrayQueue<>();
+        }
+        TraversalContext context = contextPool.acquire(getVertexCount());
+        try {
+            return toLabelQueue(IndexedTraversals.breadthFirstOrder(this, originId, context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    @Override
+    public QueueInterface<T> getDepthFirstTraversal(T origin) {
+        int originId = getVertexId(origin);
+        if (originId < 0) {
+            return new ArrayQueue<>();
+        }
+        TraversalContext context = contextPool.acquire(getVertexCount());
+        try {
+            return toLabelQueue(IndexedTraversals.depthFirstOrder(this, originId, context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /* ===================== Streaming traversals ===================== */
+
+    /**
+     * Creates an iterator that visits the vertices reachable from origin in
+     * breadth-first order, finding each vertex only when it is asked for.
+     *
+     * @param origin the label of the origin vertex
+     * @return an iterator over labels, empty if origin is not in the graph
+     */
+    public Iterator<T> getBreadthFirstIterator(T origin) {
+        return newTraversal(origin, false);
+    }
+
+    /**
+     * Creates an iterator that visits the vertices reachable from origin in
+     * depth-first order, finding each vertex only when it is asked for.
+     *
+     * @param origin the label of the origin vertex
+     * @return an iterator over labels, empty if origin is not in the graph
+     */
+    public Iterator<T> getDepthFirstIterator(T origin) {
+        return newTraversal(origin, true);
+    }
+
+    /**
+     * Streams the vertices reachable from origin in breadth-first order.
+     * The search advances only as the stream pulls labels.
+     *
+     * @param origin the label of the origin vertex
+     * @return a sequential stream of labels
+     */
+    public Stream<T> breadthFirstStream(T origin) {
+        return TraversalIterator.stream(newTraversal(origin, false));
+    }
+
+    /**
+     * Streams the vertices reachable from origin in depth-first order.
+     * The search advances only as the stream pulls labels.
+     *
+     * @param origin the label of the origin vertex
+     * @return a sequential stream of labels
+     */
+    public Stream<T> depthFirstStream(T origin) {
+        return TraversalIterator.stream(newTraversal(origin, true));
+    }
+
+    private TraversalIterator<T> newTraversal(T origin, boolean depthFirst) {
+        return new TraversalIterator<>(this, this::getLabel, getVertexId(origin),
+                depthFirst, contextPool, getVertexCount());
+    }
+
+    /**
+     * Unweighted shortest path (by number of edges) using BFS.
+     *
+     * @return the number of edges on the path, or -1 if either vertex is
+     *         missing or end cannot be reached from begin (path is then
+     *         left unchanged)
+     */
+    @Override
+    public int getShortestPath(T begin, T end, StackInterface<T> path) {
+        int beginId = getVertexId(begin);
+        int endId = getVertexId(end);
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+
+        int[] ids;
+        TraversalContext context = contextPool.acquire(getVertexCount());
+        try {
+            ids = IndexedTraversals.shortestPath(this, beginId, endId, context);
+        } finally {
+            contextPool.release(context);
+        }
+        if (ids == null) {
+            return -1;
+        }
+        for (int i = ids.length - 1; i >= 0; i--) {
+            path.push(getLabel(ids[i]));
+        }
+        return ids.length - 1;
+    }
+
+    /**
+     * Topological order using Kahn's algorithm over an in-degree array.
+     *
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle
+     */
+    @Override
+    public StackInterface<T> getTopologicalOrder() {
+        int[] order = IndexedTraversals.topologicalOrder(this);
+        if (order.length < getNumberOfVertices()) {
+            throw new IllegalStateException("Graph has a cycle: "
+                    + describeCycle(IndexedTraversals.findCycle(this, order)));
+        }
+
+        StackInterface<T> result = new ArrayStack<>(order.length);
+        for (int i = order.length - 1; i >= 0; i--) {
+            result.push(getLabel(order[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Finds a directed cycle, in O(V + E) time.
+     *
+     * @return a queue of the labels around one cycle in edge order, without
+     *         repeating the first label, or an empty queue if the graph is
+     *         acyclic
+     */
+    public QueueInterface<T> getCycle() {
+        int[] order = IndexedTraversals.topologicalOrder(this);
+        if (order.length == getNumberOfVertices()) {
+            return new ArrayQueue<>();
+        }
+        return toLabelQueue(IndexedTraversals.findCycle(this, order));
+    }
+
+    /**
+     * Least-cost path using Dijkstra's algorithm with an indexed binary
+     * heap, stopping once end is settled.
+     *
+     * @return the cost of the path, or -1 if either vertex is missing or
+     *         end cannot be reached from begin (path is then left unchanged)
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    @Override
+    public double getCheapestPath(T begin, T end, StackInterface<T> path) {
+        int beginId = getVertexId(begin);
+        int endId = getVertexId(end);
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+
+        TraversalContext context = contextPool.acquire(getVertexCount());
+        try {
+            double cost = IndexedTraversals.cheapestPath(this, beginId, endId, context);
+            if (cost >= 0) {
+                for (int id = endId; id >= 0; id = context.getPredecessor(id)) {
+                    path.push(getLabel(id));
+                }
+            }
+            return cost;
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /* ===================== Guided search ===================== */
+
+    /**
+     * Finds a least-cost path with A* search, which settles vertices in
+     * order of their cost so far plus heuristic's estimate of the cost
+     * still to come, and so explores far fewer vertices than
+     * getCheapestPath when the estimate is good. A LandmarkHeuristic
+     * built on this graph is read by vertex id, without looking up labels.
+     *
+     * @param begin     the label of the path's origin vertex
+     * @param end       the label of the path's destination vertex
+     * @param path      receives the labels on the path, origin on top
+     * @param heuristic a consistent estimate of the cost between two
+     *                  vertices (see PathHeuristic)
+     * @return the cost of the path, or -1 if either vertex is missing or
+     *         end cannot be reached from begin (path is then left unchanged)
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    public double getCheapestPath(T begin, T end, StackInterface<T> path, PathHeuristic<? super T> heuristic) {
+        int beginId = getVertexId(begin);
+        int endId = getVertexId(end);
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+
+        IntToDoubleFunction remaining;
+        if (heuristic instanceof LandmarkHeuristic && ((LandmarkHeuristic<?>) heuristic).isCurrentFor(this, 0)) {
+            LandmarkHeuristic<?> landmarks = (LandmarkHeuristic<?>) heuristic;
+            remaining = id -> landmarks.estimate(id, endId);
+        } else {
+            remaining = id -> heuristic.estimate(getLabel(id), end);
+        }
+
+        TraversalContext context = contextPool.acquire(getVertexCount());
+        try {
+            double cost = IndexedTraversals.cheapestPath(this, beginId, endId, context, remaining);
+            if (cost >= 0) {
+                for (int id = endId; id >= 0; id = context.getPredecessor(id)) {
+                    path.push(getLabel(id));
+                }
+            }
+            return cost;
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Picks landmarks and computes the cost of a cheapest path from each
+     * of them to every vertex and back, for guiding getCheapestPath. The
+     * work is two full runs of Dijkstra's algorithm per landmark, repaid
+     * over many path queries; a handful of landmarks, 8 to 16, usually
+     * suffices.
+     *
+     * @param landmarkCount the number of landmarks to pick
+     * @return an estimate for paths in this graph
+     * @throws IllegalArgumentException if landmarkCount is not positive
+     * @throws IllegalStateException if the graph has a negative edge weight
+     */
+    public LandmarkHeuristic<T> getLandmarkHeuristic(int landmarkCount) {
+        return new LandmarkHeuristic<>(this, labelsById(), landmarkCount, this, 0);
+    }
+
+    /* ===================== Levels ===================== */
+
+    /**
+     * Computes the breadth-first level of every vertex, sequentially.
+     *
+     * @param origin the label of the origin vertex
+     * @return an array indexed by vertex id holding each vertex's distance
+     *         in edges from origin, or -1 for unreachable vertices (all -1
+     *         if origin is not in this graph)
+     */
+    public int[] getBreadthFirstLevels(T origin) {
+        int originId = getVertexId(origin);
+        if (originId < 0) {
+            return unreachedLevels();
+        }
+        return IndexedTraversals.breadthFirstLevels(this, originId);
+    }
+
+    /**
+     * Computes the breadth-first level of every vertex from each of many
+     * origins. The searches run 256 at a time, sharing each step among
+     * the searches whose frontiers meet, which costs far less than one
+     * getBreadthFirstLevels call per origin. The result takes an int per
+     * vertex for every origin, and a batch of several origins needs as
+     * much again while it is searched, so very long lists of origins are
+     * best passed a few hundred at a time.
+     *
+     * @param origins the labels of the origin vertices
+     * @return for each origin in the same order, the array that
+     *         getBreadthFirstLevels would return for it
+     * @throws IllegalArgumentException if this graph has more vertices
+     *         than the batched search can hold bit sets for, over 500
+     *         million
+     */
+    public int[][] getBreadthFirstLevels(Iterable<? extends T> origins) {
+        return BatchedBreadthFirstSearch.levels(this, toIds(origins));
+    }
+
+    /**
+     * Computes the distance of every vertex from the nearest of several
+     * origins with one breadth-first search that starts from all of them,
+     * in O(V + E) time however many origins there are.
+     *
+     * @param origins the labels of the origin vertices; labels not in this
+     *                graph are ignored
+     * @return an array indexed by vertex id holding each vertex's distance
+     *         in edges from the nearest origin, or -1 if no origin reaches
+     *         it
+     */
+    public int[] getMultiSourceBreadthFirstLevels(Iterable<? extends T> origins) {
+        int[] originIds = toIds(origins);
+        int count = 0;
+        for (int id : originIds) {
+            if (id >= 0) {
+                originIds[count++] = id;
+            }
+        }
+        return IndexedTraversals.multiSourceLevels(this, Arrays.copyOf(originIds, count));
+    }
+
+    /**
+     * Computes the closeness of each origin: the number of other vertices
+     * it reaches divided by the sum of their distances, so 1 for a vertex
+     * with an edge to everything it reaches, and smaller the farther away
+     * those vertices are. The breadth-first searches run 256 at a time,
+     * sharing each step among the searches whose frontiers meet, which
+     * costs far less than one search per origin.
+     *
+     * @param origins the labels of the vertices to score
+     * @return the closeness of each origin, in the same order; 0 for a
+     *         label not in this graph or a vertex that reaches no other
+     */
+    public double[] getClosenessCentrality(Iterable<? extends T> origins) {
+        return BatchedBreadthFirstSearch.closeness(this, toIds(origins));
+    }
+
+    /* ===================== Components ===================== */
+
+    /**
+     * Finds the strongly connected components with an iterative version of
+     * Tarjan's algorithm, in O(V + E) time. Components are numbered in
+     * topological order of the condensation.
+     *
+     * @return the components of this graph
+     */
+    public StronglyConnectedComponents<T> getStronglyConnectedComponents() {
+        return new StronglyConnectedComponents<>(labelsById(), IndexedTraversals.strongComponents(this));
+    }
+
+    /**
+     * Finds the weakly connected components, the sets of vertices joined
+     * by edges when their directions are ignored, with a union-find pass
+     * over the edges. Components are numbered in order of their lowest
+     * vertex id.
+     *
+     * @return the components of this graph
+     */
+    public ConnectedComponents<T> getWeaklyConnectedComponents() {
+        return new ConnectedComponents<>(labelsById(), IndexedTraversals.weakComponents(this));
+    }
+
+    /* ===================== Helpers ===================== */
+
+    // The label of each vertex id, null for ids that belong to no vertex
+    Object[] labelsById() {
+        Object[] labels = new Object[getVertexCount()];
+        for (int id = 0; id < labels.length; id++) {
+            if (hasVertex(id)) {
+                labels[id] = getLabel(id);
+            }
+        }
+        return labels;
+    }
+
+    String describeCycle(int[] cycle) {
+        StringBuilder description = new StringBuilder();
+        for (int id : cycle) {
+            description.append(getLabel(id)).append(" -> ");
+        }
+        return description.append(getLabel(cycle[0])).toString();
+    }
+
+    // The id of each label in order, or -1 for labels not in this graph
+    private int[] toIds(Iterable<? extends T> labels) {
+        return FrontierBuffer.idsOf(labels, this::getVertexId);
+    }
+
+    int[] unreachedLevels() {
+        int[] level = new int[getVertexCount()];
+        Arrays.fill(level, -1);
+        return level;
+    }
+
+    QueueInterface<T> toLabelQueue(int[] ids) {
+        QueueInterface<T> result = new ArrayQueue<>(ids.length);
+        for (int id : ids) {
+            result.enqueue(getLabel(id));
+        }
+        return result;
+    }
+}
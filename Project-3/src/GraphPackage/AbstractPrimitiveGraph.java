@@ -0,0 +1,312 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The mutable adjacency structure shared by the graphs with primitive
+ * labels. Vertices are numbered 0, 1, 2, ... in the order they are added,
+ * and a subclass maps its labels to those ids. Each vertex's edges are a
+ * pair of parallel int and double arrays, with the same neighbor index as
+ * Vertex once its out-degree passes Vertex.INDEX_THRESHOLD, so a vertex
+ * needs no objects beyond those arrays.
+ *
+ * <p>The algorithms are the int-indexed ones in IndexedTraversals, shared
+ * with the other array-based graphs, so every graph form visits vertices
+ * in the same order. As with DirectedGraph, any number of queries may run
+ * at once as long as no thread modifies the graph meanwhile.</p>
+ */
+abstract class AbstractPrimitiveGraph implements IntAdjacency {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+    private static final double[] NO_WEIGHTS = new double[0];
+
+    private int vertexCount;
+    private int edgeCount;
+    private int[] degrees;                    // degrees[v]
+    private int[][] neighbors;                // neighbors[v][0..degrees[v] - 1]
+    private double[][] weights;               // Parallel to neighbors
+    private NeighborIndex[] neighborIndexes;  // null until a vertex needs one
+    private final TraversalContextPool contextPool = new TraversalContextPool();
+
+    AbstractPrimitiveGraph(int expectedVertices) {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("Expected vertices must be non-negative.");
+        }
+        allocate(Math.max(16, expectedVertices));
+    }
+
+    /**
+     * Gets a printable form of a vertex's label, for error messages.
+     *
+     * @param vertexId a vertex id
+     * @return the label as text
+     */
+    abstract String describeVertex(int vertexId);
+
+    /* ===================== Structure ===================== */
+
+    /**
+     * Adds a vertex with no edges.
+     *
+     * @return the new vertex's id
+     */
+    int newVertexId() {
+        if (vertexCount == degrees.length) {
+            int capacity = 2 * vertexCount;
+            degrees = Arrays.copyOf(degrees, capacity);
+            neighbors = Arrays.copyOf(neighbors, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            neighborIndexes = Arrays.copyOf(neighborIndexes, capacity);
+        }
+        int id = vertexCount;
+        neighbors[id] = NO_NEIGHBORS;
+        weights[id] = NO_WEIGHTS;
+        vertexCount++;
+        return id;
+    }
+
+    /**
+     * Adds an edge between two existing vertices. As in DirectedGraph,
+     * an edge that already exists or loops back to its origin is refused.
+     *
+     * @param beginId the id of the origin vertex
+     * @param endId   the id of the end vertex
+     * @param weight  the weight of the edge
+     * @return true if the edge was added
+     */
+    boolean addEdgeById(int beginId, int endId, double weight) {
+        if (beginId == endId || hasEdgeById(beginId, endId)) {
+            return false;
+        }
+
+        int degree = degrees[beginId];
+        if (degree == neighbors[beginId].length) {
+            int capacity = Math.max(4, 2 * degree);
+            neighbors[beginId] = Arrays.copyOf(neighbors[beginId], capacity);
+            weights[beginId] = Arrays.copyOf(weights[beginId], capacity);
+        }
+        neighbors[beginId][degree] = endId;
+        weights[beginId][degree] = weight;
+        degrees[beginId] = degree + 1;
+
+        NeighborIndex index = neighborIndexes[beginId];
+        if (index != null) {
+            index.add(endId);
+        } else if (degree + 1 > Vertex.INDEX_THRESHOLD) {
+            index = new NeighborIndex(2 * (degree + 1));
+            for (int e = 0; e <= degree; e++) {
+                index.add(neighbors[beginId][e]);
+            }
+            neighborIndexes[beginId] = index;
+        }
+
+        edgeCount++;
+        return true;
+    }
+
+    boolean hasEdgeById(int beginId, int endId) {
+        NeighborIndex index = neighborIndexes[beginId];
+        if (index != null) {
+            return index.contains(endId);
+        }
+        int[] ends = neighbors[beginId];
+        for (int e = degrees[beginId] - 1; e >= 0; e--) {
+            if (ends[e] == endId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of vertices in this graph.
+     *
+     * @return the number of vertices
+     */
+    public int getNumberOfVertices() {
+        return vertexCount;
+    }
+
+    /**
+     * Gets the number of edges in this graph.
+     *
+     * @return the number of edges
+     */
+    public int getNumberOfEdges() {
+        return edgeCount;
+    }
+
+    /**
+     * Sees whether this graph is empty.
+     *
+     * @return true if the graph has no vertices
+     */
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /** Removes all vertices and edges from this graph. */
+    public void clear() {
+        allocate(16);
+        contextPool.clear();
+    }
+
+    /* ===================== IntAdjacency ===================== */
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return degrees[vertex];
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int edge) {
+        return neighbors[vertex][edge];
+    }
+
+    @Override
+    public double getWeight(int vertex, int edge) {
+        return weights[vertex][edge];
+    }
+
+    /* ===================== Algorithms over ids ===================== */
+
+    /*
+     * The subclasses turn labels into ids, call these, and turn the ids
+     * back into labels, so the algorithms themselves are written once.
+     * A missing label has id -1.
+     */
+
+    /**
+     * Performs a breadth-first traversal.
+     *
+     * @param originId the id of the origin vertex, or -1
+     * @return the ids of the reached vertices in visiting order, or an
+     *         empty array if originId is -1
+     */
+    int[] breadthFirstIds(int originId) {
+        if (originId < 0) {
+            return new int[0];
+        }
+        TraversalContext context = contextPool.acquire(vertexCount);
+        try {
+            return IndexedTraversals.breadthFirstOrder(this, originId, context);
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Performs a depth-first traversal.
+     *
+     * @param originId the id of the origin vertex, or -1
+     * @return the ids of the reached vertices in visiting order, or an
+     *         empty array if originId is -1
+     */
+    int[] depthFirstIds(int originId) {
+        if (originId < 0) {
+            return new int[0];
+        }
+        TraversalContext context = contextPool.acquire(vertexCount);
+        try {
+            return IndexedTraversals.depthFirstOrder(this, originId, context);
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Finds a path with the fewest edges using breadth-first search.
+     *
+     * @param beginId the id of the path's origin vertex, or -1
+     * @param endId   the id of the path's destination vertex, or -1
+     * @param push    receives the ids along the path from end back to
+     *                begin, so that pushing their labels leaves begin on top
+     * @return the number of edges on the path, or -1 if either id is -1 or
+     *         end cannot be reached (push is then not called)
+     */
+    int shortestPathIds(int beginId, int endId, IntConsumer push) {
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+        int[] ids;
+        TraversalContext context = contextPool.acquire(vertexCount);
+        try {
+            ids = IndexedTraversals.shortestPath(this, beginId, endId, context);
+        } finally {
+            contextPool.release(context);
+        }
+
+        if (ids == null) {
+            return -1;
+        }
+        for (int i = ids.length - 1; i >= 0; i--) {
+            push.accept(ids[i]);
+        }
+        return ids.length - 1;
+    }
+
+    /**
+     * Finds a least-cost path with Dijkstra's algorithm.
+     *
+     * @param beginId the id of the path's origin vertex, or -1
+     * @param endId   the id of the path's destination vertex, or -1
+     * @param push    receives the ids along the path from end back to
+     *                begin, so that pushing their labels leaves begin on top
+     * @return the cost of the path, or -1 if either id is -1 or end cannot
+     *         be reached (push is then not called)
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    double cheapestPathIds(int beginId, int endId, IntConsumer push) {
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+        TraversalContext context = contextPool.acquire(vertexCount);
+        try {
+            double cost = IndexedTraversals.cheapestPath(this, beginId, endId, context);
+            if (cost >= 0) {
+                for (int id = endId; id >= 0; id = context.getPredecessor(id)) {
+                    push.accept(id);
+                }
+            }
+            return cost;
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Orders all vertices topologically with Kahn's algorithm.
+     *
+     * @return the vertex ids in topological order
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle
+     */
+    int[] topologicalIds() {
+        int[] order = IndexedTraversals.topologicalOrder(this);
+        if (order.length < vertexCount) {
+            int[] cycle = IndexedTraversals.findCycle(this, order);
+            StringBuilder description = new StringBuilder();
+            for (int id : cycle) {
+                description.append(describeVertex(id)).append(" -> ");
+            }
+            description.append(describeVertex(cycle[0]));
+            throw new IllegalStateException("Graph has a cycle: " + description);
+        }
+        return order;
+    }
+
+    private void allocate(int capacity) {
+        vertexCount = 0;
+        edgeCount = 0;
+        degrees = new int[capacity];
+        neighbors = new int[capacity][];
+        weights = new double[capacity][];
+        neighborIndexes = new NeighborIndex[capacity];
+    }
+}
@@ -0,0 +1,318 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first searches from many origins at once, with one bit per
+ * origin (multi-source BFS in the style of Then et al., "The More the
+ * Merrier", VLDB 2015). A batch covers 256 origins, held in four longs
+ * per vertex that sit next to each other in memory.
+ *
+ * <p>For each vertex the search keeps three bit sets: the origins that
+ * have reached it, the origins whose frontier it is on, and the origins
+ * that will reach it at the next level. Expanding a vertex ORs its
+ * frontier bits into each neighbor's next bits, so a vertex that lies on
+ * the frontier of many origins at once is expanded once for all of
+ * them, and each of its edges is read once per level instead of once per
+ * origin. Only the vertices on the current frontier and those touched by
+ * it are visited at each level.</p>
+ */
+final class BatchedBreadthFirstSearch {
+
+    static final int WORDS = 4;                 // Longs per vertex in each bit set
+    static final int BATCH = WORDS * Long.SIZE; // Origins per batch
+    private static final int TRANSPOSE_BLOCK = 64; // Vertices copied out together, up to 64 KB of levels
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /** Receives the vertices reached by the searches of one batch. */
+    @FunctionalInterface
+    interface LevelVisitor {
+
+        /** Reports a vertex at the moment some origins first reach it.
+            @param vertex   The id of the vertex.
+            @param level    Its distance in edges from each of those origins.
+            @param word     Which 64 origins of the batch the bits stand for,
+                            from 0 to WORDS - 1.
+            @param origins  A bit per origin that reached it at this level;
+                            bit b stands for origin 64 * word + b of the batch. */
+        void reached(int vertex, int level, int word, long origins);
+    }
+
+    private final IntAdjacency graph;
+    private final long[] seen;      // Origins that have reached each vertex; WORDS per vertex
+    private final long[] frontier;  // Origins whose current frontier holds each vertex
+    private final long[] next;      // Origins that reach each vertex at the next level
+    private final boolean[] listed; // True while a vertex is in touched, or in current as an origin
+    private final int[] current;    // The vertices with frontier bits set
+    private final int[] touched;    // The vertices with next bits set
+    private final int[] reached;    // The vertices with seen bits set
+    private final long[] sources = new long[WORDS]; // Frontier bits of the vertex being expanded
+    private int reachedCount;
+
+    BatchedBreadthFirstSearch(IntAdjacency graph) {
+        this.graph = graph;
+        int vertexCount = graph.getVertexCount();
+        if ((long) vertexCount * WORDS > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Too many vertices for a batched search: " + vertexCount
+                    + "; at most " + MAX_ARRAY_LENGTH / WORDS + " are supported.");
+        }
+        seen = new long[vertexCount * WORDS];
+        frontier = new long[vertexCount * WORDS];
+        next = new long[vertexCount * WORDS];
+        listed = new boolean[vertexCount];
+        current = new int[vertexCount];
+        touched = new int[vertexCount];
+        reached = new int[vertexCount];
+    }
+
+    /**
+     * Searches from up to BATCH origins together. The origins themselves
+     * are reported at level 0.
+     *
+     * @param origins the ids of all origins, or -1 for origins to skip
+     * @param first   the position in origins of the batch's first origin
+     * @param visitor receives each vertex as it is reached
+     */
+    void search(int[] origins, int first, LevelVisitor visitor) {
+        int last = Math.min(origins.length, first + BATCH);
+        int currentCount = 0;
+        for (int i = first; i < last; i++) {
+            int origin = origins[i];
+            if (origin < 0) {
+                continue;
+            }
+            if (!listed[origin]) {
+                listed[origin] = true;
+                current[currentCount++] = origin;
+                reached[reachedCount++] = origin;
+            }
+            int word = origin * WORDS + (i - first) / Long.SIZE;
+            long bit = 1L << (i - first); // Shifts use the low six bits
+            frontier[word] |= bit;
+            seen[word] |= bit;
+        }
+        for (int i = 0; i < currentCount; i++) {
+            listed[current[i]] = false;
+            report(visitor, current[i], 0, frontier);
+        }
+
+        int level = 0;
+        while (currentCount > 0) {
+            level++;
+            int touchedCount = 0;
+            for (int i = 0; i < currentCount; i++) {
+                int vertex = current[i];
+                int base = vertex * WORDS;
+                for (int w = 0; w < WORDS; w++) {
+                    sources[w] = frontier[base + w];
+                    frontier[base + w] = 0;
+                }
+                int degree = graph.getOutDegree(vertex);
+                int firstEdge = graph.getFirstEdge(vertex);
+                for (int e = 0; e < degree; e++) {
+                    int neighbor = graph.getNeighbor(vertex, firstEdge, e);
+                    int neighborBase = neighbor * WORDS;
+                    boolean arrives = false;
+                    for (int w = 0; w < WORDS; w++) {
+                        long arriving = sources[w] & ~seen[neighborBase + w];
+                        if (arriving != 0) {
+                            next[neighborBase + w] |= arriving;
+                            arrives = true;
+                        }
+                    }
+                    if (arrives && !listed[neighbor]) {
+                        listed[neighbor] = true;
+                        touched[touchedCount++] = neighbor;
+                    }
+                }
+            }
+
+            currentCount = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int vertex = touched[i];
+                int base = vertex * WORDS;
+                boolean unseen = true;
+                for (int w = 0; w < WORDS; w++) {
+                    long arrived = next[base + w];
+                    next[base + w] = 0;
+                    unseen &= (seen[base + w] == 0);
+                    seen[base + w] |= arrived;
+                    frontier[base + w] = arrived;
+                }
+                if (unseen) {
+                    reached[reachedCount++] = vertex;
+                }
+                listed[vertex] = false;
+                current[currentCount++] = vertex;
+                report(visitor, vertex, level, frontier);
+            }
+        }
+
+        // Leave the bit sets clear for the next batch
+        for (int i = 0; i < reachedCount; i++) {
+            Arrays.fill(seen, reached[i] * WORDS, (reached[i] + 1) * WORDS, 0);
+        }
+        reachedCount = 0;
+    }
+
+    // Reports the nonzero words of a vertex's bits
+    private static void report(LevelVisitor visitor, int vertex, int level, long[] bits) {
+        int base = vertex * WORDS;
+        for (int w = 0; w < WORDS; w++) {
+            if (bits[base + w] != 0) {
+                visitor.reached(vertex, level, w, bits[base + w]);
+            }
+        }
+    }
+
+    /**
+     * Computes the breadth-first level of every vertex from each origin.
+     *
+     * @param graph   the graph to search
+     * @param origins the ids of the origins, or -1 for origins missing
+     *                from the graph; repeats are allowed
+     * @return for each origin in the same order, an array indexed by
+     *         vertex id holding each vertex's distance in edges from that
+     *         origin, or -1 if it is unreachable (all -1 for an origin
+     *         that is missing)
+     * @throws IllegalArgumentException if the graph has more than
+     *         (2^31 - 9) / 4 vertices, too many for the bit sets
+     */
+    static int[][] levels(IntAdjacency graph, int[] origins) {
+        BatchedBreadthFirstSearch search = new BatchedBreadthFirstSearch(graph);
+        int vertexCount = graph.getVertexCount();
+        int[][] levels = new int[origins.length][];
+        int[] byVertex = new int[0];
+
+        for (int first = 0; first < origins.length; first += BATCH) {
+            int count = Math.min(origins.length - first, BATCH);
+            for (int i = 0; i < count; i++) {
+                levels[first + i] = new int[vertexCount];
+            }
+
+            if (count == 1 || (long) vertexCount * count > MAX_ARRAY_LENGTH) {
+                // Too few origins to gain from gathering, or too many vertices
+                // to gather them in one array: write into the rows directly
+                for (int i = 0; i < count; i++) {
+                    Arrays.fill(levels[first + i], -1);
+                }
+                int batchFirst = first;
+                search.search(origins, first, (vertex, level, word, reachedBy) -> {
+                    for (long bits = reachedBy; bits != 0; bits &= bits - 1) {
+                        levels[batchFirst + word * Long.SIZE + Long.numberOfTrailingZeros(bits)][vertex] = level;
+                    }
+                });
+                continue;
+            }
+
+            // Otherwise the levels are gathered vertex by vertex, where the
+            // searches report them, count to a vertex, and then copied out to
+            // one array per origin; the check above keeps every index an int
+            int length = vertexCount * count;
+            if (byVertex.length < length) {
+                byVertex = new int[length];
+            }
+            Arrays.fill(byVertex, 0, length, -1);
+            int[] gathered = byVertex;
+            search.search(origins, first, (vertex, level, word, reachedBy) -> {
+                int base = vertex * count + word * Long.SIZE;
+                for (long bits = reachedBy; bits != 0; bits &= bits - 1) {
+                    gathered[base + Long.numberOfTrailingZeros(bits)] = level;
+                }
+            });
+
+            for (int block = 0; block < vertexCount; block += TRANSPOSE_BLOCK) {
+                int blockEnd = Math.min(vertexCount, block + TRANSPOSE_BLOCK);
+                for (int i = 0; i < count; i++) {
+                    int[] row = levels[first + i];
+                    for (int v = block; v < blockEnd; v++) {
+                        row[v] = gathered[v * count + i];
+                    }
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Computes the closeness of each origin: the number of other vertices
+     * it reaches divided by the sum of their distances from it.
+     *
+     * @param graph   the graph to search
+     * @param origins the ids of the origins, or -1 for origins missing
+     *                from the graph; repeats are allowed
+     * @return the closeness of each origin in the same order, or 0 for an
+     *         origin that is missing or reaches no other vertex
+     * @throws IllegalArgumentException if the graph has more than
+     *         (2^31 - 9) / 4 vertices, too many for the bit sets
+     */
+    static double[] closeness(IntAdjacency graph, int[] origins) {
+        BatchedBreadthFirstSearch search = new BatchedBreadthFirstSearch(graph);
+        ColumnCounter counter = new ColumnCounter();
+        double[] closeness = new double[origins.length];
+
+        for (int first = 0; first < origins.length; first += BATCH) {
+            search.search(origins, first, counter);
+            counter.flush();
+            int last = Math.min(origins.length, first + BATCH);
+            for (int i = first; i < last; i++) {
+                long distanceSum = counter.distanceSum[i - first];
+                long others = counter.reachedCount[i - first] - 1;
+                closeness[i] = (distanceSum == 0) ? 0 : others / (double) distanceSum;
+            }
+            counter.reset();
+        }
+        return closeness;
+    }
+
+    /**
+     * Counts, for each origin of a batch, the vertices it reaches and the
+     * sum of their levels. Within a level the bits are added column-wise
+     * into binary counters held as bit planes, a few word operations per
+     * report, and the per-origin counts are read out of the planes only
+     * when the level changes.
+     */
+    private static final class ColumnCounter implements LevelVisitor {
+        private static final int PLANES = Integer.SIZE; // Enough for any count of vertices
+
+        final long[] distanceSum = new long[BATCH];
+        final long[] reachedCount = new long[BATCH];
+        private final long[] planes = new long[WORDS * PLANES]; // Bit k of each origin's count at this level
+        private int level;
+
+        @Override
+        public void reached(int vertex, int reachedLevel, int word, long origins) {
+            if (reachedLevel != level) {
+                flush();
+                level = reachedLevel;
+            }
+            long carry = origins;
+            for (int k = word * PLANES; carry != 0; k++) {
+                long sum = planes[k] ^ carry;
+                carry &= planes[k];
+                planes[k] = sum;
+            }
+        }
+
+        // Adds the counts of the current level to the totals and clears the planes
+        void flush() {
+            for (int w = 0; w < WORDS; w++) {
+                for (int k = 0; k < PLANES; k++) {
+                    long plane = planes[w * PLANES + k];
+                    planes[w * PLANES + k] = 0;
+                    for (long bits = plane; bits != 0; bits &= bits - 1) {
+                        int origin = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                        reachedCount[origin] += 1L << k;
+                        distanceSum[origin] += (long) level << k;
+                    }
+                }
+            }
+        }
+
+        void reset() {
+            Arrays.fill(distanceSum, 0);
+            Arrays.fill(reachedCount, 0);
+            level = 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+/**
+ * Buffers edges for a DirectedGraph and adds them all at once.
+ *
+ * <p>Each buffered edge is reduced to the int indices of its end vertices
+ * and its weight, held in primitive arrays. load() sorts the buffer by
+ * (begin, end) with two stable counting-sort passes, drops every edge that
+ * repeats an earlier one or one already in the graph, and then appends
+ * the survivors to their vertices, each vertex's edge array being grown
+ * once. The whole load is linear in the number of edges and vertices.</p>
+ *
+ * <p>The result is exactly what calling addEdge for each buffered edge in
+ * order would give: the same edges, in the same adjacency order, with the
+ * same weights (the first of several duplicates wins), and the same
+ * getNumberOfEdges count. Edge labels are resolved when the edge is
+ * buffered, so both vertices must already be in the graph by then.</p>
+ *
+ * <p>A loader is created by DirectedGraph.newBulkEdgeLoader() and can be
+ * reused after each load. The graph should not be modified by other
+ * means while edges are buffered.</p>
+ */
+public final class BulkEdgeLoader<T extends Comparable<? super T>> {
+
+    private final DirectedGraph<T> graph;
+    private int[] begins;     // Vertex index of each buffered edge's origin
+    private int[] ends;       // Vertex index of each buffered edge's end
+    private double[] weights;
+    private int size;
+
+    BulkEdgeLoader(DirectedGraph<T> graph) {
+        this.graph = graph;
+        begins = new int[16];
+        ends = new int[16];
+        weights = new double[16];
+        size = 0;
+    }
+
+    /**
+     * Buffers a weighted edge.
+     *
+     * @param begin      the label of the origin vertex of the edge
+     * @param end        the label of the end vertex of the edge
+     * @param edgeWeight the edge's weight
+     * @return true if the edge was buffered, or false if it can never be
+     *         added because a vertex is missing or begin equals end
+     */
+    public boolean add(T begin, T end, double edgeWeight) {
+        Vertex<T> beginVertex = graph.getVertex(begin);
+        Vertex<T> endVertex   = graph.getVertex(end);
+        if (beginVertex == null || endVertex == null || beginVertex == endVertex) {
+            return false;
+        }
+
+        if (size == begins.length) {
+            begins = Arrays.copyOf(begins, 2 * size);
+            ends = Arrays.copyOf(ends, 2 * size);
+            weights = Arrays.copyOf(weights, 2 * size);
+        }
+        begins[size] = beginVertex.getIndex();
+        ends[size] = endVertex.getIndex();
+        weights[size] = edgeWeight;
+        size++;
+        return true;
+    }
+
+    /**
+     * Buffers an unweighted edge.
+     *
+     * @param begin the label of the origin vertex of the edge
+     * @param end   the label of the end vertex of the edge
+     * @return true if the edge was buffered, or false if it can never be
+     *         added because a vertex is missing or begin equals end
+     */
+    public boolean add(T begin, T end) {
+        return add(begin, end, 0.0);
+    }
+
+    /**
+     * Gets the number of edges waiting to be loaded.
+     *
+     * @return the number of buffered edges
+     */
+    public int getBufferedCount() {
+        return size;
+    }
+
+    /**
+     * Adds the buffered edges to the graph and empties the buffer.
+     *
+     * @return the number of edges added
+     */
+    public int load() {
+        int vertexCount = graph.getSlotCount();
+
+        // Stable sorts by end, then by begin, give (begin, end, buffer order)
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        order = countingSort(order, ends, vertexCount);
+        order = countingSort(order, begins, vertexCount);
+
+        boolean[] keep = new boolean[size];
+        int[] keptPerVertex = new int[vertexCount];
+        int added = 0;
+        for (int i = 0; i < size; i++) {
+            int edge = order[i];
+            boolean repeat = i > 0
+                    && begins[order[i - 1]] == begins[edge]
+                    && ends[order[i - 1]] == ends[edge];
+            if (!repeat && !graph.getVertexAt(begins[edge]).hasEdgeTo(graph.getVertexAt(ends[edge]))) {
+                keep[edge] = true;
+                keptPerVertex[begins[edge]]++;
+                added++;
+            }
+        }
+
+        for (int v = 0; v < vertexCount; v++) {
+            if (keptPerVertex[v] > 0) {
+                Vertex<T> vertex = graph.getVertexAt(v);
+                vertex.ensureEdgeCapacity(vertex.getOutDegree() + keptPerVertex[v]);
+            }
+        }
+
+        // Append in buffer order so adjacency order matches repeated addEdge calls
+        long version = graph.nextEdgeVersion();
+        for (int edge = 0; edge < size; edge++) {
+            if (keep[edge]) {
+                graph.appendEdge(graph.getVertexAt(begins[edge]), graph.getVertexAt(ends[edge]),
+                        weights[edge], version);
+            }
+        }
+
+        graph.addToEdgeCount(added);
+        size = 0;
+        return added;
+    }
+
+    /**
+     * Discards the buffered edges without loading them.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    // Stable counting sort of the given edge numbers by key[edge]
+    private int[] countingSort(int[] order, int[] key, int keyRange) {
+        int[] start = new int[keyRange + 1];
+        for (int edge : order) {
+            start[key[edge] + 1]++;
+        }
+        for (int k = 0; k < keyRange; k++) {
+            start[k + 1] += start[k];
+        }
+
+        int[] sorted = new int[order.length];
+        for (int edge : order) {
+            sorted[start[key[edge]]++] = edge;
+        }
+        return sorted;
+    }
+}
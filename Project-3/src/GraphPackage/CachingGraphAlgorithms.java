@@ -0,0 +1,451 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue, StackInterface, ArrayStack
+
+/**
+ * Answers the queries of GraphAlgorithmsInterface for a DirectedGraph,
+ * remembering recent results so that a query repeated before the graph
+ * changes is answered without searching again.
+ *
+ * <p>A breadth-first traversal from an origin is kept as the search tree
+ * it found: the labels in visiting order with the position of each one's
+ * parent. Besides repeating the traversal, the tree answers
+ * getShortestPath from that origin to any vertex, giving the same path
+ * the graph would. Other results are kept as they were returned: depth-
+ * first orders, shortest and cheapest paths per pair of vertices, and the
+ * topological order.</p>
+ *
+ * <p>Every entry belongs to the graph version it was computed at. The
+ * first lookup after the graph's version changes, through addVertex,
+ * addEdge, a removal or clear, discards every entry, so a stale result
+ * is never returned. Entries are evicted least recently used first once
+ * the cache holds more than its entry limit or its estimated size passes
+ * its byte limit. The estimate counts the arrays an entry holds; the
+ * labels themselves are shared with the graph and not counted.</p>
+ *
+ * <p>Queries may run in any number of threads at once, under the same
+ * rule as the graph: no thread may modify the graph meanwhile. Searches
+ * run outside the cache's lock, so two threads missing on the same query
+ * may both compute it.</p>
+ */
+public final class CachingGraphAlgorithms<T extends Comparable<? super T>> implements GraphAlgorithmsInterface<T> {
+
+    // Rough per-entry costs: map node, key and entry objects, and array headers
+    private static final long ENTRY_BYTES = 128;
+    private static final long PATH_BYTES_PER_VERTEX = 8;   // One reference
+    private static final long TREE_BYTES_PER_VERTEX = 28;  // Reference, parent position, label index
+
+    private final DirectedGraph<T> graph;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries; // In access order, least recent first
+    private long version;                            // Graph version the entries belong to
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache in front of a graph.
+     *
+     * @param graph      the graph to query
+     * @param maxEntries the largest number of results to keep
+     * @param maxBytes   the largest estimated size of the kept results
+     * @throws IllegalArgumentException if graph is null or a limit is
+     *         not positive
+     */
+    public CachingGraphAlgorithms(DirectedGraph<T> graph, int maxEntries, long maxBytes) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph cannot be null.");
+        }
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache limits must be positive.");
+        }
+        this.graph = graph;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        version = graph.getVersion();
+    }
+
+    /* ===================== GraphAlgorithmsInterface<T> ===================== */
+
+    @Override
+    public QueueInterface<T> getBreadthFirstTraversal(T origin) {
+        SearchTree tree = getTree(origin);
+        QueueInterface<T> result = new ArrayQueue<>(tree.order.length);
+        for (int position = 0; position < tree.order.length; position++) {
+            result.enqueue(labelAt(tree.order, position));
+        }
+        return result;
+    }
+
+    @Override
+    public QueueInterface<T> getDepthFirstTraversal(T origin) {
+        Key key = new Key(Kind.DEPTH_FIRST, origin, null);
+        Labels cached = (Labels) lookUp(key);
+        if (cached == null) {
+            long expected = graph.getVersion();
+            cached = new Labels(toArray(graph.getDepthFirstTraversal(origin)), 0);
+            store(key, cached, expected);
+        }
+
+        QueueInterface<T> result = new ArrayQueue<>(cached.labels.length);
+        for (int i = 0; i < cached.labels.length; i++) {
+            result.enqueue(labelAt(cached.labels, i));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the graph has a cycle; this result
+     *         is not cached
+     */
+    @Override
+    public StackInterface<T> getTopologicalOrder() {
+        Key key = new Key(Kind.TOPOLOGICAL, null, null);
+        Labels cached = (Labels) lookUp(key);
+        if (cached == null) {
+            long expected = graph.getVersion();
+            StackInterface<T> order = graph.getTopologicalOrder();
+            Object[] labels = new Object[graph.getNumberOfVertices()];
+            int size = 0;
+            while (!order.isEmpty()) {
+                labels[size++] = order.pop();
+            }
+            cached = new Labels(labels, 0);
+            store(key, cached, expected);
+        }
+        return cached.toStack();
+    }
+
+    /**
+     * Unweighted shortest path. If the breadth-first tree from begin is
+     * cached, the path is read from it; otherwise the result for this
+     * pair of vertices is looked up, and searched for on a miss. The path
+     * is the one DirectedGraph.getShortestPath finds.
+     *
+     * @return the number of edges on the path, or -1 if either vertex is
+     *         missing or end cannot be reached (path is then unchanged)
+     */
+    @Override
+    public int getShortestPath(T begin, T end, StackInterface<T> path) {
+        // Without a tree, the pair's own entry decides between hit and miss
+        SearchTree tree = (SearchTree) lookUp(new Key(Kind.BREADTH_FIRST, begin, null), false);
+        if (tree != null) {
+            return tree.pushPath(end, path);
+        }
+
+        Key key = new Key(Kind.SHORTEST_PATH, begin, end);
+        Labels cached = (Labels) lookUp(key);
+        if (cached == null) {
+            long expected = graph.getVersion();
+            StackInterface<T> found = new ArrayStack<>();
+            int length = graph.getShortestPath(begin, end, found);
+            cached = new Labels(toArray(found), length);
+            store(key, cached, expected);
+        }
+        cached.pushReversed(path);
+        return (int) cached.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the search meets a negative edge
+     *         weight; this result is not cached
+     */
+    @Override
+    public double getCheapestPath(T begin, T end, StackInterface<T> path) {
+        Key key = new Key(Kind.CHEAPEST_PATH, begin, end);
+        Labels cached = (Labels) lookUp(key);
+        if (cached == null) {
+            long expected = graph.getVersion();
+            StackInterface<T> found = new ArrayStack<>();
+            double cost = graph.getCheapestPath(begin, end, found);
+            cached = new Labels(toArray(found), cost);
+            store(key, cached, expected);
+        }
+        cached.pushReversed(path);
+        return cached.value;
+    }
+
+    /* ===================== Monitoring ===================== */
+
+    /**
+     * Gets the number of queries answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of queries that had to search the graph.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries dropped to stay within the limits.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of times a graph change discarded the entries.
+     *
+     * @return the invalidation count
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    /**
+     * Gets the number of results currently kept.
+     *
+     * @return the entry count
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the estimated size of the results currently kept.
+     *
+     * @return the estimate in bytes
+     */
+    public synchronized long getEstimatedBytes() {
+        return bytes;
+    }
+
+    /** Discards every entry; the counts are kept. */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entries, %d bytes, %d hits, %d misses, %d evictions, %d invalidations",
+                entries.size(), bytes, hits, misses, evictions, invalidations);
+    }
+
+    /* ===================== Entries ===================== */
+
+    private SearchTree getTree(T origin) {
+        Key key = new Key(Kind.BREADTH_FIRST, origin, null);
+        SearchTree cached = (SearchTree) lookUp(key);
+        if (cached == null) {
+            long expected = graph.getVersion();
+            int vertexCount = graph.getNumberOfVertices();
+            Object[] order = new Object[vertexCount];
+            int[] parent = new int[vertexCount];
+            int reached = graph.breadthFirstTree(origin, order, parent);
+            cached = new SearchTree(Arrays.copyOf(order, reached), Arrays.copyOf(parent, reached));
+            store(key, cached, expected);
+        }
+        return cached;
+    }
+
+    // Finds an entry and counts the hit or miss
+    private Object lookUp(Key key) {
+        return lookUp(key, true);
+    }
+
+    private synchronized Object lookUp(Key key, boolean countMiss) {
+        invalidateIfChanged();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.value;
+        }
+        if (countMiss) {
+            misses++;
+        }
+        return null;
+    }
+
+    // Keeps a result unless the graph changed while it was computed
+    private synchronized void store(Key key, Object value, long computedAt) {
+        invalidateIfChanged();
+        if (computedAt != version) {
+            return;
+        }
+        long size = ENTRY_BYTES + ((value instanceof SearchTree)
+                ? TREE_BYTES_PER_VERTEX * ((SearchTree) value).order.length
+                : PATH_BYTES_PER_VERTEX * ((Labels) value).labels.length);
+        if (size > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(key, new Entry(value, size));
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += size;
+
+        Iterator<Entry> leastRecent = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= leastRecent.next().bytes;
+            leastRecent.remove();
+            evictions++;
+        }
+    }
+
+    private void invalidateIfChanged() {
+        long current = graph.getVersion();
+        if (current != version) {
+            if (!entries.isEmpty()) {
+                entries.clear();
+                bytes = 0;
+                invalidations++;
+            }
+            version = current;
+        }
+    }
+
+    private static Object[] toArray(QueueInterface<?> queue) {
+        Object[] labels = new Object[8];
+        int size = 0;
+        while (!queue.isEmpty()) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, 2 * size);
+            }
+            labels[size++] = queue.dequeue();
+        }
+        return Arrays.copyOf(labels, size);
+    }
+
+    // Pops the path, begin first
+    private static Object[] toArray(StackInterface<?> stack) {
+        Object[] labels = new Object[8];
+        int size = 0;
+        while (!stack.isEmpty()) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, 2 * size);
+            }
+            labels[size++] = stack.pop();
+        }
+        return Arrays.copyOf(labels, size);
+    }
+
+    private enum Kind {
+        BREADTH_FIRST, DEPTH_FIRST, TOPOLOGICAL, SHORTEST_PATH, CHEAPEST_PATH
+    }
+
+    private static final class Key {
+        final Kind kind;
+        final Object begin;
+        final Object end;
+
+        Key(Kind kind, Object begin, Object end) {
+            this.kind = kind;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) other;
+            return kind == that.kind && Objects.equals(begin, that.begin) && Objects.equals(end, that.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return (kind.hashCode() * 31 + Objects.hashCode(begin)) * 31 + Objects.hashCode(end);
+        }
+    }
+
+    private static final class Entry {
+        final Object value; // A SearchTree or a Labels
+        final long bytes;
+
+        Entry(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    // Every label array holds labels of the graph, of type T
+    @SuppressWarnings("unchecked")
+    private static <T> T labelAt(Object[] labels, int i) {
+        return (T) labels[i];
+    }
+
+    // A list of labels with the number returned alongside it
+    private static final class Labels {
+        final Object[] labels;
+        final double value;
+
+        Labels(Object[] labels, double value) {
+            this.labels = labels;
+            this.value = value;
+        }
+
+        // Pushes the labels so that the first ends up on top
+        <T> void pushReversed(StackInterface<T> path) {
+            for (int i = labels.length - 1; i >= 0; i--) {
+                path.push(labelAt(labels, i));
+            }
+        }
+
+        <T> StackInterface<T> toStack() {
+            StackInterface<T> result = new ArrayStack<>(labels.length);
+            pushReversed(result);
+            return result;
+        }
+    }
+
+    // A breadth-first search tree; position 0 is the origin
+    private static final class SearchTree {
+        final Object[] order;
+        final int[] parent;
+        private volatile LabelIndex<Object> positions; // Built by the first path query
+
+        SearchTree(Object[] order, int[] parent) {
+            this.order = order;
+            this.parent = parent;
+        }
+
+        // Pushes the tree path to end, origin on top, and returns its length
+        <T> int pushPath(T end, StackInterface<T> path) {
+            LabelIndex<Object> index = positions;
+            if (index == null) {
+                index = new LabelIndex<>(order);
+                positions = index; // A racing thread may build an identical index
+            }
+            int position = index.getId(end);
+            if (position < 0) {
+                return -1;
+            }
+
+            int length = 0;
+            path.push(labelAt(order, position));
+            while (parent[position] >= 0) {
+                position = parent[position];
+                path.push(labelAt(order, position));
+                length++;
+            }
+            return length;
+        }
+    }
+}
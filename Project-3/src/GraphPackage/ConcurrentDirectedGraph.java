@@ -0,0 +1,423 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue, StackInterface
+
+/**
+ * A directed graph that any number of threads may read and modify at the
+ * same time.
+ *
+ * <p>Each vertex keeps its outgoing edges in append-only parallel arrays
+ * together with a volatile edge count. A writer locks only the vertex it
+ * adds an edge to, appends the edge, and then publishes the new count, so
+ * writers to different vertices never contend. Readers take no locks: they
+ * read the published count and then the arrays, which always hold at
+ * least that many complete edges because edges are never moved or
+ * removed, only copied into larger arrays before the count grows.</p>
+ *
+ * <p>A query works on the vertices that existed when it began. It sees
+ * every edge between them that was added before it began and never a
+ * vertex added later; edges added while it runs may or may not be seen.
+ * getTopologicalOrder and getCycle work on a copy made by freeze(), so
+ * they always see a single, complete graph.</p>
+ */
+public class ConcurrentDirectedGraph<T> implements GraphInterface<T> {
+
+    private volatile Store<T> store; // Replaced as a whole by clear()
+    private final TraversalContextPool contextPool;
+
+    public ConcurrentDirectedGraph() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty graph presized for the given number of vertices.
+     *
+     * @param expectedVertices the number of vertices the graph should hold
+     *                         without regrowing
+     * @throws IllegalArgumentException if expectedVertices is negative
+     */
+    public ConcurrentDirectedGraph(int expectedVertices) {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("Expected vertices must be non-negative.");
+        }
+        store = new Store<>(Math.max(16, expectedVertices));
+        contextPool = new TraversalContextPool();
+    }
+
+    /*BasicGraphInterface<T>*/
+
+    @Override
+    public boolean addVertex(T vertexLabel) {
+        if (vertexLabel == null) {
+            throw new IllegalArgumentException("Vertex labels cannot be null.");
+        }
+        return store.addVertex(vertexLabel);
+    }
+
+    @Override
+    public boolean addEdge(T begin, T end, double edgeWeight) {
+        Store<T> current = store;
+        AdjacencyList<T> beginVertex = current.getVertex(begin);
+        AdjacencyList<T> endVertex = current.getVertex(end);
+        if (beginVertex == null || endVertex == null || beginVertex == endVertex) {
+            return false;
+        }
+        boolean added = beginVertex.append(endVertex.index, edgeWeight);
+        if (added) {
+            current.edgeCount.increment();
+        }
+        return added;
+    }
+
+    @Override
+    public boolean addEdge(T begin, T end) {
+        return addEdge(begin, end, 0.0);
+    }
+
+    @Override
+    public boolean hasEdge(T begin, T end) {
+        Store<T> current = store;
+        AdjacencyList<T> beginVertex = current.getVertex(begin);
+        AdjacencyList<T> endVertex = current.getVertex(end);
+        return beginVertex != null && endVertex != null && beginVertex.contains(endVertex.index);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.vertexCount == 0;
+    }
+
+    @Override
+    public int getNumberOfVertices() {
+        return store.vertexCount;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return store.edgeCount.intValue();
+    }
+
+    /**
+     * Removes all vertices and edges. Changes made by other threads while
+     * clear() runs apply either to the old graph, and are discarded, or to
+     * the new empty one.
+     */
+    @Override
+    public void clear() {
+        store = new Store<>(16);
+        contextPool.clear();
+    }
+
+    /**
+     * Copies the current vertices and edges into an immutable compressed
+     * sparse row graph, with vertex ids in the order the vertices were
+     * added. Writers may keep adding edges while the copy is made; each
+     * vertex contributes the edges it had when it was copied.
+     *
+     * @return a read-only copy of this graph
+     */
+    public CsrGraph<T> freeze() {
+        View<T> view = new View<>(store);
+        int vertexCount = view.limit;
+        Object[] labels = new Object[vertexCount];
+        int[] degrees = new int[vertexCount];
+        int edgeTotal = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            labels[id] = view.table[id].label;
+            degrees[id] = view.getOutDegree(id);
+            edgeTotal += degrees[id];
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = new int[edgeTotal];
+        double[] weights = new double[edgeTotal];
+        int edge = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            offsets[id] = edge;
+            AdjacencyList<T> vertex = view.table[id];
+            int[] ends = vertex.targets;          // Read after the degree, so
+            double[] endWeights = vertex.weights; // at least that long
+            for (int e = 0; e < degrees[id]; e++) {
+                if (ends[e] < vertexCount) {
+                    targets[edge] = ends[e];
+                    weights[edge] = endWeights[e];
+                    edge++;
+                }
+            }
+        }
+        offsets[vertexCount] = edge;
+
+        return new CsrGraph<>(new LabelIndex<>(labels), offsets,
+                Arrays.copyOf(targets, edge), Arrays.copyOf(weights, edge));
+    }
+
+    /* ===================== GraphAlgorithmsInterface<T> ===================== */
+
+    @Override
+    public QueueInterface<T> getBreadthFirstTraversal(T origin) {
+        View<T> view = new View<>(store);
+        int originId = view.getId(origin);
+        if (originId < 0) {
+            return new ArrayQueue<>();
+        }
+        TraversalContext context = contextPool.acquire(view.limit);
+        try {
+            return view.toLabelQueue(IndexedTraversals.breadthFirstOrder(view, originId, context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    @Override
+    public QueueInterface<T> getDepthFirstTraversal(T origin) {
+        View<T> view = new View<>(store);
+        int originId = view.getId(origin);
+        if (originId < 0) {
+            return new ArrayQueue<>();
+        }
+        TraversalContext context = contextPool.acquire(view.limit);
+        try {
+            return view.toLabelQueue(IndexedTraversals.depthFirstOrder(view, originId, context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Unweighted shortest path (by number of edges) using BFS.
+     *
+     * @return the number of edges on the path, or -1 if either vertex is
+     *         missing or end cannot be reached from begin (path is then
+     *         left unchanged)
+     */
+    @Override
+    public int getShortestPath(T begin, T end, StackInterface<T> path) {
+        View<T> view = new View<>(store);
+        int beginId = view.getId(begin);
+        int endId = view.getId(end);
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+
+        int[] ids;
+        TraversalContext context = contextPool.acquire(view.limit);
+        try {
+            ids = IndexedTraversals.shortestPath(view, beginId, endId, context);
+        } finally {
+            contextPool.release(context);
+        }
+        if (ids == null) {
+            return -1;
+        }
+        for (int i = ids.length - 1; i >= 0; i--) {
+            path.push(view.table[ids[i]].label);
+        }
+        return ids.length - 1;
+    }
+
+    /**
+     * Least-cost path using Dijkstra's algorithm.
+     *
+     * @return the cost of the path, or -1 if either vertex is missing or
+     *         end cannot be reached from begin (path is then left unchanged)
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    @Override
+    public double getCheapestPath(T begin, T end, StackInterface<T> path) {
+        View<T> view = new View<>(store);
+        int beginId = view.getId(begin);
+        int endId = view.getId(end);
+        if (beginId < 0 || endId < 0) {
+            return -1;
+        }
+
+        TraversalContext context = contextPool.acquire(view.limit);
+        try {
+            double cost = IndexedTraversals.cheapestPath(view, beginId, endId, context);
+            if (cost >= 0) {
+                for (int id = endId; id >= 0; id = context.getPredecessor(id)) {
+                    path.push(view.table[id].label);
+                }
+            }
+            return cost;
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Topological order of a copy of the graph made by freeze().
+     *
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle
+     */
+    @Override
+    public StackInterface<T> getTopologicalOrder() {
+        return freeze().getTopologicalOrder();
+    }
+
+    /**
+     * Finds a directed cycle in a copy of the graph made by freeze().
+     *
+     * @return a queue of the labels around one cycle in edge order, or an
+     *         empty queue if the graph is acyclic
+     */
+    public QueueInterface<T> getCycle() {
+        return freeze().getCycle();
+    }
+
+    /* ===================== Storage ===================== */
+
+    // The whole mutable state, so that clear() can swap it atomically
+    private static final class Store<T> {
+        final ConcurrentHashMap<T, AdjacencyList<T>> vertices;
+        final LongAdder edgeCount = new LongAdder();
+        volatile AdjacencyList<T>[] table; // table[id] for id < vertexCount
+        volatile int vertexCount;          // Published after table[id] is set
+
+        Store(int capacity) {
+            vertices = new ConcurrentHashMap<>(capacity);
+            table = newTable(capacity);
+        }
+
+        AdjacencyList<T> getVertex(T label) {
+            return (label == null) ? null : vertices.get(label);
+        }
+
+        // Vertices are added one at a time so that ids stay dense
+        synchronized boolean addVertex(T label) {
+            if (vertices.containsKey(label)) {
+                return false;
+            }
+            int id = vertexCount;
+            AdjacencyList<T>[] current = table;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, 2 * id);
+            }
+            current[id] = new AdjacencyList<>(label, id);
+            table = current;
+            vertexCount = id + 1;
+            // Only now can other threads find the vertex, and with it a
+            // vertex count that covers its id
+            vertices.put(label, current[id]);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> AdjacencyList<T>[] newTable(int capacity) {
+            return (AdjacencyList<T>[]) new AdjacencyList<?>[capacity];
+        }
+    }
+
+    // One vertex's outgoing edges; writers lock the list, readers do not
+    private static final class AdjacencyList<T> {
+        final T label;
+        final int index;
+        volatile int degree;        // Edges [0, degree) are complete
+        volatile int[] targets;     // Replaced by a larger copy before degree grows;
+        volatile double[] weights;  // volatile so a reader sees the copied entries
+        NeighborIndex neighborIndex; // Used under the lock only
+
+        AdjacencyList(T label, int index) {
+            this.label = label;
+            this.index = index;
+            targets = new int[4];
+            weights = new double[4];
+        }
+
+        synchronized boolean append(int endIndex, double weight) {
+            int count = degree;
+            if (containsLocked(endIndex, count)) {
+                return false;
+            }
+            if (count == targets.length) {
+                targets = Arrays.copyOf(targets, 2 * count);
+                weights = Arrays.copyOf(weights, 2 * count);
+            }
+            targets[count] = endIndex;
+            weights[count] = weight;
+            if (neighborIndex != null) {
+                neighborIndex.add(endIndex);
+            } else if (count + 1 > Vertex.INDEX_THRESHOLD) {
+                neighborIndex = new NeighborIndex(2 * (count + 1));
+                for (int e = 0; e <= count; e++) {
+                    neighborIndex.add(targets[e]);
+                }
+            }
+            degree = count + 1; // Publishes the edge
+            return true;
+        }
+
+        synchronized boolean contains(int endIndex) {
+            return containsLocked(endIndex, degree);
+        }
+
+        private boolean containsLocked(int endIndex, int count) {
+            if (neighborIndex != null) {
+                return neighborIndex.contains(endIndex);
+            }
+            for (int e = 0; e < count; e++) {
+                if (targets[e] == endIndex) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /*
+     * The vertices that existed when a query began, as an IntAdjacency for
+     * IndexedTraversals. An edge to a vertex added after that point is
+     * reported as a loop back to its origin, which every traversal
+     * ignores because the origin is already visited.
+     */
+    private static final class View<T> implements IntAdjacency {
+        final Store<T> store;
+        final int limit;
+        final AdjacencyList<T>[] table;
+
+        View(Store<T> store) {
+            this.store = store;
+            limit = store.vertexCount; // Read before the table, so the table covers it
+            table = store.table;
+        }
+
+        int getId(T label) {
+            AdjacencyList<T> vertex = store.getVertex(label);
+            return (vertex == null || vertex.index >= limit) ? -1 : vertex.index;
+        }
+
+        QueueInterface<T> toLabelQueue(int[] ids) {
+            QueueInterface<T> result = new ArrayQueue<>(ids.length);
+            for (int id : ids) {
+                result.enqueue(table[id].label);
+            }
+            return result;
+        }
+
+        @Override
+        public int getVertexCount() {
+            return limit;
+        }
+
+        @Override
+        public int getOutDegree(int vertex) {
+            return table[vertex].degree;
+        }
+
+        @Override
+        public int getNeighbor(int vertex, int edge) {
+            int target = table[vertex].targets[edge];
+            return (target < limit) ? target : vertex;
+        }
+
+        @Override
+        public double getWeight(int vertex, int edge) {
+            return table[vertex].weights[edge];
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package GraphPackage;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue
+
+/**
+ * A partition of a graph's vertices into components, such as its weakly
+ * or strongly connected components. Every vertex belongs to exactly one
+ * component, and the components are numbered 0 to getComponentCount() - 1.
+ *
+ * <p>The result is a copy, so later changes to the graph do not affect
+ * it. It is immutable and may be shared between threads; looking up a
+ * label for the first time builds an index of the labels, in time
+ * proportional to the number of vertices.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+public class ConnectedComponents<T> {
+
+    private final Object[] labels;   // labels[vertex], vertices in graph order
+    private final int[] componentOf; // componentOf[vertex]
+    private final int[] firstMember; // Position in members of each component's first vertex; length k + 1
+    private final int[] members;     // Vertices grouped by component, in graph order within each
+    private volatile LabelIndex<T> index; // Built on first lookup
+
+    /**
+     * Collects the result of a component search.
+     *
+     * @param labelById     the label of each vertex id, or null for ids that
+     *                      belong to no vertex
+     * @param componentById the component of each vertex id, numbered from
+     *                      0 without gaps, or -1 for ids that belong to no
+     *                      vertex
+     */
+    ConnectedComponents(Object[] labelById, int[] componentById) {
+        int vertexCount = 0;
+        int componentCount = 0;
+        for (int c : componentById) {
+            if (c >= 0) {
+                vertexCount++;
+                componentCount = Math.max(componentCount, c + 1);
+            }
+        }
+
+        labels = new Object[vertexCount];
+        componentOf = new int[vertexCount];
+        firstMember = new int[componentCount + 1];
+        int vertex = 0;
+        for (int id = 0; id < componentById.length; id++) {
+            if (componentById[id] >= 0) {
+                labels[vertex] = labelById[id];
+                componentOf[vertex++] = componentById[id];
+                firstMember[componentById[id] + 1]++;
+            }
+        }
+
+        // Counting sort of the vertices by component
+        for (int c = 0; c < componentCount; c++) {
+            firstMember[c + 1] += firstMember[c];
+        }
+        members = new int[vertexCount];
+        int[] next = firstMember.clone();
+        for (vertex = 0; vertex < vertexCount; vertex++) {
+            members[next[componentOf[vertex]]++] = vertex;
+        }
+    }
+
+    /**
+     * Gets the number of components.
+     *
+     * @return the number of components, which is 0 only for an empty graph
+     */
+    public int getComponentCount() {
+        return firstMember.length - 1;
+    }
+
+    /**
+     * Gets the component a vertex belongs to.
+     *
+     * @param label a vertex label
+     * @return the number of its component, or -1 if the vertex was not in
+     *         the graph
+     */
+    public int getComponent(T label) {
+        LabelIndex<T> labelIndex = index;
+        if (labelIndex == null) {
+            labelIndex = new LabelIndex<>(labels);
+            index = labelIndex; // A racing thread may build an identical index
+        }
+        int vertex = labelIndex.getId(label);
+        return (vertex < 0) ? -1 : componentOf[vertex];
+    }
+
+    /**
+     * Sees whether two vertices belong to the same component.
+     *
+     * @param first  a vertex label
+     * @param second another vertex label
+     * @return true if both vertices were in the graph and share a component
+     */
+    public boolean isSameComponent(T first, T second) {
+        int component = getComponent(first);
+        return component >= 0 && component == getComponent(second);
+    }
+
+    /**
+     * Gets the number of vertices in a component.
+     *
+     * @param component a component number
+     * @return the number of its vertices, at least 1
+     * @throws IllegalArgumentException if there is no such component
+     */
+    public int getSize(int component) {
+        checkComponent(component);
+        return firstMember[component + 1] - firstMember[component];
+    }
+
+    /**
+     * Gets the vertices of a component.
+     *
+     * @param component a component number
+     * @return a queue of the component's labels, in the order the vertices
+     *         were added to the graph
+     * @throws IllegalArgumentException if there is no such component
+     */
+    @SuppressWarnings("unchecked")
+    public QueueInterface<T> getMembers(int component) {
+        checkComponent(component);
+        QueueInterface<T> result = new ArrayQueue<>(getSize(component));
+        for (int m = firstMember[component]; m < firstMember[component + 1]; m++) {
+            result.enqueue((T) labels[members[m]]);
+        }
+        return result;
+    }
+
+    private void checkComponent(int component) {
+        if (component < 0 || component >= getComponentCount()) {
+            throw new IllegalArgumentException("No such component: " + component);
+        }
+    }
+}
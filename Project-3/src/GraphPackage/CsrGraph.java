@@ -0,0 +1,187 @@
+package GraphPackage;
+
+import java.util.concurrent.ForkJoinPool;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue
+
+/**
+ * An immutable directed graph in compressed sparse row (CSR) form.
+ *
+ * <p>Vertices are numbered 0 to V - 1. The edges leaving vertex v occupy
+ * positions offsets[v] to offsets[v + 1] - 1 of the parallel targets and
+ * weights arrays, in the same order as the adjacency list they were copied
+ * from. A graph with V vertices and E edges therefore needs only
+ * (V + 1) + E ints and E doubles for its structure, plus the label table.</p>
+ *
+ * <p>Instances are created by DirectedGraph.freeze(). Because nothing is
+ * mutated after construction, a CsrGraph can be shared freely between
+ * threads. The sequential algorithms come from AbstractIndexedGraph; the
+ * parallel ones below run over the in-memory arrays.</p>
+ */
+public final class CsrGraph<T> extends AbstractIndexedGraph<T> {
+
+    private final LabelIndex<T> labels;
+    private final int[] offsets;    // Length V + 1
+    private final int[] targets;    // Length E
+    private final double[] weights; // Length E
+    private volatile CsrGraph<T> reverse; // Built on first use
+
+    CsrGraph(LabelIndex<T> labels, int[] offsets, int[] targets, double[] weights) {
+        this.labels = labels;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /* ===================== Structure ===================== */
+
+    @Override
+    public int getNumberOfEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public int getVertexId(T label) {
+        return labels.getId(label);
+    }
+
+    @Override
+    public T getLabel(int vertexId) {
+        return labels.getLabel(vertexId);
+    }
+
+    /* ===================== IntAdjacency ===================== */
+
+    @Override
+    public int getVertexCount() {
+        return labels.size();
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int edge) {
+        return targets[offsets[vertex] + edge];
+    }
+
+    @Override
+    public double getWeight(int vertex, int edge) {
+        return weights[offsets[vertex] + edge];
+    }
+
+    /* ===================== Parallel algorithms ===================== */
+
+    /**
+     * Splits this acyclic graph into topological layers, computed in
+     * parallel. Every edge goes from an earlier layer to a later one, so
+     * the vertices of one layer are independent and can be processed
+     * concurrently once the earlier layers are done.
+     *
+     * @param pool the pool that processes each layer
+     * @return a queue of layers, the first holding the vertices with no
+     *         in-edges; each layer is a queue of labels in id order
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public QueueInterface<QueueInterface<T>> getTopologicalLayers(ForkJoinPool pool) {
+        int[][] layers = TopologicalLayers.layers(this, pool);
+        if (layers == null) {
+            int[] order = IndexedTraversals.topologicalOrder(this);
+            throw new IllegalStateException("Graph has a cycle: "
+                    + describeCycle(IndexedTraversals.findCycle(this, order)));
+        }
+
+        QueueInterface<QueueInterface<T>> result = new ArrayQueue<>(layers.length);
+        for (int[] layer : layers) {
+            result.enqueue(toLabelQueue(layer));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the same levels as getBreadthFirstLevels, expanding each
+     * frontier in parallel.
+     *
+     * @param origin the label of the origin vertex
+     * @param pool   the pool that runs the frontier expansions
+     * @return the level of each vertex indexed by id, or -1 if unreachable
+     */
+    public int[] getParallelBreadthFirstLevels(T origin, ForkJoinPool pool) {
+        int originId = labels.getId(origin);
+        if (originId < 0) {
+            return unreachedLevels();
+        }
+        return ParallelBreadthFirstSearch.levels(this, originId, pool);
+    }
+
+    /**
+     * Computes the same levels as getBreadthFirstLevels in parallel,
+     * switching to bottom-up steps while the frontier covers a large part
+     * of the graph. The first call builds the reversed graph, which is
+     * then kept for later calls.
+     *
+     * @param origin the label of the origin vertex
+     * @param pool   the pool that runs the frontier expansions
+     * @return the level of each vertex indexed by id, or -1 if unreachable
+     */
+    public int[] getDirectionOptimizingBreadthFirstLevels(T origin, ForkJoinPool pool) {
+        int originId = labels.getId(origin);
+        if (originId < 0) {
+            return unreachedLevels();
+        }
+        return ParallelBreadthFirstSearch.directionOptimizingLevels(this, reverse(), originId, pool);
+    }
+
+    /**
+     * Finds the same strongly connected components as
+     * getStronglyConnectedComponents with the parallel forward-backward
+     * method, numbered in order of each component's lowest vertex id
+     * instead of topologically. The first call builds the reversed graph,
+     * which is then kept for later calls.
+     *
+     * @param pool the pool that runs the search
+     * @return the components of this graph
+     */
+    public StronglyConnectedComponents<T> getParallelStronglyConnectedComponents(ForkJoinPool pool) {
+        return new StronglyConnectedComponents<>(labelsById(),
+                ParallelStrongComponents.components(this, reverse(), pool));
+    }
+
+    /**
+     * Finds the same weakly connected components as
+     * getWeaklyConnectedComponents, merging the edges of different vertex
+     * ranges in parallel into one lock-free union-find structure.
+     *
+     * @param pool the pool that merges the edges
+     * @return the components of this graph
+     */
+    public ConnectedComponents<T> getParallelWeaklyConnectedComponents(ForkJoinPool pool) {
+        return new ConnectedComponents<>(labelsById(), ParallelWeakComponents.components(this, pool));
+    }
+
+    /**
+     * Gets this graph with every edge reversed, sharing the label table.
+     * In the reversed graph a vertex's neighbors are its in-neighbors here,
+     * in ascending id order.
+     *
+     * @return the transposed graph
+     */
+    CsrGraph<T> reverse() {
+        CsrGraph<T> result = reverse;
+        if (result == null) {
+            result = transpose();
+            reverse = result;
+        }
+        return result;
+    }
+
+    private CsrGraph<T> transpose() {
+        TransposedAdjacency edges = new TransposedAdjacency(this);
+        CsrGraph<T> transposed = new CsrGraph<>(labels, edges.getOffsets(), edges.getSources(), edges.getWeights());
+        transposed.reverse = this;
+        return transposed;
+    }
+
+}
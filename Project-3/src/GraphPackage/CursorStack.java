@@ -0,0 +1,68 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+/**
+ * The explicit call stack of an iterative depth-first search. Each frame
+ * holds a vertex and a cursor naming the next of its edges to try, which
+ * is exactly the state a recursive search keeps in its stack frames. The
+ * stack therefore grows only with the depth of the current path, never
+ * with the number of edges seen, and frames are plain ints, so pushing
+ * and popping allocate nothing once the arrays have grown.
+ */
+final class CursorStack {
+
+    private int[] vertices = new int[16];
+    private int[] cursors = new int[16];
+    private int size = 0;
+
+    /**
+     * Pushes a frame for a newly discovered vertex, starting at its first edge.
+     *
+     * @param vertex a vertex id
+     */
+    void push(int vertex) {
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, 2 * size);
+            cursors = Arrays.copyOf(cursors, 2 * size);
+        }
+        vertices[size] = vertex;
+        cursors[size] = 0;
+        size++;
+    }
+
+    /**
+     * Gets the vertex of the top frame.
+     *
+     * @return the vertex on top of the stack
+     */
+    int peek() {
+        return vertices[size - 1];
+    }
+
+    /**
+     * Gets the top frame's cursor and advances it to the following edge.
+     *
+     * @return the position of the next edge of the top vertex to try
+     */
+    int nextEdge() {
+        return cursors[size - 1]++;
+    }
+
+    /** Removes the top frame, as when a recursive call returns. */
+    void pop() {
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -1,8 +1,16 @@
 package GraphPackage;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-import ADTPackage.*; // DictionaryInterface, SortedLinkedDictionary, QueueInterface, LinkedQueue, StackInterface, LinkedStack
+import ADTPackage.*; // DictionaryInterface, SortedLinkedDictionary, HashedDictionary, QueueInterface, ArrayQueue, IntArrayQueue, StackInterface, ArrayStack, IntArrayStack
 
 /**
  * A class that implements the ADT directed graph.
@@ -11,36 +19,110 @@ import ADTPackage.*; // DictionaryInterface, SortedLinkedDictionary, QueueInterf
 public class DirectedGraph<T extends Comparable<? super T>>
         implements GraphInterface<T> {
 
+    private final Supplier<? extends DictionaryInterface<T, VertexInterface<T>>> vertexStoreFactory;
     private DictionaryInterface<T, VertexInterface<T>> vertices;
+    private Vertex<T>[] vertexTable; // vertexTable[i] has index i
+    private int slotCount;           // Entries of vertexTable in use, removed vertices included
+    private int removedCount;        // Removed vertices still in vertexTable
     private int edgeCount;
+    private long modificationCount;  // Bumped by every structural change; also the graph version
+    private final TraversalContextPool contextPool;
+    private final AtomicInteger openSnapshots;     // Snapshots not yet closed
+    private final IntArrayStack versionedVertices; // Indices of vertices whose edges carry versions
+    private volatile boolean reverseIndexed;       // True while vertices list their incoming edges
+    private volatile TraversalListener<T> traversalListener; // null unless queries are measured
 
     public DirectedGraph() {
         // Use the textbook's dictionary implementation
-        vertices = new SortedLinkedDictionary<>();
+        this(SortedLinkedDictionary::new);
+    }
+
+    /**
+     * Creates an empty graph whose vertices are kept in dictionaries made by
+     * the given factory. Graphs derived from this one, such as search trees,
+     * use the same factory.
+     *
+     * @param vertexStoreFactory Supplies an empty dictionary mapping labels to vertices
+     * @throws IllegalArgumentException if the factory is null or supplies a
+     *         null or non-empty dictionary
+     */
+    public DirectedGraph(Supplier<? extends DictionaryInterface<T, VertexInterface<T>>> vertexStoreFactory) {
+        if (vertexStoreFactory == null) {
+            throw new IllegalArgumentException("Vertex store factory cannot be null.");
+        }
+        DictionaryInterface<T, VertexInterface<T>> store = vertexStoreFactory.get();
+        if (store == null || !store.isEmpty()) {
+            throw new IllegalArgumentException("Vertex store factory must supply an empty dictionary.");
+        }
+        this.vertexStoreFactory = vertexStoreFactory;
+        vertices = store;
+        vertexTable = newVertexTable(16);
         edgeCount = 0;
+        contextPool = new TraversalContextPool();
+        openSnapshots = new AtomicInteger();
+        versionedVertices = new IntArrayStack();
+        reverseIndexed = false;
+    }
+
+    /**
+     * Creates an empty graph backed by a hash dictionary, giving expected
+     * constant-time vertex lookups. Vertex labels are iterated in hash order.
+     *
+     * @param <T> The type of the vertex labels
+     * @return A new empty graph
+     */
+    public static <T extends Comparable<? super T>> DirectedGraph<T> withHashedVertices() {
+        return new DirectedGraph<>(HashedDictionary::new);
+    }
+
+    /**
+     * Creates an empty graph backed by a hash dictionary presized for the
+     * given number of vertices.
+     *
+     * @param <T> The type of the vertex labels
+     * @param expectedVertices The number of vertices the graph should hold
+     *                         without rehashing
+     * @return A new empty graph
+     */
+    public static <T extends Comparable<? super T>> DirectedGraph<T> withHashedVertices(int expectedVertices) {
+        return new DirectedGraph<T>(() -> new HashedDictionary<T, VertexInterface<T>>(expectedVertices));
     }
 
     /*BasicGraphInterface<T>*/
 
     @Override
     public boolean addVertex(T vertexLabel) {
-        // returns previous value if key existed, null otherwise
-        VertexInterface<T> addOutcome =
-                vertices.add(vertexLabel, new Vertex<>(vertexLabel));
-        return addOutcome == null; // true if new vertex added
+        // Keep an existing vertex (and its edges and index) untouched
+        if (vertices.contains(vertexLabel)) {
+            return false;
+        }
+
+        int index = slotCount;
+        if (index == vertexTable.length) {
+            vertexTable = Arrays.copyOf(vertexTable, 2 * index);
+        }
+        Vertex<T> newVertex = new Vertex<>(vertexLabel, index);
+        vertices.add(vertexLabel, newVertex);
+        vertexTable[index] = newVertex;
+        slotCount++;
+        modificationCount++;
+        return true;
     }
 
     @Override
     public boolean addEdge(T begin, T end, double edgeWeight) {
         boolean result = false;
-        VertexInterface<T> beginVertex = vertices.getValue(begin);
-        VertexInterface<T> endVertex   = vertices.getValue(end);
+        Vertex<T> beginVertex = getVertex(begin);
+        Vertex<T> endVertex   = getVertex(end);
 
-        if ((beginVertex != null) && (endVertex != null)) {
-            result = beginVertex.connect(endVertex, edgeWeight);
+        if ((beginVertex != null) && (endVertex != null)
+                && (beginVertex != endVertex) && !beginVertex.hasEdgeTo(endVertex)) {
+            appendEdge(beginVertex, endVertex, edgeWeight, nextEdgeVersion());
+            result = true;
         }
         if (result) {
             edgeCount++;
+            modificationCount++;
         }
         return result;
     }
@@ -52,21 +134,11 @@ public class DirectedGraph<T extends Comparable<? super T>>
 
     @Override
     public boolean hasEdge(T begin, T end) {
-        boolean found = false;
-        VertexInterface<T> beginVertex = vertices.getValue(begin);
-        VertexInterface<T> endVertex   = vertices.getValue(end);
-
-        if ((beginVertex != null) && (endVertex != null)) {
-            Iterator<VertexInterface<T>> neighbors =
-                    beginVertex.getNeighborIterator();
-            while (!found && neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (endVertex.equals(nextNeighbor)) {
-                    found = true;
-                }
-            }
-        }
-        return found;
+        Vertex<T> beginVertex = getVertex(begin);
+        Vertex<T> endVertex   = getVertex(end);
+
+        return (beginVertex != null) && (endVertex != null)
+                && beginVertex.hasEdgeTo(endVertex);
     }
 
     @Override
@@ -76,8 +148,15 @@ public class DirectedGraph<T extends Comparable<? super T>>
 
     @Override
     public void clear() {
+        // Open snapshots keep the old vertices and table, which are not touched again
         vertices.clear();
+        vertexTable = newVertexTable(16);
+        slotCount = 0;
+        removedCount = 0;
         edgeCount = 0;
+        modificationCount++;
+        versionedVertices.clear();
+        contextPool.clear();
     }
 
     @Override
@@ -90,104 +169,882 @@ public class DirectedGraph<T extends Comparable<? super T>>
         return edgeCount;
     }
 
-    /* ===================== Utility: reset vertices ===================== */
+    /**
+     * Produces an immutable compressed sparse row copy of this graph.
+     * Vertex ids follow the order in which vertices were added, and each
+     * vertex keeps its neighbors in adjacency order, so traversals of the
+     * copy visit vertices in the same order as traversals of this graph.
+     * Removed vertices take no ids, so the ids are always 0 to
+     * getNumberOfVertices() - 1. Later changes to this graph do not affect
+     * the copy.
+     *
+     * @return a read-only snapshot of this graph's vertices and edges
+     */
+    public CsrGraph<T> freeze() {
+        int vertexCount = vertices.getSize();
+        Object[] labels = new Object[vertexCount];
+        Vertex<T>[] byId = newVertexTable(vertexCount);
+        int[] idOf = (removedCount > 0) ? new int[slotCount] : null;
+        int id = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!vertexTable[slot].isRemoved()) {
+                if (idOf != null) {
+                    idOf[slot] = id;
+                }
+                byId[id] = vertexTable[slot];
+                labels[id++] = vertexTable[slot].getLabel();
+            }
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int edge = 0;
+
+        for (id = 0; id < vertexCount; id++) {
+            offsets[id] = edge;
+            Iterator<VertexInterface<T>> neighbors = byId[id].getNeighborIterator();
+            Iterator<Double> edgeWeights = byId[id].getWeightIterator();
+            while (neighbors.hasNext()) {
+                int slot = indexOf(neighbors.next());
+                targets[edge] = (idOf == null) ? slot : idOf[slot];
+                weights[edge] = edgeWeights.next();
+                edge++;
+            }
+        }
+        offsets[vertexCount] = edge;
+
+        return new CsrGraph<>(new LabelIndex<>(labels), offsets, targets, weights);
+    }
+
+    /* ===================== Incoming edges ===================== */
+
+    /*
+     * Vertices list only their outgoing edges until something asks about
+     * incoming ones. The first such query builds the reverse index in
+     * O(V + E) time, and from then on addEdge keeps it current, at the
+     * cost of one more reference per edge. dropReverseIndex gives the
+     * memory back; the index is rebuilt on the next query that needs it.
+     */
+
+    /**
+     * Sees whether this graph currently keeps its reverse index.
+     *
+     * @return true if incoming edges are indexed
+     */
+    public boolean hasReverseIndex() {
+        return reverseIndexed;
+    }
+
+    /**
+     * Frees the reverse index. Like the methods that modify this graph,
+     * this must not run at the same time as other calls.
+     */
+    public void dropReverseIndex() {
+        if (reverseIndexed) {
+            reverseIndexed = false;
+            for (int v = 0; v < slotCount; v++) {
+                vertexTable[v].clearInNeighbors();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of edges that end at a given vertex.
+     *
+     * @param vertexLabel a vertex label
+     * @return the in-degree, or -1 if the vertex is not in this graph
+     */
+    public int getInDegree(T vertexLabel) {
+        Vertex<T> vertex = getVertex(vertexLabel);
+        if (vertex == null) {
+            return -1;
+        }
+        buildReverseIndex();
+        return vertex.getInDegree();
+    }
+
+    /**
+     * Creates an iterator over the labels of the vertices that have an
+     * edge to the given vertex. Vertices whose edges existed when the
+     * reverse index was built come first, in the order they were added to
+     * the graph, followed by the origins of later edges in the order those
+     * edges were added. The graph must not be changed while the iterator
+     * is in use.
+     *
+     * @param vertexLabel a vertex label
+     * @return an iterator over in-neighbor labels, empty if the vertex is
+     *         not in this graph
+     */
+    public Iterator<T> getInNeighborIterator(T vertexLabel) {
+        Vertex<T> vertex = getVertex(vertexLabel);
+        if (vertex == null) {
+            return Collections.emptyIterator();
+        }
+        buildReverseIndex();
+        Iterator<VertexInterface<T>> inNeighbors = vertex.getInNeighborIterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return inNeighbors.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return inNeighbors.next().getLabel();
+            }
+        };
+    }
+
+    /**
+     * Performs a breadth-first traversal against the direction of the
+     * edges, finding every vertex that can reach origin, nearest first.
+     *
+     * @param origin the label of the vertex to search back from
+     * @return a queue of labels in visiting order, starting with origin,
+     *         or an empty queue if origin is not in this graph
+     */
+    public QueueInterface<T> getReverseBreadthFirstTraversal(T origin) {
+        Vertex<T> originVertex = getVertex(origin);
+        if (originVertex == null) {
+            return new ArrayQueue<>();
+        }
+        buildReverseIndex();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            return toLabelQueue(IndexedTraversals.breadthFirstOrder(new ReverseAdjacency(), originVertex.getIndex(),
+                    context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Performs a depth-first traversal against the direction of the
+     * edges, finding every vertex that can reach origin.
+     *
+     * @param origin the label of the vertex to search back from
+     * @return a queue of labels in visiting order, starting with origin,
+     *         or an empty queue if origin is not in this graph
+     */
+    public QueueInterface<T> getReverseDepthFirstTraversal(T origin) {
+        Vertex<T> originVertex = getVertex(origin);
+        if (originVertex == null) {
+            return new ArrayQueue<>();
+        }
+        buildReverseIndex();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            return toLabelQueue(IndexedTraversals.depthFirstOrder(new ReverseAdjacency(), originVertex.getIndex(),
+                    context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Builds the reverse index now if this graph does not keep it yet.
+     * Besides the queries on incoming edges, removeVertex uses the index
+     * to find the edges into a vertex without scanning the whole graph,
+     * so a graph that removes vertices often should build it up front.
+     */
+    public void buildReverseIndex() {
+        // Queries that need the index may run in several threads at once,
+        // so the first one builds it under a lock and the volatile flag
+        // publishes the finished lists to the rest
+        if (!reverseIndexed) {
+            synchronized (this) {
+                if (!reverseIndexed) {
+                    indexIncomingEdges();
+                    reverseIndexed = true;
+                }
+            }
+        }
+    }
+
+    private void indexIncomingEdges() {
+        int vertexCount = slotCount;
+        int[] inDegree = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            Vertex<T> vertex = vertexTable[v];
+            for (int e = vertex.getOutDegree() - 1; e >= 0; e--) {
+                inDegree[vertex.getNeighborAt(e).getIndex()]++;
+            }
+        }
+
+        // Exact capacities, then each vertex's in-neighbors in index order
+        for (int v = 0; v < vertexCount; v++) {
+            if (inDegree[v] > 0) {
+                vertexTable[v].ensureInCapacity(inDegree[v]);
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            Vertex<T> vertex = vertexTable[v];
+            int degree = vertex.getOutDegree();
+            for (int e = 0; e < degree; e++) {
+                vertex.getNeighborAt(e).addInNeighbor(vertex);
+            }
+        }
+    }
+
+    // The graph with every edge reversed; weights are not needed by traversals
+    private final class ReverseAdjacency implements IntAdjacency {
+        @Override
+        public int getVertexCount() {
+            return slotCount;
+        }
+
+        @Override
+        public int getOutDegree(int vertex) {
+            return vertexTable[vertex].getInDegree();
+        }
+
+        @Override
+        public int getNeighbor(int vertex, int edge) {
+            return vertexTable[vertex].getInNeighborAt(edge).getIndex();
+        }
+
+        @Override
+        public double getWeight(int vertex, int edge) {
+            throw new UnsupportedOperationException("Reverse edges carry no weights.");
+        }
+    }
+
+    private QueueInterface<T> toLabelQueue(int[] indices) {
+        QueueInterface<T> result = new ArrayQueue<>(indices.length);
+        for (int index : indices) {
+            result.enqueue(vertexTable[index].getLabel());
+        }
+        return result;
+    }
+
+    /* ===================== Removal ===================== */
+
+    /*
+     * A removed vertex leaves the dictionary at once but keeps its place
+     * in vertexTable, marked as removed, so no other vertex changes index
+     * and removal costs time proportional to the edges it touches.
+     * Traversals pass over such places for free, since no edge leads
+     * there. Once removed vertices hold more than half of the table it is
+     * compacted, which renumbers the remaining vertices in the same order.
+     */
+
+    /**
+     * Removes the edge between two given vertices.
+     *
+     * @param begin the label of the origin vertex of the edge
+     * @param end   the label of the end vertex of the edge
+     * @return true if the edge existed and has been removed
+     */
+    public boolean removeEdge(T begin, T end) {
+        Vertex<T> beginVertex = getVertex(begin);
+        Vertex<T> endVertex   = getVertex(end);
+        if (beginVertex == null || endVertex == null || !beginVertex.hasEdgeTo(endVertex)) {
+            return false;
+        }
+
+        detachEdge(beginVertex, endVertex, nextEdgeVersion());
+        edgeCount--;
+        modificationCount++;
+        return true;
+    }
+
+    /**
+     * Removes a vertex together with every edge that begins or ends at
+     * it. The edges leaving the vertex are found in its own list; the
+     * edges into it come from the reverse index if this graph keeps one,
+     * so that only the vertex's neighbors are visited, and otherwise from
+     * a scan of every vertex. Call buildReverseIndex first to avoid the
+     * scan. The other vertices keep their edges in the same order.
+     *
+     * @param vertexLabel the label of the vertex to remove
+     * @return true if the vertex was in this graph and has been removed
+     */
+    public boolean removeVertex(T vertexLabel) {
+        Vertex<T> vertex = getVertex(vertexLabel);
+        if (vertex == null) {
+            return false;
+        }
+
+        long version = nextEdgeVersion();
+        int removedEdges = vertex.getOutDegree();
+        if (reverseIndexed) {
+            for (int i = vertex.getInDegree() - 1; i >= 0; i--) {
+                Vertex<T> origin = vertex.getInNeighborAt(i);
+                trackVersioned(origin, version);
+                origin.removeEdgeTo(vertex, version);
+                removedEdges++;
+            }
+            vertex.clearInNeighbors();
+            for (int e = vertex.getOutDegree() - 1; e >= 0; e--) {
+                vertex.getNeighborAt(e).removeInNeighbor(vertex);
+            }
+        } else {
+            for (int v = 0; v < slotCount; v++) {
+                Vertex<T> origin = vertexTable[v];
+                if (origin.getOutDegree() > 0 && origin.hasEdgeTo(vertex)) {
+                    trackVersioned(origin, version);
+                    origin.removeEdgeTo(vertex, version);
+                    removedEdges++;
+                }
+            }
+        }
+        trackVersioned(vertex, version);
+        vertex.removeAllEdges(version);
+
+        vertices.remove(vertexLabel);
+        vertex.markRemoved(modificationCount + 1);
+        edgeCount -= removedEdges;
+        removedCount++;
+        modificationCount++;
+
+        if (2 * removedCount > slotCount) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Renumbers the vertices so that removed ones no longer take places
+     * in the vertex table, keeping the order of the others. This takes
+     * time proportional to the number of places, plus the edges of
+     * vertices with large out-degrees, whose neighbor index is rebuilt.
+     * removeVertex compacts on its own once removed vertices hold half
+     * the table, so calling this is only needed to free the space sooner.
+     *
+     * @return true if the table is compact, or false if it could not be
+     *         compacted because a snapshot is open
+     */
+    public boolean compact() {
+        if (openSnapshots.get() > 0) {
+            return false;
+        }
+        nextEdgeVersion(); // Frees the data of closed snapshots while indices are valid
+        if (removedCount == 0) {
+            return true;
+        }
+
+        int live = slotCount - removedCount;
+        Vertex<T>[] table = newVertexTable(Math.max(16, 2 * live));
+        int index = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Vertex<T> vertex = vertexTable[slot];
+            if (!vertex.isRemoved()) {
+                vertex.setIndex(index);
+                table[index++] = vertex;
+            }
+        }
+        for (int v = 0; v < live; v++) {
+            table[v].reindexNeighbors();
+        }
+
+        vertexTable = table;
+        slotCount = live;
+        removedCount = 0;
+        modificationCount++;
+        return true;
+    }
+
+    // Removes an existing edge; version comes from nextEdgeVersion
+    private void detachEdge(Vertex<T> beginVertex, Vertex<T> endVertex, long version) {
+        trackVersioned(beginVertex, version);
+        beginVertex.removeEdgeTo(endVertex, version);
+        if (reverseIndexed) {
+            endVertex.removeInNeighbor(beginVertex);
+        }
+    }
+
+    /* ===================== Many origins ===================== */
+
+    /**
+     * Computes the closeness of each origin: the number of other vertices
+     * it reaches divided by the sum of their distances, so 1 for a vertex
+     * with an edge to everything it reaches. The breadth-first searches
+     * run 256 at a time over the vertex indices, with one bit per origin,
+     * so a step shared by several searches is taken once for all of them.
+     *
+     * @param origins the labels of the vertices to score
+     * @return the closeness of each origin, in the same order; 0 for a
+     *         label not in this graph or a vertex that reaches no other
+     */
+    public double[] getClosenessCentrality(Iterable<? extends T> origins) {
+        int[] originIds = FrontierBuffer.idsOf(origins, origin -> {
+            Vertex<T> originVertex = getVertex(origin);
+            return (originVertex == null) ? -1 : originVertex.getIndex();
+        });
+        return BatchedBreadthFirstSearch.closeness(new LiveAdjacency(), originIds);
+    }
+
+    /* ===================== Connected components ===================== */
+
+    /**
+     * Finds the weakly connected components, the sets of vertices joined
+     * by edges when their directions are ignored. The ends of every edge
+     * are merged in a union-find structure over the vertex indices, which
+     * takes nearly O(V + E) time in all, instead of one traversal per
+     * component. Components are numbered in the order their first vertex
+     * was added.
+     *
+     * @return the components of this graph as it is now
+     */
+    public ConnectedComponents<T> getWeaklyConnectedComponents() {
+        return new ConnectedComponents<>(slotLabels(), IndexedTraversals.weakComponents(new LiveAdjacency()));
+    }
+
+    /**
+     * Finds the strongly connected components with an iterative version of
+     * Tarjan's algorithm, in O(V + E) time. The search keeps its path in
+     * arrays instead of recursing, so long paths cannot overflow the stack.
+     * Components are numbered in topological order of the condensation:
+     * every edge between two components goes from the lower number to the
+     * higher one.
+     *
+     * @return the components of this graph as it is now
+     */
+    public StronglyConnectedComponents<T> getStronglyConnectedComponents() {
+        return new StronglyConnectedComponents<>(slotLabels(),
+                IndexedTraversals.strongComponents(new LiveAdjacency()));
+    }
+
+    /**
+     * Builds the condensation of this graph: the acyclic graph with one
+     * vertex per strongly connected component and an edge from one
+     * component to another wherever some edge of this graph joins them.
+     * Vertex c is component c of getStronglyConnectedComponents() on this
+     * graph as it is now, so the labels 0, 1, 2, ... are also a topological
+     * order of the condensation. Its edges have weight 0, and several
+     * edges between the same two components become one.
+     *
+     * @return a new graph with Integer labels 0 to k - 1
+     */
+    public DirectedGraph<Integer> getCondensation() {
+        int[] component = IndexedTraversals.strongComponents(new LiveAdjacency());
+        int componentCount = 0;
+        for (int c : component) {
+            componentCount = Math.max(componentCount, c + 1);
+        }
+
+        DirectedGraph<Integer> condensation = withHashedVertices(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            condensation.addVertex(c);
+        }
+        BulkEdgeLoader<Integer> loader = condensation.newBulkEdgeLoader();
+        for (int v = 0; v < slotCount; v++) {
+            Iterator<VertexInterface<T>> neighbors = vertexTable[v].getNeighborIterator();
+            while (neighbors.hasNext()) {
+                int neighborComponent = component[indexOf(neighbors.next())];
+                if (neighborComponent != component[v]) {
+                    loader.add(component[v], neighborComponent);
+                }
+            }
+        }
+        loader.load();
+        return condensation;
+    }
+
+    // The label in each vertexTable entry in use, null for removed vertices
+    private Object[] slotLabels() {
+        Object[] labels = new Object[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!vertexTable[slot].isRemoved()) {
+                labels[slot] = vertexTable[slot].getLabel();
+            }
+        }
+        return labels;
+    }
+
+    /* ===================== Snapshots ===================== */
+
+    /**
+     * Takes a read-only view of this graph as it is now, in constant time.
+     * The snapshot keeps showing the same vertices and edges while this
+     * graph changes: edges added while any snapshot is open are stamped
+     * with the graph version, and a snapshot ignores those newer than its
+     * own; a vertex that loses an edge keeps its old edge arrays for the
+     * snapshots, and removed vertices are not compacted away. Queries on
+     * the snapshot take no locks and may run in any number of threads
+     * alongside the thread that modifies this graph, which they never
+     * block.
+     *
+     * <p>Like the methods that modify this graph, snapshot() itself must
+     * not run at the same time as them. Close each snapshot when done
+     * with it: while any is open, a vertex that gains edges keeps a
+     * version for each of its edges (8 bytes apiece), and those versions
+     * and kept arrays are reclaimed by the first change to edges after the
+     * last one closes.</p>
+     *
+     * @return an open snapshot at the current version
+     */
+    public GraphSnapshot<T> snapshot() {
+        openSnapshots.incrementAndGet();
+        return new GraphSnapshot<>(this, vertexTable, slotCount, vertices.getSize(), edgeCount,
+                modificationCount);
+    }
+
+    /**
+     * Gets the version of this graph, which increases with every change.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return modificationCount;
+    }
+
+    // Called once by each snapshot when it is closed, from any thread
+    void releaseSnapshot() {
+        openSnapshots.decrementAndGet();
+    }
+
+    /* ===================== Bulk loading ===================== */
+
+    /**
+     * Creates a loader that buffers edges and adds them to this graph in
+     * one pass. Loading the buffered edges has the same effect as calling
+     * addEdge for each of them in order, but duplicates are found by
+     * sorting once instead of being checked edge by edge.
+     *
+     * @return a new, empty loader for this graph
+     */
+    public BulkEdgeLoader<T> newBulkEdgeLoader() {
+        return new BulkEdgeLoader<>(this);
+    }
+
+    Vertex<T> getVertexAt(int index) {
+        return vertexTable[index];
+    }
+
+    // The number of vertexTable entries in use, for BulkEdgeLoader
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Gets the version to stamp edges with that are about to be added or
+     * removed, and reclaims the edge versions and kept edge arrays of
+     * closed snapshots if none is open.
+     *
+     * @return the version the next change will create, or 0 if no open
+     *         snapshot needs to see edges as they were
+     */
+    long nextEdgeVersion() {
+        if (openSnapshots.get() > 0) {
+            return modificationCount + 1;
+        }
+        while (!versionedVertices.isEmpty()) {
+            vertexTable[versionedVertices.pop()].dropSnapshotData();
+        }
+        return 0;
+    }
+
+    // Records a vertex whose edges are about to change while snapshots are open
+    private void trackVersioned(Vertex<T> vertex, long version) {
+        if (version > 0 && !vertex.hasSnapshotData()) {
+            versionedVertices.push(vertex.getIndex());
+        }
+    }
 
-    // Reset visit flags, costs, and predecessors
-    protected void resetVertices() {
-        Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
-        while (vertexIterator.hasNext()) {
-            VertexInterface<T> nextVertex = vertexIterator.next();
-            nextVertex.unvisit();
-            nextVertex.setCost(0);
-            nextVertex.setPredecessor(null);
+    // Appends an edge that is known to be new; version comes from nextEdgeVersion
+    void appendEdge(Vertex<T> beginVertex, Vertex<T> endVertex, double edgeWeight, long version) {
+        trackVersioned(beginVertex, version);
+        beginVertex.append(endVertex, edgeWeight, version);
+        if (reverseIndexed) {
+            endVertex.addInNeighbor(beginVertex);
         }
     }
 
+    // Called by BulkEdgeLoader after appending edges directly to vertices
+    void addToEdgeCount(int addedEdges) {
+        edgeCount += addedEdges;
+        modificationCount++;
+    }
+
+    /* ===================== Utility: derived graphs ===================== */
+
+    // Creates an empty graph that uses the same kind of vertex store as this one
+    DirectedGraph<T> newEmptyGraph() {
+        return new DirectedGraph<>(vertexStoreFactory);
+    }
+
+    /* ===================== Utility: vertex indices ===================== */
+
+    @SuppressWarnings("unchecked")
+    private static <T> Vertex<T>[] newVertexTable(int capacity) {
+        return (Vertex<T>[]) new Vertex<?>[capacity];
+    }
+
+    // Every vertex in this graph is a Vertex created by addVertex
+    @SuppressWarnings("unchecked")
+    Vertex<T> getVertex(T label) {
+        return (Vertex<T>) vertices.getValue(label);
+    }
+
+    private static <T> int indexOf(VertexInterface<T> vertex) {
+        return ((Vertex<T>) vertex).getIndex();
+    }
+
+    /* ===================== Metrics ===================== */
+
+    /**
+     * Sets the listener that receives the metrics of every traversal and
+     * path search this graph runs: the breadth- and depth-first
+     * traversals and trees, and the shortest and cheapest path searches.
+     * A query whose origin or end vertex is missing is not reported, and
+     * neither are the streaming traversals. Without a listener the
+     * searches only keep a few counters in local variables.
+     *
+     * @param listener the listener, such as a TraversalStatistics, or
+     *                 null to stop measuring
+     */
+    public void setTraversalListener(TraversalListener<T> listener) {
+        traversalListener = listener;
+    }
+
+    /**
+     * Gets the listener that receives traversal metrics.
+     *
+     * @return the listener, or null if traversals are not measured
+     */
+    public TraversalListener<T> getTraversalListener() {
+        return traversalListener;
+    }
+
+    // Sends a finished query's metrics to the listener read when it began
+    private static <T> void report(TraversalListener<T> observer, TraversalMetrics.Query query, T origin,
+                                   int visited, long edgesScanned, int maxFrontier,
+                                   long startNanos, long startBytes) {
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = (startBytes < 0) ? -1 : TraversalMetrics.threadAllocatedBytes() - startBytes;
+        observer.traversalFinished(new TraversalMetrics<>(query, origin, visited, edgesScanned, maxFrontier,
+                nanos, bytes));
+    }
+
     /* ===================== GraphAlgorithmsInterface<T> ===================== */
 
+    /*
+     * Visit marks, costs and predecessors live in a TraversalContext
+     * borrowed for the duration of each call rather than in the vertices,
+     * so queries never reset the whole graph and any number of them may
+     * run at once as long as no thread modifies the graph meanwhile.
+     * Queries that must run while the graph changes go to a snapshot().
+     */
+
     /**
      * Iterative breadth-first traversal using the ADT queues.
      * Returns a queue of labels in BFS order, starting at origin.
      */
     @Override
     public QueueInterface<T> getBreadthFirstTraversal(T origin) {
-        resetVertices();
-        QueueInterface<T> traversalOrder = new LinkedQueue<>();
-        QueueInterface<VertexInterface<T>> vertexQueue = new LinkedQueue<>();
-
-        VertexInterface<T> originVertex = vertices.getValue(origin);
+        QueueInterface<T> traversalOrder = new ArrayQueue<>();
+        Vertex<T> originVertex = getVertex(origin);
         if (originVertex == null) {
             return traversalOrder;
         }
 
-        originVertex.visit();
-        traversalOrder.enqueue(origin);     // enqueue label
-        vertexQueue.enqueue(originVertex);  // enqueue vertex
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        int visited = 1;
+        long edgesScanned = 0;
+        int maxFrontier = 1;
 
-        while (!vertexQueue.isEmpty()) {
-            VertexInterface<T> frontVertex = vertexQueue.dequeue();
-            Iterator<VertexInterface<T>> neighbors =
-                    frontVertex.getNeighborIterator();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            IntArrayQueue vertexQueue = context.getQueue();
+            context.visit(originVertex.getIndex());
+            traversalOrder.enqueue(origin);                  // enqueue label
+            vertexQueue.enqueue(originVertex.getIndex());    // enqueue vertex index
 
-            while (neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (!nextNeighbor.isVisited()) {
-                    nextNeighbor.visit();
-                    traversalOrder.enqueue(nextNeighbor.getLabel());
-                    vertexQueue.enqueue(nextNeighbor);
+            while (!vertexQueue.isEmpty()) {
+                Vertex<T> frontVertex = vertexTable[vertexQueue.dequeue()];
+                int degree = frontVertex.getOutDegree();
+                edgesScanned += degree;
+
+                for (int e = 0; e < degree; e++) {
+                    Vertex<T> nextNeighbor = frontVertex.getNeighborAt(e);
+                    int neighborIndex = nextNeighbor.getIndex();
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        traversalOrder.enqueue(nextNeighbor.getLabel());
+                        vertexQueue.enqueue(neighborIndex);
+                        visited++;
+                    }
                 }
+                maxFrontier = Math.max(maxFrontier, vertexQueue.getSize());
             }
+        } finally {
+            contextPool.release(context);
         }
 
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.BREADTH_FIRST, origin, visited, edgesScanned, maxFrontier,
+                    startNanos, startBytes);
+        }
         return traversalOrder;
     }
 
     /**
-     * Iterative depth-first traversal using the ADT stack.
+     * Iterative depth-first traversal. The explicit stack holds each vertex
+     * on the current path together with the next of its edges to try, just
+     * as a recursive search would, so it never holds more than one frame
+     * per vertex on the path and the traversal itself allocates nothing
+     * but the result queue.
      */
     @Override
-public QueueInterface<T> getDepthFirstTraversal(T origin) {
-    resetVertices();
-    QueueInterface<T> traversalOrder = new LinkedQueue<>();
-    StackInterface<VertexInterface<T>> vertexStack = new LinkedStack<>();
+    public QueueInterface<T> getDepthFirstTraversal(T origin) {
+        QueueInterface<T> traversalOrder = new ArrayQueue<>();
+        Vertex<T> originVertex = getVertex(origin);
+        if (originVertex == null) {
+            return traversalOrder;
+        }
+
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        int visited = 1;
+        long edgesScanned = 0;
+        int maxFrontier = 1;
+
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            CursorStack path = context.getCursorStack();
+            context.visit(originVertex.getIndex());
+            traversalOrder.enqueue(origin);
+            path.push(originVertex.getIndex());
 
-    VertexInterface<T> originVertex = vertices.getValue(origin);
-    if (originVertex == null) {
+            while (!path.isEmpty()) {
+                Vertex<T> topVertex = vertexTable[path.peek()];
+                int edge = path.nextEdge();
+
+                if (edge < topVertex.getOutDegree()) {
+                    // Descend into the next unvisited neighbor
+                    Vertex<T> nextNeighbor = topVertex.getNeighborAt(edge);
+                    int neighborIndex = nextNeighbor.getIndex();
+                    edgesScanned++;
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        traversalOrder.enqueue(nextNeighbor.getLabel());
+                        path.push(neighborIndex);
+                        visited++;
+                        maxFrontier = Math.max(maxFrontier, path.getSize());
+                    }
+                } else {
+                    // All edges tried: back up to the previous vertex
+                    path.pop();
+                }
+            }
+        } finally {
+            contextPool.release(context);
+        }
+
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.DEPTH_FIRST, origin, visited, edgesScanned, maxFrontier,
+                    startNanos, startBytes);
+        }
         return traversalOrder;
     }
 
-    // Start by pushing origin (not visited yet)
-    vertexStack.push(originVertex);
+    /* ===================== Streaming traversals ===================== */
 
-    while (!vertexStack.isEmpty()) {
-        VertexInterface<T> topVertex = vertexStack.pop();
+    /**
+     * Creates an iterator that visits the vertices reachable from origin in
+     * the same order as getBreadthFirstTraversal, finding each vertex only
+     * when it is asked for. Stopping early skips the rest of the search,
+     * and the iterator holds only the current frontier rather than every
+     * label visited.
+     *
+     * <p>The graph must not be changed while the iterator is in use; if it
+     * is, the iterator throws ConcurrentModificationException.</p>
+     *
+     * @param origin the label of the origin vertex
+     * @return an iterator over labels in breadth-first order, empty if
+     *         origin is not in the graph
+     */
+    public Iterator<T> getBreadthFirstIterator(T origin) {
+        return newTraversal(origin, false);
+    }
 
-        if (!topVertex.isVisited()) {
-            // "Visit" when we pop
-            topVertex.visit();
-            traversalOrder.enqueue(topVertex.getLabel());
+    /**
+     * Creates an iterator that visits the vertices reachable from origin in
+     * the same order as getDepthFirstTraversal, finding each vertex only
+     * when it is asked for. The iterator holds only the current path from
+     * the origin rather than every label visited.
+     *
+     * <p>The graph must not be changed while the iterator is in use; if it
+     * is, the iterator throws ConcurrentModificationException.</p>
+     *
+     * @param origin the label of the origin vertex
+     * @return an iterator over labels in depth-first order, empty if
+     *         origin is not in the graph
+     */
+    public Iterator<T> getDepthFirstIterator(T origin) {
+        return newTraversal(origin, true);
+    }
 
-            // Push neighbors in REVERSE order so that the first neighbor
-            // in the adjacency list is processed first (like recursion).
-            StackInterface<VertexInterface<T>> temp = new LinkedStack<>();
-            Iterator<VertexInterface<T>> neighbors =
-                    topVertex.getNeighborIterator();
-            while (neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (!nextNeighbor.isVisited()) {
-                    temp.push(nextNeighbor);
-                }
-            }
-            while (!temp.isEmpty()) {
-                vertexStack.push(temp.pop());
+    /**
+     * Streams the vertices reachable from origin in breadth-first order.
+     * The search advances only as the stream pulls labels, so short-circuit
+     * operations such as limit, findFirst and anyMatch stop it early.
+     * Closing the stream releases the traversal's working storage.
+     *
+     * @param origin the label of the origin vertex
+     * @return a sequential stream of labels in breadth-first order
+     */
+    public Stream<T> breadthFirstStream(T origin) {
+        return TraversalIterator.stream(newTraversal(origin, false));
+    }
+
+    /**
+     * Streams the vertices reachable from origin in depth-first order.
+     * The search advances only as the stream pulls labels.
+     *
+     * @param origin the label of the origin vertex
+     * @return a sequential stream of labels in depth-first order
+     */
+    public Stream<T> depthFirstStream(T origin) {
+        return TraversalIterator.stream(newTraversal(origin, true));
+    }
+
+    private TraversalIterator<T> newTraversal(T origin, boolean depthFirst) {
+        Vertex<T> originVertex = getVertex(origin);
+        int originIndex = (originVertex == null) ? -1 : originVertex.getIndex();
+        return new TraversalIterator<>(new LiveAdjacency(), index -> vertexTable[index].getLabel(),
+                originIndex, depthFirst, contextPool, vertexTable.length);
+    }
+
+    // An int view of the vertices that fails fast once the graph changes
+    private class LiveAdjacency implements IntAdjacency {
+        private final long expectedModificationCount = modificationCount;
+
+        @Override
+        public int getVertexCount() {
+            return slotCount;
+        }
+
+        @Override
+        public boolean hasVertex(int vertex) {
+            return !vertexTable[vertex].isRemoved();
+        }
+
+        @Override
+        public int getOutDegree(int vertex) {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
             }
+            return vertexTable[vertex].getOutDegree();
         }
-    }
 
-    return traversalOrder;
-}
+        @Override
+        public int getNeighbor(int vertex, int edge) {
+            return vertexTable[vertex].getNeighborAt(edge).getIndex();
+        }
+
+        @Override
+        public double getWeight(int vertex, int edge) {
+            return vertexTable[vertex].getWeightAt(edge);
+        }
+    }
 
-     /**
+    /**
      * Build the breadth-first search tree starting at the given origin.
      * The tree is represented as a new DirectedGraph that contains all
      * the same vertices as this graph, but only the tree edges discovered
@@ -195,8 +1052,7 @@ public QueueInterface<T> getDepthFirstTraversal(T origin) {
      * as getBreadthFirstTraversal on the original graph.
      */
     public DirectedGraph<T> getBreadthFirstTree(T origin) {
-        resetVertices();
-        DirectedGraph<T> tree = new DirectedGraph<>();
+        DirectedGraph<T> tree = newEmptyGraph();
 
         // Copy all vertex labels into the tree
         Iterator<T> keyIterator = vertices.getKeyIterator();
@@ -204,31 +1060,50 @@ public QueueInterface<T> getDepthFirstTraversal(T origin) {
             tree.addVertex(keyIterator.next());
         }
 
-        QueueInterface<VertexInterface<T>> vertexQueue = new LinkedQueue<>();
         VertexInterface<T> originVertex = vertices.getValue(origin);
         if (originVertex == null) {
             return tree;
         }
 
-        originVertex.visit();
-        vertexQueue.enqueue(originVertex);
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        int visited = 1;
+        long edgesScanned = 0;
+        int maxFrontier = 1;
 
-        while (!vertexQueue.isEmpty()) {
-            VertexInterface<T> frontVertex = vertexQueue.dequeue();
-            Iterator<VertexInterface<T>> neighbors =
-                    frontVertex.getNeighborIterator();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            IntArrayQueue vertexQueue = context.getQueue();
+            context.visit(indexOf(originVertex));
+            vertexQueue.enqueue(indexOf(originVertex));
 
-            while (neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (!nextNeighbor.isVisited()) {
-                    nextNeighbor.visit();
-                    // Tree edge: parent -> child
-                    tree.addEdge(frontVertex.getLabel(), nextNeighbor.getLabel());
-                    vertexQueue.enqueue(nextNeighbor);
+            while (!vertexQueue.isEmpty()) {
+                Vertex<T> frontVertex = vertexTable[vertexQueue.dequeue()];
+                int degree = frontVertex.getOutDegree();
+                edgesScanned += degree;
+
+                for (int e = 0; e < degree; e++) {
+                    Vertex<T> nextNeighbor = frontVertex.getNeighborAt(e);
+                    int neighborIndex = nextNeighbor.getIndex();
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        // Tree edge: parent -> child
+                        tree.addEdge(frontVertex.getLabel(), nextNeighbor.getLabel());
+                        vertexQueue.enqueue(neighborIndex);
+                        visited++;
+                    }
                 }
+                maxFrontier = Math.max(maxFrontier, vertexQueue.getSize());
             }
+        } finally {
+            contextPool.release(context);
         }
 
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.BREADTH_FIRST_TREE, origin, visited, edgesScanned,
+                    maxFrontier, startNanos, startBytes);
+        }
         return tree;
     }
 
@@ -236,73 +1111,126 @@ public QueueInterface<T> getDepthFirstTraversal(T origin) {
      * Build the depth-first search tree starting at the given origin.
      * The tree is represented as a new DirectedGraph that contains all
      * the same vertices as this graph, but only the tree edges discovered
-     * during DFS. Traversing the tree in DFS order yields the same order
+     * during DFS: each vertex hangs from the vertex whose edge first
+     * reached it. Traversing the tree in DFS order yields the same order
      * as getDepthFirstTraversal on the original graph.
      */
     public DirectedGraph<T> getDepthFirstTree(T origin) {
-    resetVertices();
-    DirectedGraph<T> tree = new DirectedGraph<>();
+        DirectedGraph<T> tree = newEmptyGraph();
 
-    // Copy all vertex labels into the tree
-    Iterator<T> keyIterator = vertices.getKeyIterator();
-    while (keyIterator.hasNext()) {
-        tree.addVertex(keyIterator.next());
-    }
+        // Copy all vertex labels into the tree
+        Iterator<T> keyIterator = vertices.getKeyIterator();
+        while (keyIterator.hasNext()) {
+            tree.addVertex(keyIterator.next());
+        }
 
-    StackInterface<VertexInterface<T>> vertexStack = new LinkedStack<>();
-    VertexInterface<T> originVertex = vertices.getValue(origin);
-    if (originVertex == null) {
-        return tree;
-    }
+        Vertex<T> originVertex = getVertex(origin);
+        if (originVertex == null) {
+            return tree;
+        }
 
-    // Start with origin; no predecessor yet
-    originVertex.setPredecessor(null);
-    vertexStack.push(originVertex);
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        int visited = 1;
+        long edgesScanned = 0;
+        int maxFrontier = 1;
 
-    while (!vertexStack.isEmpty()) {
-        VertexInterface<T> topVertex = vertexStack.pop();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            // As in DFS above, the stack holds the current path
+            CursorStack path = context.getCursorStack();
+            context.visit(originVertex.getIndex());
+            path.push(originVertex.getIndex());
 
-        if (!topVertex.isVisited()) {
-            topVertex.visit();
+            while (!path.isEmpty()) {
+                Vertex<T> topVertex = vertexTable[path.peek()];
+                int edge = path.nextEdge();
 
-            // If this vertex has a predecessor, that's the tree edge
-            if (topVertex.hasPredecessor()) {
-                VertexInterface<T> parent = topVertex.getPredecessor();
-                tree.addEdge(parent.getLabel(), topVertex.getLabel());
+                if (edge < topVertex.getOutDegree()) {
+                    Vertex<T> nextNeighbor = topVertex.getNeighborAt(edge);
+                    int neighborIndex = nextNeighbor.getIndex();
+                    edgesScanned++;
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        // Tree edge: parent -> child
+                        tree.addEdge(topVertex.getLabel(), nextNeighbor.getLabel());
+                        path.push(neighborIndex);
+                        visited++;
+                        maxFrontier = Math.max(maxFrontier, path.getSize());
+                    }
+                } else {
+                    path.pop();
+                }
             }
+        } finally {
+            contextPool.release(context);
+        }
 
-            // As in DFS above: push neighbors in reverse order,
-            // recording their predecessor (first time only).
-            StackInterface<VertexInterface<T>> temp = new LinkedStack<>();
-            Iterator<VertexInterface<T>> neighbors =
-                    topVertex.getNeighborIterator();
-            while (neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (!nextNeighbor.isVisited()) {
-                    if (!nextNeighbor.hasPredecessor()) {
-                        nextNeighbor.setPredecessor(topVertex);
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.DEPTH_FIRST_TREE, origin, visited, edgesScanned,
+                    maxFrontier, startNanos, startBytes);
+        }
+        return tree;
+    }
+
+    /**
+     * Runs a full breadth-first search and records its tree compactly,
+     * for CachingGraphAlgorithms. Vertices are numbered by their position
+     * in visiting order, which is also the order they leave the queue, so
+     * each vertex's parent is the position being expanded when it was
+     * found. Parents are the same predecessors getShortestPath records.
+     *
+     * @param origin the label of the origin vertex
+     * @param order  receives the labels in visiting order; must hold
+     *               getNumberOfVertices() labels
+     * @param parent receives the position of each vertex's parent, or -1
+     *               for the origin; as long as order
+     * @return the number of vertices reached, or 0 if origin is missing
+     */
+    int breadthFirstTree(T origin, Object[] order, int[] parent) {
+        Vertex<T> originVertex = getVertex(origin);
+        if (originVertex == null) {
+            return 0;
+        }
+
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            IntArrayQueue vertexQueue = context.getQueue();
+            context.visit(originVertex.getIndex());
+            vertexQueue.enqueue(originVertex.getIndex());
+            order[0] = origin;
+            parent[0] = -1;
+            int found = 1;
+
+            for (int position = 0; !vertexQueue.isEmpty(); position++) {
+                Vertex<T> frontVertex = vertexTable[vertexQueue.dequeue()];
+                int degree = frontVertex.getOutDegree();
+                for (int e = 0; e < degree; e++) {
+                    Vertex<T> nextNeighbor = frontVertex.getNeighborAt(e);
+                    int neighborIndex = nextNeighbor.getIndex();
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        order[found] = nextNeighbor.getLabel();
+                        parent[found] = position;
+                        found++;
+                        vertexQueue.enqueue(neighborIndex);
                     }
-                    temp.push(nextNeighbor);
                 }
             }
-            while (!temp.isEmpty()) {
-                vertexStack.push(temp.pop());
-            }
+            return found;
+        } finally {
+            contextPool.release(context);
         }
     }
 
-    return tree;
-}
-
     /**
      * Unweighted shortest path (by number of edges) using BFS.
-     * (Not strictly needed for Task 1, but required by the interface.)
+     * Returns -1, leaving path unchanged, if either vertex is missing or
+     * end cannot be reached from begin.
      */
     @Override
     public int getShortestPath(T begin, T end, StackInterface<T> path) {
-        resetVertices();
-        boolean done = false;
-        QueueInterface<VertexInterface<T>> vertexQueue = new LinkedQueue<>();
         VertexInterface<T> originVertex = vertices.getValue(begin);
         VertexInterface<T> endVertex    = vertices.getValue(end);
 
@@ -310,61 +1238,419 @@ public QueueInterface<T> getDepthFirstTraversal(T origin) {
             return -1;
         }
 
-        originVertex.visit();
-        vertexQueue.enqueue(originVertex);
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        int visited = 1;
+        long edgesScanned = 0;
+        int maxFrontier = 1;
+        int result;
 
-        while (!done && !vertexQueue.isEmpty()) {
-            VertexInterface<T> frontVertex = vertexQueue.dequeue();
-            Iterator<VertexInterface<T>> neighbors =
-                    frontVertex.getNeighborIterator();
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            int endIndex = indexOf(endVertex);
+            IntArrayQueue vertexQueue = context.getQueue();
+            context.visit(indexOf(originVertex));
+            vertexQueue.enqueue(indexOf(originVertex));
 
-            while (!done && neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (!nextNeighbor.isVisited()) {
-                    nextNeighbor.visit();
-                    nextNeighbor.setCost(1 + frontVertex.getCost());
-                    nextNeighbor.setPredecessor(frontVertex);
-                    vertexQueue.enqueue(nextNeighbor);
-                }
-                if (nextNeighbor.equals(endVertex)) {
-                    done = true;
+            while (!context.isVisited(endIndex) && !vertexQueue.isEmpty()) {
+                int frontIndex = vertexQueue.dequeue();
+                Vertex<T> frontVertex = vertexTable[frontIndex];
+                int degree = frontVertex.getOutDegree();
+
+                for (int e = 0; !context.isVisited(endIndex) && e < degree; e++) {
+                    int neighborIndex = frontVertex.getNeighborAt(e).getIndex();
+                    edgesScanned++;
+                    if (!context.isVisited(neighborIndex)) {
+                        context.visit(neighborIndex);
+                        context.setCost(neighborIndex, 1 + context.getCost(frontIndex));
+                        context.setPredecessor(neighborIndex, frontIndex);
+                        vertexQueue.enqueue(neighborIndex);
+                        visited++;
+                    }
                 }
+                maxFrontier = Math.max(maxFrontier, vertexQueue.getSize());
             }
+
+            if (context.isVisited(endIndex)) {
+                pushPath(context, endIndex, path);
+                result = (int) context.getCost(endIndex);
+            } else {
+                result = -1;
+            }
+        } finally {
+            contextPool.release(context);
+        }
+
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.SHORTEST_PATH, begin, visited, edgesScanned, maxFrontier,
+                    startNanos, startBytes);
         }
+        return result;
+    }
 
-        int pathLength = (int) endVertex.getCost();
-        path.push(endVertex.getLabel());
+    /**
+     * Unweighted shortest path found by searching from both ends at once:
+     * forward along edges from begin and backward along incoming edges
+     * from end, each step expanding one whole level of whichever frontier
+     * is smaller. On graphs with a small diameter and high-degree vertices
+     * the two searches meet after visiting a tiny fraction of the vertices
+     * a one-sided search would.
+     *
+     * <p>The backward search uses the reverse index, which is built first
+     * if the graph does not keep it yet. The result has the same length as
+     * getShortestPath's, but when several shortest paths exist the two
+     * methods may return different ones.</p>
+     *
+     * @param begin the label of the path's origin vertex
+     * @param end   the label of the path's destination vertex
+     * @param path  receives the labels along the path, with begin on top
+     * @return the number of edges on the path, or -1 if either vertex is
+     *         missing or end cannot be reached from begin (path is then
+     *         left unchanged)
+     */
+    public int getBidirectionalShortestPath(T begin, T end, StackInterface<T> path) {
+        Vertex<T> beginVertex = getVertex(begin);
+        Vertex<T> endVertex   = getVertex(end);
 
-        VertexInterface<T> vertexOnPath = endVertex;
-        while (vertexOnPath.hasPredecessor()) {
-            vertexOnPath = vertexOnPath.getPredecessor();
-            path.push(vertexOnPath.getLabel());
+        if (beginVertex == null || endVertex == null) {
+            return -1;
         }
+        buildReverseIndex();
 
-        return pathLength;
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        long[] tally = {2, 0}; // Vertices visited and edges scanned by both searches
+        int maxFrontier = 2;
+        int result;
+
+        // Costs hold distances: from begin in forward, to end in backward
+        TraversalContext forward = contextPool.acquire(vertexTable.length);
+        TraversalContext backward = contextPool.acquire(vertexTable.length);
+        try {
+            IntArrayQueue forwardQueue = forward.getQueue();
+            IntArrayQueue backwardQueue = backward.getQueue();
+            forward.visit(beginVertex.getIndex());
+            forwardQueue.enqueue(beginVertex.getIndex());
+            backward.visit(endVertex.getIndex());
+            backwardQueue.enqueue(endVertex.getIndex());
+
+            int meeting = beginVertex == endVertex ? beginVertex.getIndex() : -1;
+            while (meeting < 0 && !forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+                if (forwardQueue.getSize() <= backwardQueue.getSize()) {
+                    meeting = expandLevel(forward, backward, true, tally);
+                } else {
+                    meeting = expandLevel(backward, forward, false, tally);
+                }
+                maxFrontier = Math.max(maxFrontier, forwardQueue.getSize() + backwardQueue.getSize());
+            }
+
+            if (meeting >= 0) {
+                // Push end .. meeting from the backward search, then the rest back to begin
+                IntArrayStack toEnd = backward.getStack();
+                for (int onPath = meeting; onPath >= 0; onPath = backward.getPredecessor(onPath)) {
+                    toEnd.push(onPath);
+                }
+                while (!toEnd.isEmpty()) {
+                    path.push(vertexTable[toEnd.pop()].getLabel());
+                }
+                for (int onPath = forward.getPredecessor(meeting); onPath >= 0;
+                        onPath = forward.getPredecessor(onPath)) {
+                    path.push(vertexTable[onPath].getLabel());
+                }
+                result = (int) (forward.getCost(meeting) + backward.getCost(meeting));
+            } else {
+                result = -1;
+            }
+        } finally {
+            contextPool.release(backward);
+            contextPool.release(forward);
+        }
+
+        if (observer != null) {
+            report(observer, TraversalMetrics.Query.BIDIRECTIONAL_SHORTEST_PATH, begin, (int) tally[0], tally[1],
+                    maxFrontier, startNanos, startBytes);
+        }
+        return result;
     }
 
     /**
-     * Attempts to compute a topological ordering of the graph's vertices.
-     * <p>This implementation is not included as needed for the assignment,
-     * so it signals this by throwing UnsupportedOperationException.</p>
+     * Expands the vertices of one search's current level until it reaches
+     * a vertex the other search has visited. Both searches have expanded
+     * only whole levels, so their visited sets were disjoint before this
+     * level, and any vertex joining them lies on a shortest path.
      *
-     * @throws UnsupportedOperationException always (not implemented)
+     * @param search     the search to advance; its queue holds one level
+     * @param other      the search from the opposite end
+     * @param alongEdges true to follow outgoing edges, false incoming ones
+     * @param tally      the vertices visited and edges scanned so far,
+     *                   updated for this level
+     * @return the index of the vertex joining the two searches, or -1 if
+     *         the whole level was expanded without meeting the other search
+     */
+    private int expandLevel(TraversalContext search, TraversalContext other, boolean alongEdges, long[] tally) {
+        IntArrayQueue queue = search.getQueue();
+        for (int remaining = queue.getSize(); remaining > 0; remaining--) {
+            int frontIndex = queue.dequeue();
+            Vertex<T> frontVertex = vertexTable[frontIndex];
+            int degree = alongEdges ? frontVertex.getOutDegree() : frontVertex.getInDegree();
+            double nextCost = 1 + search.getCost(frontIndex);
+
+            for (int e = 0; e < degree; e++) {
+                Vertex<T> neighbor = alongEdges ? frontVertex.getNeighborAt(e) : frontVertex.getInNeighborAt(e);
+                int neighborIndex = neighbor.getIndex();
+                tally[1]++;
+                if (!search.isVisited(neighborIndex)) {
+                    search.visit(neighborIndex);
+                    search.setCost(neighborIndex, nextCost);
+                    search.setPredecessor(neighborIndex, frontIndex);
+                    tally[0]++;
+                    if (other.isVisited(neighborIndex)) {
+                        return neighborIndex;
+                    }
+                    queue.enqueue(neighborIndex);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Topological order using Kahn's algorithm over the vertex indices:
+     * in-degrees are counted into an int array, and vertices are emitted
+     * as their count drops to zero, in O(V + E) time.
+     *
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle (see getCycle)
      */
     @Override
     public StackInterface<T> getTopologicalOrder() {
-        throw new UnsupportedOperationException("Topological order not implemented for this project.");
+        IntAdjacency adjacency = new LiveAdjacency();
+        int[] order = IndexedTraversals.topologicalOrder(adjacency);
+        if (order.length < vertices.getSize()) {
+            throw new IllegalStateException("Graph has a cycle: "
+                    + describeCycle(IndexedTraversals.findCycle(adjacency, order)));
+        }
+
+        StackInterface<T> result = new ArrayStack<>(order.length);
+        for (int i = order.length - 1; i >= 0; i--) {
+            result.push(vertexTable[order[i]].getLabel());
+        }
+        return result;
     }
 
     /**
-     * Finds the least-cost path between two vertices.
-     * <p>Not implemented for this project: this method always throws
-     * UnsupportedOperationException.</p>
+     * Finds a directed cycle, in O(V + E) time. Vertices that Kahn's
+     * algorithm cannot order each have an in-edge from another such vertex;
+     * following those in-edges backwards must close a cycle.
      *
-     * @throws UnsupportedOperationException always (not implemented)
+     * @return a queue of the labels around one cycle in edge order, without
+     *         repeating the first label, or an empty queue if the graph is
+     *         acyclic
+     */
+    public QueueInterface<T> getCycle() {
+        IntAdjacency adjacency = new LiveAdjacency();
+        int[] order = IndexedTraversals.topologicalOrder(adjacency);
+        if (order.length < vertices.getSize()) {
+            return toLabelQueue(IndexedTraversals.findCycle(adjacency, order));
+        }
+        return new ArrayQueue<>();
+    }
+
+    /**
+     * Splits this acyclic graph into topological layers, computed in
+     * parallel over the vertex indices. Every edge goes from an earlier
+     * layer to a later one, so the vertices of one layer are independent
+     * and can be processed concurrently once the earlier layers are done.
+     * The graph must not change while the layers are computed.
+     *
+     * @param pool the pool that processes each layer
+     * @return a queue of layers, the first holding the vertices with no
+     *         in-edges; each layer is a queue of labels in the order the
+     *         vertices were added
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle (see getCycle)
+     */
+    public QueueInterface<QueueInterface<T>> getTopologicalLayers(ForkJoinPool pool) {
+        IntAdjacency adjacency = new LiveAdjacency();
+        int[][] layers = TopologicalLayers.layers(adjacency, pool);
+        if (layers == null) {
+            int[] order = IndexedTraversals.topologicalOrder(adjacency);
+            throw new IllegalStateException("Graph has a cycle: "
+                    + describeCycle(IndexedTraversals.findCycle(adjacency, order)));
+        }
+
+        QueueInterface<QueueInterface<T>> result = new ArrayQueue<>(layers.length);
+        for (int[] layer : layers) {
+            result.enqueue(toLabelQueue(layer));
+        }
+        return result;
+    }
+
+    // The labels around a cycle, joined by arrows and ending where they began
+    private String describeCycle(int[] cycle) {
+        StringBuilder description = new StringBuilder();
+        for (int index : cycle) {
+            description.append(vertexTable[index].getLabel()).append(" -> ");
+        }
+        return description.append(vertexTable[cycle[0]].getLabel()).toString();
+    }
+
+    /**
+     * Least-cost path using Dijkstra's algorithm. Vertices wait in an
+     * indexed binary heap keyed by their tentative cost, and the search
+     * stops as soon as end is settled. The search runs over the vertex
+     * indices, reading edge weights straight from the vertices, and the
+     * heap belongs to the borrowed traversal context, so repeated calls
+     * reuse its arrays.
+     * Returns -1, leaving path unchanged, if either vertex is missing or
+     * end cannot be reached from begin.
+     *
+     * @throws IllegalStateException if the search meets a negative edge weight
      */
     @Override
     public double getCheapestPath(T begin, T end, StackInterface<T> path) {
-        throw new UnsupportedOperationException("Cheapest path not implemented for this project.");
+        Vertex<T> originVertex = getVertex(begin);
+        Vertex<T> endVertex    = getVertex(end);
+
+        if (originVertex == null || endVertex == null) {
+            return -1;
+        }
+        return searchCheapestPath(begin, originVertex.getIndex(), endVertex.getIndex(), null, path);
+    }
+
+    // Runs IndexedTraversals.cheapestPath, as A* if remaining is not null, and pushes the path it finds
+    private double searchCheapestPath(T begin, int beginIndex, int endIndex, IntToDoubleFunction remaining,
+                                      StackInterface<T> path) {
+        TraversalListener<T> observer = traversalListener;
+        long startNanos = (observer == null) ? 0 : System.nanoTime();
+        long startBytes = (observer == null) ? 0 : TraversalMetrics.threadAllocatedBytes();
+        double result;
+
+        TraversalContext context = contextPool.acquire(vertexTable.length);
+        try {
+            MeasuredAdjacency measured = (observer == null) ? null : new MeasuredAdjacency(context.getHeap());
+            IntAdjacency adjacency = (observer == null) ? new LiveAdjacency() : measured;
+            result = (remaining == null)
+                    ? IndexedTraversals.cheapestPath(adjacency, beginIndex, endIndex, context)
+                    : IndexedTraversals.cheapestPath(adjacency, beginIndex, endIndex, context, remaining);
+            if (result >= 0) {
+                pushPath(context, endIndex, path);
+            }
+
+            if (observer != null) {
+                report(observer, TraversalMetrics.Query.CHEAPEST_PATH, begin, measured.expanded,
+                        measured.edgesScanned, measured.finishFrontier(), startNanos, startBytes);
+            }
+        } finally {
+            contextPool.release(context);
+        }
+        return result;
+    }
+
+    /*
+     * A LiveAdjacency that measures a search of the heap-driven kind in
+     * IndexedTraversals, which asks for the out-degree of each vertex once,
+     * when it takes the vertex off the heap and scans all its edges.
+     */
+    private final class MeasuredAdjacency extends LiveAdjacency {
+        private final IndexedMinHeap heap;
+        private int expanded;
+        private long edgesScanned;
+        private int maxFrontier;
+
+        MeasuredAdjacency(IndexedMinHeap heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public int getOutDegree(int vertex) {
+            int degree = super.getOutDegree(vertex);
+            expanded++;
+            edgesScanned += degree;
+            // The heap held vertex too until it was just removed
+            maxFrontier = Math.max(maxFrontier, heap.getSize() + 1);
+            return degree;
+        }
+
+        // The largest heap size, once the search is over
+        int finishFrontier() {
+            return Math.max(maxFrontier, heap.getSize());
+        }
+    }
+
+    /* ===================== Guided search ===================== */
+
+    /**
+     * Finds a least-cost path with A* search: the unsettled vertices are
+     * ordered by their cost so far plus heuristic's estimate of the cost
+     * still to come, so on a road-like graph with a good estimate the
+     * search heads for end instead of settling every vertex closer to
+     * begin than end is. A vertex the estimate calls unreachable
+     * (Double.POSITIVE_INFINITY) is never queued. A LandmarkHeuristic
+     * from getLandmarkHeuristic on this graph is read by vertex index,
+     * without looking up labels. The traversal listener, if any, is told
+     * how many vertices were settled, as for getCheapestPath.
+     *
+     * @param begin     the label of the path's origin vertex
+     * @param end       the label of the path's destination vertex
+     * @param path      receives the labels on the path, origin on top
+     * @param heuristic a consistent estimate of the cost between two
+     *                  vertices (see PathHeuristic)
+     * @return the cost of the path, or -1 if either vertex is missing or
+     *         end cannot be reached from begin (path is then left unchanged)
+     * @throws IllegalStateException if the search meets a negative edge
+     *         weight, or heuristic is a LandmarkHeuristic computed on this
+     *         graph before its last change
+     */
+    public double getCheapestPath(T begin, T end, StackInterface<T> path, PathHeuristic<? super T> heuristic) {
+        Vertex<T> originVertex = getVertex(begin);
+        Vertex<T> endVertex    = getVertex(end);
+
+        if (originVertex == null || endVertex == null) {
+            return -1;
+        }
+
+        int endIndex = endVertex.getIndex();
+        IntToDoubleFunction remaining;
+        if (heuristic instanceof LandmarkHeuristic && ((LandmarkHeuristic<?>) heuristic).isFor(this)) {
+            LandmarkHeuristic<?> landmarks = (LandmarkHeuristic<?>) heuristic;
+            if (!landmarks.isCurrentFor(this, modificationCount)) {
+                throw new IllegalStateException("The landmark distances predate the last change to this graph.");
+            }
+            remaining = index -> landmarks.estimate(index, endIndex);
+        } else {
+            remaining = index -> heuristic.estimate(vertexTable[index].getLabel(), end);
+        }
+
+        return searchCheapestPath(begin, originVertex.getIndex(), endIndex, remaining, path);
+    }
+
+    /**
+     * Picks landmarks and computes the cost of a cheapest path from each
+     * of them to every vertex and back, for guiding getCheapestPath. The
+     * work is two full runs of Dijkstra's algorithm per landmark, repaid
+     * over many path queries; a handful of landmarks, 8 to 16, usually
+     * suffices. The result holds for this graph as it is now: any later
+     * change makes getCheapestPath refuse it until it is rebuilt.
+     *
+     * @param landmarkCount the number of landmarks to pick
+     * @return an estimate for paths in this graph
+     * @throws IllegalArgumentException if landmarkCount is not positive
+     * @throws IllegalStateException if the graph has a negative edge weight
+     */
+    public LandmarkHeuristic<T> getLandmarkHeuristic(int landmarkCount) {
+        return new LandmarkHeuristic<>(new LiveAdjacency(), slotLabels(), landmarkCount, this, modificationCount);
+    }
+
+    // Pushes the labels on the recorded path ending at endIndex, origin last (on top)
+    private void pushPath(TraversalContext context, int endIndex, StackInterface<T> path) {
+        int onPath = endIndex;
+        path.push(vertexTable[onPath].getLabel());
+        while (context.hasPredecessor(onPath)) {
+            onPath = context.getPredecessor(onPath);
+            path.push(vertexTable[onPath].getLabel());
+        }
     }
 }
@@ -0,0 +1,62 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * A growable buffer of vertex ids. In the parallel searches each
+ * fork/join task collects into its own buffer, and the buffers of sibling
+ * tasks are concatenated when the tasks are joined, which yields the next
+ * frontier without any shared mutable state.
+ */
+final class FrontierBuffer {
+
+    private int[] items = new int[16];
+    private int size = 0;
+
+    void add(int vertex) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, 2 * size);
+        }
+        items[size++] = vertex;
+    }
+
+    /**
+     * Appends another buffer's contents to this one.
+     *
+     * @param other the buffer of a sibling task
+     * @return this buffer
+     */
+    FrontierBuffer append(FrontierBuffer other) {
+        if (size + other.size > items.length) {
+            items = Arrays.copyOf(items, size + other.size);
+        }
+        System.arraycopy(other.items, 0, items, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+
+    /**
+     * Looks up the id of each of a sequence of labels.
+     *
+     * @param <T>    the type of the labels
+     * @param labels the labels, in order
+     * @param idOf   gives a label's vertex id, or -1 if it has none
+     * @return the ids in the order of the labels
+     */
+    static <T> int[] idsOf(Iterable<? extends T> labels, ToIntFunction<? super T> idOf) {
+        FrontierBuffer ids = new FrontierBuffer();
+        for (T label : labels) {
+            ids.add(idOf.applyAsInt(label));
+        }
+        return ids.toArray();
+    }
+}
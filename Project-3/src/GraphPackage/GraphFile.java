@@ -0,0 +1,247 @@
+package GraphPackage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes graphs in a binary CSR file format that can be memory
+ * mapped and used in place, without parsing or copying.
+ *
+ * <p>All values are big-endian. With V vertices, E edges and L bytes of
+ * label data, a file holds, in order:</p>
+ * <pre>
+ *   header        32 bytes: int magic "CSRG", int version,
+ *                 int V, int E, long L, long reserved (0)
+ *   labelOffsets  long[V + 1]  start of each label within the label data
+ *   sortedIds     int[V]       vertex ids ordered by encoded label bytes
+ *   offsets       int[V + 1]   CSR row starts
+ *   targets       int[E]       CSR edge targets
+ *   padding       0 or 4 bytes, so that weights start on an 8-byte boundary
+ *   weights       double[E]    CSR edge weights
+ *   labelData     byte[L]      encoded labels, in id order
+ * </pre>
+ * <p>Every section position follows from V, E and L, and each value sits
+ * at a multiple of its own size.</p>
+ */
+public final class GraphFile {
+
+    static final int MAGIC = 0x43535247; // "CSRG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private GraphFile() {
+    }
+
+    /**
+     * Writes a graph to a file, replacing any existing file.
+     *
+     * @param <T>   the type of the vertex labels
+     * @param graph the graph to write
+     * @param codec converts labels to bytes
+     * @param path  the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static <T extends Comparable<? super T>> void write(DirectedGraph<T> graph, LabelCodec<T> codec,
+                                                              Path path) throws IOException {
+        write(graph.freeze(), codec, path);
+    }
+
+    /**
+     * Writes a frozen graph to a file, replacing any existing file. Vertex
+     * ids in the file are the same as in the given graph.
+     *
+     * @param <T>   the type of the vertex labels
+     * @param graph the graph to write
+     * @param codec converts labels to bytes
+     * @param path  the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static <T> void write(CsrGraph<T> graph, LabelCodec<T> codec, Path path) throws IOException {
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getNumberOfEdges();
+
+        byte[][] encoded = new byte[vertexCount][];
+        long labelDataLength = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            encoded[id] = codec.encode(graph.getLabel(id));
+            labelDataLength += encoded[id].length;
+        }
+        int[] sortedIds = sortByBytes(encoded);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(vertexCount);
+            out.writeInt(edgeCount);
+            out.writeLong(labelDataLength);
+            out.writeLong(0);
+
+            long labelOffset = 0;
+            for (int id = 0; id < vertexCount; id++) {
+                out.writeLong(labelOffset);
+                labelOffset += encoded[id].length;
+            }
+            out.writeLong(labelOffset);
+
+            for (int id : sortedIds) {
+                out.writeInt(id);
+            }
+
+            int edge = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                out.writeInt(edge);
+                edge += graph.getOutDegree(v);
+            }
+            out.writeInt(edge);
+
+            for (int v = 0; v < vertexCount; v++) {
+                int degree = graph.getOutDegree(v);
+                for (int e = 0; e < degree; e++) {
+                    out.writeInt(graph.getNeighbor(v, e));
+                }
+            }
+            if (weightsPosition(vertexCount, edgeCount) != targetsPosition(vertexCount) + 4L * edgeCount) {
+                out.writeInt(0);
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                int degree = graph.getOutDegree(v);
+                for (int e = 0; e < degree; e++) {
+                    out.writeDouble(graph.getWeight(v, e));
+                }
+            }
+
+            for (byte[] label : encoded) {
+                out.write(label);
+            }
+        }
+    }
+
+    /**
+     * Memory-maps a graph file. Only the header and the ends of the
+     * offset tables are read now; vertices, edges and labels are read from
+     * the mapping as they are used, and the operating system pages them in
+     * on demand. So that mapping stays instant, the entries inside the
+     * tables are not checked: a file damaged there can give wrong results
+     * or an exception during a traversal.
+     *
+     * @param <T>   the type of the vertex labels
+     * @param path  the file to map
+     * @param codec converts bytes back to labels; must match the codec
+     *              the file was written with
+     * @return a read-only graph backed by the file
+     * @throws IOException if the file cannot be mapped or is not a graph file
+     */
+    public static <T> MappedGraph<T> map(Path path, LabelCodec<T> codec) throws IOException {
+        MappedRegion region;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            region = new MappedRegion(channel);
+        }
+
+        if (region.length() < HEADER_SIZE || region.getInt(0) != MAGIC) {
+            throw new IOException("Not a graph file: " + path);
+        }
+        if (region.getInt(4) != VERSION) {
+            throw new IOException("Unsupported graph file version " + region.getInt(4) + ": " + path);
+        }
+        int vertexCount = region.getInt(8);
+        int edgeCount = region.getInt(12);
+        long labelDataLength = region.getLong(16);
+        if (vertexCount < 0 || edgeCount < 0 || labelDataLength < 0
+                || labelDataPosition(vertexCount, edgeCount) + labelDataLength != region.length()) {
+            throw new IOException("Corrupt graph file: " + path);
+        }
+        // The first and last entry of each offset table must span its section
+        long offsets = offsetsPosition(vertexCount);
+        long labelOffsets = labelOffsetsPosition();
+        if (region.getInt(offsets) != 0 || region.getInt(offsets + 4L * vertexCount) != edgeCount
+                || region.getLong(labelOffsets) != 0
+                || region.getLong(labelOffsets + 8L * vertexCount) != labelDataLength) {
+            throw new IOException("Corrupt graph file: " + path);
+        }
+
+        return new MappedGraph<>(region, codec, vertexCount, edgeCount);
+    }
+
+    /* ===================== Section positions ===================== */
+
+    static long labelOffsetsPosition() {
+        return HEADER_SIZE;
+    }
+
+    static long sortedIdsPosition(int vertexCount) {
+        return labelOffsetsPosition() + 8L * (vertexCount + 1);
+    }
+
+    static long offsetsPosition(int vertexCount) {
+        return sortedIdsPosition(vertexCount) + 4L * vertexCount;
+    }
+
+    static long targetsPosition(int vertexCount) {
+        return offsetsPosition(vertexCount) + 4L * (vertexCount + 1);
+    }
+
+    static long weightsPosition(int vertexCount, int edgeCount) {
+        long end = targetsPosition(vertexCount) + 4L * edgeCount;
+        return (end + 7) & ~7L;
+    }
+
+    static long labelDataPosition(int vertexCount, int edgeCount) {
+        return weightsPosition(vertexCount, edgeCount) + 8L * edgeCount;
+    }
+
+    /* ===================== Label ordering ===================== */
+
+    /**
+     * Compares two encoded labels as unsigned byte strings.
+     *
+     * @param left  an encoded label
+     * @param right another encoded label
+     * @return a negative, zero or positive value as left sorts before,
+     *         with, or after right
+     */
+    static int compareBytes(byte[] left, byte[] right) {
+        int common = Math.min(left.length, right.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    // Ids sorted by their encoded labels (bottom-up merge sort on an int array)
+    private static int[] sortByBytes(byte[][] encoded) {
+        int count = encoded.length;
+        int[] ids = new int[count];
+        for (int id = 0; id < count; id++) {
+            ids[id] = id;
+        }
+        int[] buffer = new int[count];
+
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = middle;
+                for (int k = low; k < high; k++) {
+                    if (right >= high || (left < middle
+                            && compareBytes(encoded[ids[left]], encoded[ids[right]]) <= 0)) {
+                        buffer[k] = ids[left++];
+                    } else {
+                        buffer[k] = ids[right++];
+                    }
+                }
+                System.arraycopy(buffer, low, ids, low, high - low);
+            }
+        }
+        return ids;
+    }
+}
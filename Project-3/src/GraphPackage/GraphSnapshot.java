@@ -0,0 +1,180 @@
+package GraphPackage;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A read-only view of a DirectedGraph at one version, made by
+ * DirectedGraph.snapshot(). It shares the graph's vertices and edge
+ * arrays instead of copying them: each vertex shows only its first edges,
+ * up to the last one added at or before the snapshot's version, edges and
+ * vertices removed later are still there, and only vertices that existed
+ * then are visible. The owning graph can keep
+ * changing while queries run here, in any number of threads, without
+ * either side waiting for the other.
+ *
+ * <p>The algorithms are those of AbstractIndexedGraph, so a snapshot
+ * visits vertices in the same order as the graph did at that version.
+ * Vertex ids are the graph's table positions, so if the graph had removed
+ * vertices without compacting, some ids below getVertexCount() belong to
+ * no vertex of the snapshot.
+ * Looking up a label for the first time builds an index of the
+ * snapshot's labels, in time proportional to its number of vertices.</p>
+ *
+ * <p>Close a snapshot once it is no longer needed, so that the graph can
+ * stop stamping new edges with versions and keeping removed ones. Queries
+ * that are still running, or iterators still in use, when it is closed
+ * may see later changes, or fail if edges are removed meanwhile.</p>
+ */
+public final class GraphSnapshot<T extends Comparable<? super T>> extends AbstractIndexedGraph<T>
+        implements AutoCloseable {
+
+    private final DirectedGraph<T> graph;
+    private final Vertex<T>[] vertexTable; // The graph's table when the snapshot was taken
+    private final int slotCount;           // Table positions in use, removed vertices included
+    private final int vertexCount;
+    private final int edgeCount;
+    private final long version;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile LabelIndex<T> labels; // Built on first lookup
+    private volatile int[] slots;          // Table position of each label id; null if they are equal
+
+    GraphSnapshot(DirectedGraph<T> graph, Vertex<T>[] vertexTable, int slotCount, int vertexCount,
+                  int edgeCount, long version) {
+        this.graph = graph;
+        this.vertexTable = vertexTable;
+        this.slotCount = slotCount;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.version = version;
+    }
+
+    /**
+     * Gets the version of the graph that this snapshot shows.
+     *
+     * @return the graph's getVersion() when the snapshot was taken
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Releases this snapshot. Calling close more than once has no
+     * further effect.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            graph.releaseSnapshot();
+        }
+    }
+
+    /* ===================== Structure ===================== */
+
+    @Override
+    public int getNumberOfEdges() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getNumberOfVertices() {
+        return vertexCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if this snapshot has been closed
+     */
+    @Override
+    public int getVertexId(T label) {
+        if (closed.get()) {
+            throw new IllegalStateException("Snapshot has been closed.");
+        }
+        LabelIndex<T> index = labels;
+        if (index == null) {
+            Object[] vertexLabels = new Object[vertexCount];
+            int[] vertexSlots = (vertexCount < slotCount) ? new int[vertexCount] : null;
+            int id = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (hasVertex(slot)) {
+                    if (vertexSlots != null) {
+                        vertexSlots[id] = slot;
+                    }
+                    vertexLabels[id++] = vertexTable[slot].getLabel();
+                }
+            }
+            index = new LabelIndex<>(vertexLabels);
+            slots = vertexSlots;
+            labels = index; // A racing thread may build an identical index
+        }
+        int id = index.getId(label);
+        int[] vertexSlots = slots; // Set before labels, so never stale once an index is seen
+        return (id < 0 || vertexSlots == null) ? id : vertexSlots[id];
+    }
+
+    @Override
+    public T getLabel(int vertexId) {
+        return vertexTable[vertexId].getLabel();
+    }
+
+    /* ===================== Trees ===================== */
+
+    /**
+     * Builds the breadth-first search tree starting at the given origin,
+     * as DirectedGraph.getBreadthFirstTree does for the live graph. The
+     * tree is a new DirectedGraph with the same kind of vertex store as
+     * the graph, holding every vertex of this snapshot but only the tree
+     * edges found by the search.
+     *
+     * @param origin the label of the origin vertex
+     * @return the tree; it has no edges if origin is not in this snapshot
+     * @throws IllegalStateException if this snapshot has been closed
+     */
+    public DirectedGraph<T> getBreadthFirstTree(T origin) {
+        int originId = getVertexId(origin);
+        DirectedGraph<T> tree = graph.newEmptyGraph();
+        for (int id = 0; id < slotCount; id++) {
+            if (hasVertex(id)) {
+                tree.addVertex(getLabel(id));
+            }
+        }
+        if (originId < 0) {
+            return tree;
+        }
+
+        int[] parent = new int[slotCount];
+        int[] order = IndexedTraversals.breadthFirstOrder(this, originId, parent);
+        for (int i = 1; i < order.length; i++) {
+            // Tree edge: parent -> child, in the order the search found them
+            tree.addEdge(getLabel(parent[order[i]]), getLabel(order[i]));
+        }
+        return tree;
+    }
+
+    /* ===================== IntAdjacency ===================== */
+
+    @Override
+    public int getVertexCount() {
+        return slotCount;
+    }
+
+    @Override
+    public boolean hasVertex(int vertex) {
+        return vertexTable[vertex].isPresentAt(version);
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return vertexTable[vertex].getOutDegreeAt(version);
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int edge) {
+        return vertexTable[vertex].getNeighborAt(edge, version).getIndex();
+    }
+
+    @Override
+    public double getWeight(int vertex, int edge) {
+        return vertexTable[vertex].getWeightAt(edge, version);
+    }
+}
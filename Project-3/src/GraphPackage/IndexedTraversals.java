@@ -0,0 +1,662 @@
+package GraphPackage;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+import ADTPackage.DisjointSets;
+import ADTPackage.IndexedMinHeap;
+import ADTPackage.IntArrayQueue;
+import ADTPackage.IntArrayStack;
+
+/**
+ * Traversal algorithms over an IntAdjacency view. Vertices are plain int
+ * ids and all bookkeeping lives in primitive arrays, so no per-vertex or
+ * per-edge objects are created. Each method visits neighbors in adjacency
+ * order and produces the same orders as the corresponding DirectedGraph
+ * methods.
+ */
+final class IndexedTraversals {
+
+    private IndexedTraversals() {
+    }
+
+    /**
+     * Performs a breadth-first traversal. Visit marks live in the given
+     * context and the visiting order is gathered on its stack, so the
+     * cost of the search depends on the vertices reached rather than on
+     * the size of the graph.
+     *
+     * @param graph   the graph to traverse
+     * @param origin  the id of the origin vertex
+     * @param context a context that has just begun a query
+     * @return the ids of the reached vertices in visiting order
+     */
+    static int[] breadthFirstOrder(IntAdjacency graph, int origin, TraversalContext context) {
+        IntArrayQueue queue = context.getQueue();
+        IntArrayStack order = context.getStack();
+
+        context.visit(origin);
+        order.push(origin);
+        queue.enqueue(origin);
+
+        while (!queue.isEmpty()) {
+            int front = queue.dequeue();
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                if (!context.isVisited(neighbor)) {
+                    context.visit(neighbor);
+                    order.push(neighbor);
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
+
+        return toArray(order);
+    }
+
+    /**
+     * Performs a breadth-first traversal, recording the breadth-first
+     * tree: each reached vertex other than the origin gets as parent the
+     * vertex whose edge first reached it.
+     *
+     * @param graph  the graph to traverse
+     * @param origin the id of the origin vertex
+     * @param parent receives the parent of each reached vertex other than
+     *               origin; has length at least the number of vertices
+     * @return the ids of the reached vertices in visiting order, which is
+     *         also the order in which the tree edges were found
+     */
+    static int[] breadthFirstOrder(IntAdjacency graph, int origin, int[] parent) {
+        boolean[] visited = new boolean[graph.getVertexCount()];
+        int[] queue = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        visited[origin] = true;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int front = queue[head++];
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    parent[neighbor] = front;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Computes the breadth-first level of every vertex: its distance, in
+     * edges, from the origin.
+     *
+     * @param graph  the graph to traverse
+     * @param origin the id of the origin vertex
+     * @return the level of each vertex, or -1 if it is unreachable
+     */
+    static int[] breadthFirstLevels(IntAdjacency graph, int origin) {
+        int[] level = new int[graph.getVertexCount()];
+        Arrays.fill(level, -1);
+        int[] queue = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        level[origin] = 0;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int front = queue[head++];
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                if (level[neighbor] < 0) {
+                    level[neighbor] = level[front] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return level;
+    }
+
+    /**
+     * Computes the distance of every vertex from the nearest of several
+     * origins with one breadth-first search, whose first frontier holds
+     * all the origins.
+     *
+     * @param graph   the graph to traverse
+     * @param origins the ids of the origin vertices; repeats are ignored
+     * @return the level of each vertex, which is 0 for the origins, or -1
+     *         if no origin reaches it
+     */
+    static int[] multiSourceLevels(IntAdjacency graph, int[] origins) {
+        int[] level = new int[graph.getVertexCount()];
+        Arrays.fill(level, -1);
+        int[] queue = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        for (int origin : origins) {
+            if (level[origin] < 0) {
+                level[origin] = 0;
+                queue[tail++] = origin;
+            }
+        }
+
+        while (head < tail) {
+            int front = queue[head++];
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                if (level[neighbor] < 0) {
+                    level[neighbor] = level[front] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return level;
+    }
+
+    /**
+     * Performs a depth-first traversal with an explicit stack of
+     * (vertex, next edge) frames, visiting vertices in the same order as a
+     * recursive search and in the same order as DirectedGraph.
+     *
+     * @param graph   the graph to traverse
+     * @param origin  the id of the origin vertex
+     * @param context a context that has just begun a query
+     * @return the ids of the reached vertices in visiting order
+     */
+    static int[] depthFirstOrder(IntAdjacency graph, int origin, TraversalContext context) {
+        IntArrayStack order = context.getStack();
+        CursorStack path = context.getCursorStack();
+
+        context.visit(origin);
+        order.push(origin);
+        path.push(origin);
+
+        while (!path.isEmpty()) {
+            int vertex = path.peek();
+            int edge = path.nextEdge();
+            if (edge < graph.getOutDegree(vertex)) {
+                int neighbor = graph.getNeighbor(vertex, edge);
+                if (!context.isVisited(neighbor)) {
+                    context.visit(neighbor);
+                    order.push(neighbor);
+                    path.push(neighbor);
+                }
+            } else {
+                path.pop();
+            }
+        }
+
+        return toArray(order);
+    }
+
+    /**
+     * Finds a path with the fewest edges using breadth-first search,
+     * stopping as soon as the end vertex is reached. Visit marks and
+     * predecessors live in the given context.
+     *
+     * @param graph   the graph to search
+     * @param begin   the id of the path's origin vertex
+     * @param end     the id of the path's destination vertex
+     * @param context a context that has just begun a query
+     * @return the ids along the path from begin to end, or null if end
+     *         cannot be reached from begin
+     */
+    static int[] shortestPath(IntAdjacency graph, int begin, int end, TraversalContext context) {
+        IntArrayQueue queue = context.getQueue();
+        context.visit(begin);
+        queue.enqueue(begin);
+
+        while (!context.isVisited(end) && !queue.isEmpty()) {
+            int front = queue.dequeue();
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree && !context.isVisited(end); e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                if (!context.isVisited(neighbor)) {
+                    context.visit(neighbor);
+                    context.setPredecessor(neighbor, front);
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
+
+        if (!context.isVisited(end)) {
+            return null;
+        }
+
+        int length = 1;
+        for (int vertex = end; context.hasPredecessor(vertex); vertex = context.getPredecessor(vertex)) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int vertex = end, i = length - 1; i >= 0; vertex = context.getPredecessor(vertex), i--) {
+            path[i] = vertex;
+        }
+        return path;
+    }
+
+    /**
+     * Finds a least-cost path with Dijkstra's algorithm, stopping as soon
+     * as the end vertex is settled. Costs and predecessors are recorded in
+     * the given context, whose heap holds the unsettled vertices.
+     *
+     * @param graph   the graph to search
+     * @param begin   the id of the path's origin vertex
+     * @param end     the id of the path's destination vertex
+     * @param context a context on which a query has just begun
+     * @return the cost of the path, or -1 if end cannot be reached
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    static double cheapestPath(IntAdjacency graph, int begin, int end, TraversalContext context) {
+        IndexedMinHeap heap = context.getHeap();
+        heap.add(begin, 0.0);
+
+        while (!heap.isEmpty() && !context.isVisited(end)) {
+            int front = heap.removeMin();
+            context.visit(front); // Settled: its cost is final
+            double frontCost = context.getCost(front);
+
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                double weight = graph.getWeight(front, firstEdge, e);
+                if (weight < 0) {
+                    throw new IllegalStateException("Cheapest path requires non-negative edge weights.");
+                }
+                if (!context.isVisited(neighbor)) {
+                    double newCost = frontCost + weight;
+                    if (!heap.contains(neighbor)) {
+                        heap.add(neighbor, newCost);
+                    } else if (newCost < heap.getPriority(neighbor)) {
+                        heap.decreasePriority(neighbor, newCost);
+                    } else {
+                        continue;
+                    }
+                    context.setCost(neighbor, newCost);
+                    context.setPredecessor(neighbor, front);
+                }
+            }
+        }
+
+        return context.isVisited(end) ? context.getCost(end) : -1;
+    }
+
+    /**
+     * Finds a least-cost path with A* search: Dijkstra's algorithm with
+     * the unsettled vertices ordered by their cost so far plus an estimate
+     * of the cost still to come, so that the search heads toward end.
+     * Vertices whose estimate is infinite cannot lead to end and are never
+     * queued. With a consistent estimate each vertex is still settled at
+     * its final cost, and the search stops as soon as end is settled.
+     *
+     * @param graph     the graph to search
+     * @param begin     the id of the path's origin vertex
+     * @param end       the id of the path's destination vertex
+     * @param context   a context on which a query has just begun
+     * @param remaining estimates the cost from a vertex id to end
+     * @return the cost of the path, or -1 if end cannot be reached
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    static double cheapestPath(IntAdjacency graph, int begin, int end, TraversalContext context,
+                               IntToDoubleFunction remaining) {
+        double beginEstimate = remaining.applyAsDouble(begin);
+        if (beginEstimate == Double.POSITIVE_INFINITY) {
+            return -1;
+        }
+        IndexedMinHeap heap = context.getHeap();
+        heap.add(begin, beginEstimate);
+
+        while (!heap.isEmpty() && !context.isVisited(end)) {
+            int front = heap.removeMin();
+            context.visit(front); // Settled: its cost is final
+            double frontCost = context.getCost(front);
+
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                double weight = graph.getWeight(front, firstEdge, e);
+                if (weight < 0) {
+                    throw new IllegalStateException("Cheapest path requires non-negative edge weights.");
+                }
+                if (!context.isVisited(neighbor)) {
+                    double newCost = frontCost + weight;
+                    if (!heap.contains(neighbor)) {
+                        double estimate = remaining.applyAsDouble(neighbor);
+                        if (estimate == Double.POSITIVE_INFINITY) {
+                            continue;
+                        }
+                        heap.add(neighbor, newCost + estimate);
+                    } else if (newCost < context.getCost(neighbor)) {
+                        heap.decreasePriority(neighbor, newCost + remaining.applyAsDouble(neighbor));
+                    } else {
+                        continue;
+                    }
+                    context.setCost(neighbor, newCost);
+                    context.setPredecessor(neighbor, front);
+                }
+            }
+        }
+
+        return context.isVisited(end) ? context.getCost(end) : -1;
+    }
+
+    /**
+     * Computes the cost of a cheapest path from origin to every vertex
+     * with Dijkstra's algorithm.
+     *
+     * @param graph  the graph to search
+     * @param origin the id of the origin vertex
+     * @param heap   an empty heap with room for every vertex id
+     * @param cost   receives the cost of each vertex, or
+     *               Double.POSITIVE_INFINITY for vertices origin does not
+     *               reach; its length is the vertex count
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    static void cheapestCosts(IntAdjacency graph, int origin, IndexedMinHeap heap, double[] cost) {
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[origin] = 0.0;
+        heap.add(origin, 0.0);
+
+        while (!heap.isEmpty()) {
+            int front = heap.removeMin();
+            double frontCost = cost[front];
+            int degree = graph.getOutDegree(front);
+            int firstEdge = graph.getFirstEdge(front);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(front, firstEdge, e);
+                double weight = graph.getWeight(front, firstEdge, e);
+                if (weight < 0) {
+                    throw new IllegalStateException("Cheapest path requires non-negative edge weights.");
+                }
+                // A settled vertex already has a cost no greater than newCost
+                double newCost = frontCost + weight;
+                if (newCost < cost[neighbor]) {
+                    if (heap.contains(neighbor)) {
+                        heap.decreasePriority(neighbor, newCost);
+                    } else {
+                        heap.add(neighbor, newCost);
+                    }
+                    cost[neighbor] = newCost;
+                }
+            }
+        }
+    }
+
+    /**
+     * Orders the vertices topologically with Kahn's algorithm: vertices
+     * whose in-degree drops to zero are appended in first-come order.
+     *
+     * @param graph the graph to order
+     * @return the ordered vertex ids, leaving out absent ones; if the graph
+     *         has a cycle the array is shorter than the number of vertices,
+     *         and the missing vertices are those on or downstream of a cycle
+     */
+    static int[] topologicalOrder(IntAdjacency graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] inDegree = inDegrees(graph);
+        int[] order = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int v = 0; v < vertexCount; v++) {
+            if (inDegree[v] == 0 && graph.hasVertex(v)) {
+                order[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int vertex = order[head++];
+            int degree = graph.getOutDegree(vertex);
+            int firstEdge = graph.getFirstEdge(vertex);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(vertex, firstEdge, e);
+                if (--inDegree[neighbor] == 0) {
+                    order[tail++] = neighbor;
+                }
+            }
+        }
+
+        return tail == vertexCount ? order : Arrays.copyOf(order, tail);
+    }
+
+    /**
+     * Finds a cycle among the vertices that a partial topological order
+     * left out.
+     *
+     * @param graph   the graph that was ordered
+     * @param ordered the result of topologicalOrder, shorter than the
+     *                number of vertices
+     * @return the ids of a cycle in edge order, without repeating the
+     *         first vertex
+     */
+    static int[] findCycle(IntAdjacency graph, int[] ordered) {
+        int vertexCount = graph.getVertexCount();
+        boolean[] remaining = new boolean[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            remaining[v] = graph.hasVertex(v);
+        }
+        for (int v : ordered) {
+            remaining[v] = false;
+        }
+
+        // Every remaining vertex has an in-edge from another remaining vertex
+        int[] parent = new int[vertexCount];
+        Arrays.fill(parent, -1);
+        int start = -1;
+        for (int v = 0; v < vertexCount; v++) {
+            if (remaining[v]) {
+                start = v;
+                int degree = graph.getOutDegree(v);
+                int firstEdge = graph.getFirstEdge(v);
+                for (int e = 0; e < degree; e++) {
+                    int neighbor = graph.getNeighbor(v, firstEdge, e);
+                    if (remaining[neighbor]) {
+                        parent[neighbor] = v;
+                    }
+                }
+            }
+        }
+        return cycleThrough(parent, start);
+    }
+
+    /**
+     * Follows parent links, which point backwards along edges, from a
+     * vertex that is known to lead back into a cycle.
+     *
+     * @param parent for each vertex on or downstream of a cycle, the source
+     *               of one of its in-edges that is also on or downstream
+     * @param start  a vertex with a parent link
+     * @return the ids of the cycle reached, in edge order
+     */
+    static int[] cycleThrough(int[] parent, int start) {
+        // Walking parent links from start must eventually repeat a vertex
+        int[] seenAt = new int[parent.length];
+        int step = 0;
+        int vertex = start;
+        while (seenAt[vertex] == 0) {
+            seenAt[vertex] = ++step;
+            vertex = parent[vertex];
+        }
+
+        int length = step - seenAt[vertex] + 1;
+        int[] cycle = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            cycle[i] = vertex;
+            vertex = parent[vertex];
+        }
+        return cycle;
+    }
+
+    /**
+     * Finds the strongly connected components with Tarjan's algorithm, in
+     * O(V + E) time. The depth-first search keeps its path in explicit
+     * arrays rather than on the call stack, so any number of vertices can
+     * be handled.
+     *
+     * @param graph the graph to split
+     * @return the component of every vertex, or -1 for absent vertices;
+     *         components are numbered 0 to k - 1 in topological order of
+     *         the condensation, so every edge between two components goes
+     *         from the lower number to the higher one
+     */
+    static int[] strongComponents(IntAdjacency graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] component = new int[vertexCount];
+        Arrays.fill(component, -1);
+        int[] discovered = new int[vertexCount]; // Discovery number; 0 = unvisited
+        int[] low = new int[vertexCount];
+        int[] stack = new int[vertexCount];      // Visited vertices not yet in a component
+        int[] pathVertex = new int[vertexCount]; // The depth-first path ...
+        int[] pathEdge = new int[vertexCount];   // ... and the next edge to try at each step
+        int top = 0;
+        int counter = 0;
+        int count = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (discovered[root] != 0 || !graph.hasVertex(root)) {
+                continue;
+            }
+            discovered[root] = low[root] = ++counter;
+            stack[top++] = root;
+            pathVertex[0] = root;
+            pathEdge[0] = 0;
+            int depth = 1;
+
+            while (depth > 0) {
+                int vertex = pathVertex[depth - 1];
+                int edge = pathEdge[depth - 1];
+                if (edge < graph.getOutDegree(vertex)) {
+                    pathEdge[depth - 1] = edge + 1;
+                    int neighbor = graph.getNeighbor(vertex, edge);
+                    if (discovered[neighbor] == 0) {
+                        discovered[neighbor] = low[neighbor] = ++counter;
+                        stack[top++] = neighbor;
+                        pathVertex[depth] = neighbor;
+                        pathEdge[depth] = 0;
+                        depth++;
+                    } else if (component[neighbor] < 0) { // Still on the stack
+                        low[vertex] = Math.min(low[vertex], discovered[neighbor]);
+                    }
+                } else {
+                    depth--;
+                    if (depth > 0) {
+                        int parent = pathVertex[depth - 1];
+                        low[parent] = Math.min(low[parent], low[vertex]);
+                    }
+                    if (low[vertex] == discovered[vertex]) {
+                        int member;
+                        do {
+                            member = stack[--top];
+                            component[member] = count;
+                        } while (member != vertex);
+                        count++;
+                    }
+                }
+            }
+        }
+
+        // Tarjan's algorithm completes a component only after every component it reaches
+        for (int v = 0; v < vertexCount; v++) {
+            if (component[v] >= 0) {
+                component[v] = count - 1 - component[v];
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Finds the weakly connected components, the sets of vertices joined
+     * by edges when their directions are ignored, by merging the ends of
+     * every edge in a union-find structure. This takes nearly O(V + E)
+     * time and never searches the graph, so it needs no in-edges.
+     *
+     * @param graph the graph to split
+     * @return the component of every vertex, numbered 0 to k - 1 in order
+     *         of each component's lowest vertex id, or -1 for absent
+     *         vertices
+     */
+    static int[] weakComponents(IntAdjacency graph) {
+        int vertexCount = graph.getVertexCount();
+        DisjointSets sets = new DisjointSets(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            int degree = graph.getOutDegree(v);
+            int firstEdge = graph.getFirstEdge(v);
+            for (int e = 0; e < degree; e++) {
+                sets.union(v, graph.getNeighbor(v, firstEdge, e));
+            }
+        }
+        return numberSets(graph, sets::find);
+    }
+
+    /**
+     * Numbers the sets of a union-find structure over a graph's vertices.
+     *
+     * @param graph the graph whose vertices were merged
+     * @param find  gives the representative of each vertex's set
+     * @return the number of each vertex's set, numbered 0 to k - 1 in order
+     *         of each set's lowest vertex id, or -1 for absent vertices
+     */
+    static int[] numberSets(IntAdjacency graph, IntUnaryOperator find) {
+        int vertexCount = graph.getVertexCount();
+        int[] number = new int[vertexCount]; // Set number by representative, plus 1; 0 = not yet numbered
+        int[] component = new int[vertexCount];
+        int count = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!graph.hasVertex(v)) {
+                component[v] = -1;
+                continue;
+            }
+            int root = find.applyAsInt(v);
+            if (number[root] == 0) {
+                number[root] = ++count;
+            }
+            component[v] = number[root] - 1;
+        }
+        return component;
+    }
+
+    // Empties a stack of vertex ids into an array, bottom first
+    private static int[] toArray(IntArrayStack stack) {
+        int[] result = new int[stack.getSize()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = stack.pop();
+        }
+        return result;
+    }
+
+    /**
+     * Counts the edges entering each vertex.
+     *
+     * @param graph the graph to examine
+     * @return the in-degree of every vertex
+     */
+    static int[] inDegrees(IntAdjacency graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] inDegree = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            int degree = graph.getOutDegree(v);
+            int firstEdge = graph.getFirstEdge(v);
+            for (int e = 0; e < degree; e++) {
+                inDegree[graph.getNeighbor(v, firstEdge, e)]++;
+            }
+        }
+        return inDegree;
+    }
+}
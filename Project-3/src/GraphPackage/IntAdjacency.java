@@ -0,0 +1,72 @@
+package GraphPackage;
+
+/**
+ * A read-only view of a directed graph whose vertices are numbered
+ * 0 to getVertexCount() - 1. Edges leaving a vertex are numbered
+ * 0 to getOutDegree(v) - 1 in adjacency order.
+ *
+ * <p>A graph that keeps the ids of removed vertices reports them as
+ * absent through hasVertex; they have no edges in or out.</p>
+ *
+ * <p>The int-indexed algorithms in IndexedTraversals run over this view,
+ * so every graph representation that provides it shares the same
+ * traversal code.</p>
+ */
+interface IntAdjacency {
+
+    /** Gets the number of vertices.
+        @return  The number of vertices; ids run from 0 to this value - 1. */
+    int getVertexCount();
+
+    /** Sees whether an id belongs to a vertex of the graph.
+        @param vertex  A vertex id.
+        @return  False if the vertex was removed and its id not yet reused. */
+    default boolean hasVertex(int vertex) {
+        return true;
+    }
+
+    /** Gets the number of edges leaving a vertex.
+        @param vertex  A vertex id.
+        @return  The out-degree of the vertex. */
+    int getOutDegree(int vertex);
+
+    /** Gets the end vertex of one of a vertex's outgoing edges.
+        @param vertex  A vertex id.
+        @param edge    The edge's position, from 0 to getOutDegree(vertex) - 1.
+        @return  The id of the vertex the edge points to. */
+    int getNeighbor(int vertex, int edge);
+
+    /** Gets the weight of one of a vertex's outgoing edges.
+        @param vertex  A vertex id.
+        @param edge    The edge's position, from 0 to getOutDegree(vertex) - 1.
+        @return  The edge's weight. */
+    double getWeight(int vertex, int edge);
+
+    /** Gets where a vertex's outgoing edges begin, for a graph that would
+        otherwise look that up again for every edge. Traversals that scan
+        all of a vertex's edges read it once and pass it back to
+        getNeighbor(int, int, int) and getWeight(int, int, int).
+        @param vertex  A vertex id.
+        @return  A value meaningful only to this graph; 0 by default. */
+    default int getFirstEdge(int vertex) {
+        return 0;
+    }
+
+    /** Gets the end vertex of one of a vertex's outgoing edges.
+        @param vertex     A vertex id.
+        @param firstEdge  The value getFirstEdge(vertex) returned.
+        @param edge       The edge's position, from 0 to getOutDegree(vertex) - 1.
+        @return  The id of the vertex the edge points to. */
+    default int getNeighbor(int vertex, int firstEdge, int edge) {
+        return getNeighbor(vertex, edge);
+    }
+
+    /** Gets the weight of one of a vertex's outgoing edges.
+        @param vertex     A vertex id.
+        @param firstEdge  The value getFirstEdge(vertex) returned.
+        @param edge       The edge's position, from 0 to getOutDegree(vertex) - 1.
+        @return  The edge's weight. */
+    default double getWeight(int vertex, int firstEdge, int edge) {
+        return getWeight(vertex, edge);
+    }
+}
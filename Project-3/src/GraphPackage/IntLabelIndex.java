@@ -0,0 +1,110 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+import ADTPackage.Hashing;
+
+/**
+ * A growable map from int vertex labels to dense ids 0, 1, 2, ... in the
+ * order the labels are added. Labels are kept in an int array indexed by
+ * id and the hash table holds id + 1 per slot, so nothing is boxed and a
+ * vertex costs about three ints.
+ */
+final class IntLabelIndex {
+
+    private int[] labels;  // labels[id]
+    private int[] table;   // id + 1 per slot; 0 = empty
+    private int size;
+
+    IntLabelIndex(int expectedLabels) {
+        labels = new int[Math.max(16, expectedLabels)];
+        table = new int[tableSizeFor(expectedLabels)];
+        size = 0;
+    }
+
+    /**
+     * Adds a label, giving it the next id.
+     *
+     * @param label a vertex label
+     * @return the new id, or -1 if the label is already present
+     */
+    int add(int label) {
+        int mask = table.length - 1;
+        int slot = hash(label) & mask;
+        while (table[slot] != 0) {
+            if (labels[table[slot] - 1] == label) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size;
+        if (id == labels.length) {
+            labels = Arrays.copyOf(labels, 2 * id);
+        }
+        labels[id] = label;
+        table[slot] = id + 1;
+        size++;
+        if (size > table.length / 2) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Gets the id of a label.
+     *
+     * @param label a vertex label
+     * @return the label's id, or -1 if it is not present
+     */
+    int getId(int label) {
+        int mask = table.length - 1;
+        int slot = hash(label) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (labels[id] == label) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int getLabel(int id) {
+        return labels[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash() {
+        table = new int[2 * table.length];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(labels[id]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    private static int hash(int label) {
+        return Hashing.mix(label);
+    }
+
+    // Smallest power of two that keeps the given labels at most half full
+    static int tableSizeFor(int labels) {
+        int capacity = 16;
+        while (capacity / 2 <= labels) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
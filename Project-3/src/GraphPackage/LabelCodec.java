@@ -0,0 +1,102 @@
+package GraphPackage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+   An interface for converting vertex labels to and from the bytes stored
+   in a graph file. Decoding the encoding of a label must give back an
+   equal label, and distinct labels must have distinct encodings.
+*/
+public interface LabelCodec<T>
+{
+   /** Encodes a vertex label.
+       @param label  A vertex label.
+       @return  The bytes that represent the label. */
+   public byte[] encode(T label);
+
+   /** Decodes a vertex label.
+       @param bytes  Bytes produced by encode.
+       @return  The label they represent. */
+   public T decode(byte[] bytes);
+
+   /** Gets a codec that stores strings as UTF-8.
+       @return  A codec for String labels. */
+   public static LabelCodec<String> forStrings()
+   {
+      return new LabelCodec<String>()
+      {
+         @Override
+         public byte[] encode(String label)
+         {
+            return label.getBytes(StandardCharsets.UTF_8);
+         }
+
+         @Override
+         public String decode(byte[] bytes)
+         {
+            return new String(bytes, StandardCharsets.UTF_8);
+         }
+      };
+   }
+
+   /** Gets a codec that stores characters as UTF-8.
+       @return  A codec for Character labels. */
+   public static LabelCodec<Character> forCharacters()
+   {
+      return new LabelCodec<Character>()
+      {
+         @Override
+         public byte[] encode(Character label)
+         {
+            return String.valueOf(label).getBytes(StandardCharsets.UTF_8);
+         }
+
+         @Override
+         public Character decode(byte[] bytes)
+         {
+            return new String(bytes, StandardCharsets.UTF_8).charAt(0);
+         }
+      };
+   }
+
+   /** Gets a codec that stores integers in 4 bytes.
+       @return  A codec for Integer labels. */
+   public static LabelCodec<Integer> forIntegers()
+   {
+      return new LabelCodec<Integer>()
+      {
+         @Override
+         public byte[] encode(Integer label)
+         {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(label).array();
+         }
+
+         @Override
+         public Integer decode(byte[] bytes)
+         {
+            return ByteBuffer.wrap(bytes).getInt();
+         }
+      };
+   }
+
+   /** Gets a codec that stores longs in 8 bytes.
+       @return  A codec for Long labels. */
+   public static LabelCodec<Long> forLongs()
+   {
+      return new LabelCodec<Long>()
+      {
+         @Override
+         public byte[] encode(Long label)
+         {
+            return ByteBuffer.allocate(Long.BYTES).putLong(label).array();
+         }
+
+         @Override
+         public Long decode(byte[] bytes)
+         {
+            return ByteBuffer.wrap(bytes).getLong();
+         }
+      };
+   }
+} // end LabelCodec
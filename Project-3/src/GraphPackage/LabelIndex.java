@@ -0,0 +1,92 @@
+package GraphPackage;
+
+import ADTPackage.Hashing;
+
+/**
+ * Maps vertex labels to dense int ids for the array-based graph
+ * representations. Labels are stored once, in id order; the hash table
+ * itself holds only ints, so the index costs about two ints per vertex
+ * on top of the labels.
+ */
+final class LabelIndex<T> {
+
+    private final Object[] labels; // labels[id]
+    private final int[] table;     // id + 1 per slot; 0 = empty
+
+    /**
+     * Builds an index over the given labels, which must be distinct.
+     *
+     * @param labels the vertex labels in id order
+     * @throws IllegalArgumentException if a label is null or repeated
+     */
+    LabelIndex(Object[] labels) {
+        this.labels = labels;
+        int capacity = 16;
+        while (capacity / 2 <= labels.length) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int id = 0; id < labels.length; id++) {
+            Object label = labels[id];
+            if (label == null) {
+                throw new IllegalArgumentException("Vertex labels cannot be null.");
+            }
+            int slot = hash(label) & mask;
+            while (table[slot] != 0) {
+                if (labels[table[slot] - 1].equals(label)) {
+                    throw new IllegalArgumentException("Duplicate vertex label: " + label);
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Gets the id of a label.
+     *
+     * @param label a vertex label
+     * @return the label's id, or -1 if it is not indexed
+     */
+    int getId(T label) {
+        if (label == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        int slot = hash(label) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (labels[id].equals(label)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the label with a given id.
+     *
+     * @param id a vertex id
+     * @return the vertex label
+     */
+    @SuppressWarnings("unchecked")
+    T getLabel(int id) {
+        return (T) labels[id];
+    }
+
+    /**
+     * Gets the number of indexed labels.
+     *
+     * @return the number of vertices
+     */
+    int size() {
+        return labels.length;
+    }
+
+    private static int hash(Object label) {
+        return Hashing.mix(label.hashCode());
+    }
+}
@@ -0,0 +1,254 @@
+package GraphPackage;
+
+import ADTPackage.*; // QueueInterface, ArrayQueue, IndexedMinHeap
+
+/**
+ * An A* estimate from precomputed distances to and from a few landmark
+ * vertices (ALT, in the terms of Goldberg and Harrelson, "Computing the
+ * Shortest Path: A* Search Meets Graph Theory", SODA 2005). For a
+ * landmark L the triangle inequality gives two lower bounds on the cost
+ * from v to t,
+ * <pre>
+ *     cost(v, L) - cost(t, L)    and    cost(L, t) - cost(L, v),
+ * </pre>
+ * and the estimate is the largest of these bounds over all landmarks. It
+ * is consistent, so an A* search guided by it still finds a cheapest
+ * path, and it needs no coordinates. It also knows when t cannot be
+ * reached from v at all: for instance when t reaches a landmark that v
+ * does not.
+ *
+ * <p>Landmarks are picked by farthest selection: each new landmark is the
+ * vertex farthest from the landmarks already picked among those they
+ * reach, so they end up spread around the edges of the graph, where
+ * they bound best. Picking
+ * them costs two runs of Dijkstra's algorithm over the whole graph per
+ * landmark, and the distances take 16 bytes per vertex per landmark.</p>
+ *
+ * <p>The distances describe the graph as it was when they were computed,
+ * and they stop being valid bounds once edges are added or removed or
+ * weights change, so the heuristic must be rebuilt after a change. It is
+ * immutable and may be shared between threads; looking up a label for
+ * the first time builds an index of the labels, in time proportional to
+ * the number of vertices.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+public final class LandmarkHeuristic<T> implements PathHeuristic<T> {
+
+    private static final double UNREACHED = Double.POSITIVE_INFINITY;
+
+    private final Object graph;      // The graph the distances were computed on
+    private final long version;      // Its version at the time
+    private final int landmarkCount;
+    private final int[] landmarks;   // Vertex ids of the landmarks
+    private final double[] fromLandmark; // Cost from landmark l to vertex v at v * landmarkCount + l
+    private final double[] toLandmark;   // Cost from vertex v to landmark l, laid out the same way
+    private final Object[] labels;   // labels[id], null for ids that belong to no vertex
+    private volatile LabelIndex<T> index; // Built on first lookup
+    private int[] idByPosition;      // Vertex id of each label in index, set with index
+
+    /**
+     * Picks landmarks and computes their distances.
+     *
+     * @param adjacency     the graph to measure
+     * @param labelById     the label of each vertex id, or null for ids that
+     *                      belong to no vertex
+     * @param landmarkCount the number of landmarks wanted
+     * @param graph         the graph object that adjacency views
+     * @param version       the version of that graph, or 0 if it never
+     *                      changes
+     * @throws IllegalArgumentException if landmarkCount is not positive
+     * @throws IllegalStateException if the graph has a negative edge weight
+     */
+    LandmarkHeuristic(IntAdjacency adjacency, Object[] labelById, int landmarkCount, Object graph,
+                      long version) {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("At least one landmark is required: " + landmarkCount);
+        }
+        this.graph = graph;
+        this.version = version;
+        this.labels = labelById;
+
+        int vertexCount = adjacency.getVertexCount();
+        int present = 0;
+        for (Object label : labelById) {
+            if (label != null) {
+                present++;
+            }
+        }
+        this.landmarkCount = Math.min(landmarkCount, present);
+        landmarks = new int[this.landmarkCount];
+        fromLandmark = new double[vertexCount * this.landmarkCount];
+        toLandmark = new double[vertexCount * this.landmarkCount];
+        if (present == 0) {
+            return;
+        }
+
+        IntAdjacency reverse = new TransposedAdjacency(adjacency);
+        IndexedMinHeap heap = new IndexedMinHeap(vertexCount);
+        double[] from = new double[vertexCount];
+        double[] to = new double[vertexCount];
+
+        // Seed the selection with the distances from the first vertex
+        int seed = 0;
+        while (labelById[seed] == null) {
+            seed++;
+        }
+        double[] nearest = new double[vertexCount]; // Cost from the nearest landmark so far
+        IndexedTraversals.cheapestCosts(adjacency, seed, heap, nearest);
+
+        for (int l = 0; l < this.landmarkCount; l++) {
+            int landmark = -1;
+            for (int v = 0; v < vertexCount; v++) {
+                if (labelById[v] != null && (landmark < 0 || score(nearest[v]) > score(nearest[landmark]))) {
+                    landmark = v;
+                }
+            }
+            landmarks[l] = landmark;
+
+            IndexedTraversals.cheapestCosts(adjacency, landmark, heap, from);
+            IndexedTraversals.cheapestCosts(reverse, landmark, heap, to);
+            for (int v = 0; v < vertexCount; v++) {
+                fromLandmark[v * this.landmarkCount + l] = from[v];
+                toLandmark[v * this.landmarkCount + l] = to[v];
+                nearest[v] = (l == 0) ? from[v] : Math.min(nearest[v], from[v]);
+            }
+            nearest[landmark] = -1; // Never picked twice, even when every cost is 0
+        }
+    }
+
+    // Ranks a candidate landmark by its cost from the nearest landmark; vertices no
+    // landmark reaches, such as isolated ones, bound nothing and come last
+    private static double score(double nearest) {
+        return (nearest == UNREACHED) ? -0.5 : nearest;
+    }
+
+    /**
+     * Gets the number of landmarks, which is less than the number asked
+     * for only if the graph has fewer vertices.
+     *
+     * @return the number of landmarks
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Gets the landmarks.
+     *
+     * @return a queue of the landmark labels, in the order they were picked
+     */
+    @SuppressWarnings("unchecked")
+    public QueueInterface<T> getLandmarks() {
+        QueueInterface<T> result = new ArrayQueue<>(landmarkCount);
+        for (int landmark : landmarks) {
+            result.enqueue((T) labels[landmark]);
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the cost of a cheapest path from the landmark distances.
+     *
+     * @param vertex the label of the vertex to estimate from
+     * @param end    the label of the path's destination vertex
+     * @return a lower bound on the cost from vertex to end, or
+     *         Double.POSITIVE_INFINITY if end cannot be reached from vertex;
+     *         0 if either label was not in the graph
+     */
+    @Override
+    public double estimate(T vertex, T end) {
+        int vertexId = getId(vertex);
+        int endId = getId(end);
+        if (vertexId < 0 || endId < 0) {
+            return 0;
+        }
+        return estimate(vertexId, endId);
+    }
+
+    /**
+     * Estimates the cost of a cheapest path between two vertex ids of the
+     * graph the distances were computed on.
+     *
+     * @param vertex the id of the vertex to estimate from
+     * @param end    the id of the path's destination vertex
+     * @return a lower bound on the cost, or Double.POSITIVE_INFINITY if end
+     *         cannot be reached from vertex
+     */
+    double estimate(int vertex, int end) {
+        int vertexBase = vertex * landmarkCount;
+        int endBase = end * landmarkCount;
+        double bound = 0;
+        for (int l = 0; l < landmarkCount; l++) {
+            // cost(v, t) >= cost(v, L) - cost(t, L); if t reaches L but v does not, v cannot reach t
+            double endTo = toLandmark[endBase + l];
+            if (endTo != UNREACHED) {
+                double vertexTo = toLandmark[vertexBase + l];
+                if (vertexTo == UNREACHED) {
+                    return UNREACHED;
+                }
+                bound = Math.max(bound, vertexTo - endTo);
+            }
+
+            // cost(v, t) >= cost(L, t) - cost(L, v); if L reaches v but not t, v cannot reach t
+            double vertexFrom = fromLandmark[vertexBase + l];
+            if (vertexFrom != UNREACHED) {
+                double endFrom = fromLandmark[endBase + l];
+                if (endFrom == UNREACHED) {
+                    return UNREACHED;
+                }
+                bound = Math.max(bound, endFrom - vertexFrom);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Sees whether the distances were computed on a given graph at a given
+     * version, so that estimate(int, int) may be used with its vertex ids.
+     *
+     * @param other        a graph
+     * @param otherVersion its current version, or 0 if it never changes
+     * @return true if other is the graph measured and it has not changed
+     */
+    boolean isCurrentFor(Object other, long otherVersion) {
+        return graph == other && version == otherVersion;
+    }
+
+    /**
+     * Sees whether the distances were computed on a given graph, whatever
+     * its version now.
+     *
+     * @param other a graph
+     * @return true if other is the graph measured
+     */
+    boolean isFor(Object other) {
+        return graph == other;
+    }
+
+    private int getId(T label) {
+        LabelIndex<T> labelIndex = index;
+        if (labelIndex == null) {
+            int present = 0;
+            for (Object candidate : labels) {
+                if (candidate != null) {
+                    present++;
+                }
+            }
+            Object[] compact = new Object[present];
+            int[] ids = new int[present];
+            int position = 0;
+            for (int id = 0; id < labels.length; id++) {
+                if (labels[id] != null) {
+                    compact[position] = labels[id];
+                    ids[position++] = id;
+                }
+            }
+            idByPosition = ids;
+            labelIndex = new LabelIndex<>(compact);
+            index = labelIndex; // A racing thread may build an identical index
+        }
+        int position = labelIndex.getId(label);
+        return (position < 0) ? -1 : idByPosition[position];
+    }
+}
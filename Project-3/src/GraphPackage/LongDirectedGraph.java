@@ -0,0 +1,185 @@
+package GraphPackage;
+
+import ADTPackage.LongArrayStack;
+
+/**
+ * A directed graph whose vertex labels are longs. It offers the operations
+ * of DirectedGraph with primitive signatures: labels are never boxed,
+ * looked up through compareTo, or stored in per-vertex objects, and
+ * traversals return long arrays instead of queues of Longs.
+ *
+ * <p>Labels map to dense vertex ids through a long hash index; edges are
+ * stored per vertex in primitive arrays (see AbstractPrimitiveGraph). The
+ * traversal algorithms are the same ones the other graph forms use, so
+ * for the same vertices and edges added in the same order, every
+ * traversal returns the same labels in the same order as DirectedGraph.</p>
+ */
+public final class LongDirectedGraph extends AbstractPrimitiveGraph {
+
+    private final LongLabelIndex labels;
+
+    public LongDirectedGraph() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty graph presized for the given number of vertices.
+     *
+     * @param expectedVertices the number of vertices the graph should hold
+     *                         without regrowing
+     * @throws IllegalArgumentException if expectedVertices is negative
+     */
+    public LongDirectedGraph(int expectedVertices) {
+        super(expectedVertices);
+        labels = new LongLabelIndex(expectedVertices);
+    }
+
+    /* ===================== Structure ===================== */
+
+    /**
+     * Adds a vertex with the given label.
+     *
+     * @param vertexLabel the label of the new vertex
+     * @return true if the vertex was added, or false if the label is
+     *         already in use
+     */
+    public boolean addVertex(long vertexLabel) {
+        if (labels.add(vertexLabel) < 0) {
+            return false;
+        }
+        newVertexId();
+        return true;
+    }
+
+    /**
+     * Adds a weighted edge between two existing vertices.
+     *
+     * @param begin      the label of the origin vertex
+     * @param end        the label of the end vertex
+     * @param edgeWeight the weight of the edge
+     * @return true if the edge was added, or false if either vertex is
+     *         missing, the edge exists, or begin equals end
+     */
+    public boolean addEdge(long begin, long end, double edgeWeight) {
+        int beginId = labels.getId(begin);
+        int endId = labels.getId(end);
+        return beginId >= 0 && endId >= 0 && addEdgeById(beginId, endId, edgeWeight);
+    }
+
+    /**
+     * Adds an unweighted edge (weight 0) between two existing vertices.
+     *
+     * @param begin the label of the origin vertex
+     * @param end   the label of the end vertex
+     * @return true if the edge was added
+     */
+    public boolean addEdge(long begin, long end) {
+        return addEdge(begin, end, 0.0);
+    }
+
+    /**
+     * Sees whether an edge exists between two given vertices.
+     *
+     * @param begin the label of the origin vertex
+     * @param end   the label of the end vertex
+     * @return true if the edge exists
+     */
+    public boolean hasEdge(long begin, long end) {
+        int beginId = labels.getId(begin);
+        int endId = labels.getId(end);
+        return beginId >= 0 && endId >= 0 && hasEdgeById(beginId, endId);
+    }
+
+    /**
+     * Sees whether a vertex with the given label exists.
+     *
+     * @param vertexLabel a vertex label
+     * @return true if the vertex is in this graph
+     */
+    public boolean containsVertex(long vertexLabel) {
+        return labels.getId(vertexLabel) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        labels.clear();
+    }
+
+    /* ===================== Algorithms ===================== */
+
+    /**
+     * Performs a breadth-first traversal.
+     *
+     * @param origin the label of the origin vertex
+     * @return the labels of the reached vertices in visiting order, or an
+     *         empty array if origin is not in this graph
+     */
+    public long[] getBreadthFirstTraversal(long origin) {
+        return toLabels(breadthFirstIds(labels.getId(origin)));
+    }
+
+    /**
+     * Performs a depth-first traversal.
+     *
+     * @param origin the label of the origin vertex
+     * @return the labels of the reached vertices in visiting order, or an
+     *         empty array if origin is not in this graph
+     */
+    public long[] getDepthFirstTraversal(long origin) {
+        return toLabels(depthFirstIds(labels.getId(origin)));
+    }
+
+    /**
+     * Finds a path with the fewest edges between two vertices.
+     *
+     * @param begin the label of the path's origin vertex
+     * @param end   the label of the path's destination vertex
+     * @param path  receives the labels along the path, with begin on top
+     * @return the number of edges on the path, or -1 if either vertex is
+     *         missing or end cannot be reached (path is then unchanged)
+     */
+    public int getShortestPath(long begin, long end, LongArrayStack path) {
+        return shortestPathIds(labels.getId(begin), labels.getId(end), id -> path.push(labels.getLabel(id)));
+    }
+
+    /**
+     * Finds a least-cost path between two vertices.
+     *
+     * @param begin the label of the path's origin vertex
+     * @param end   the label of the path's destination vertex
+     * @param path  receives the labels along the path, with begin on top
+     * @return the cost of the path, or -1 if either vertex is missing or
+     *         end cannot be reached (path is then unchanged)
+     * @throws IllegalStateException if the search meets a negative edge weight
+     */
+    public double getCheapestPath(long begin, long end, LongArrayStack path) {
+        return cheapestPathIds(labels.getId(begin), labels.getId(end), id -> path.push(labels.getLabel(id)));
+    }
+
+    /**
+     * Orders the vertices topologically.
+     *
+     * @return the labels of all vertices, each before every vertex it has
+     *         an edge to
+     * @throws IllegalStateException if the graph has a cycle; the message
+     *         names the vertices of one cycle
+     */
+    public long[] getTopologicalOrder() {
+        return toLabels(topologicalIds());
+    }
+
+    @Override
+    String describeVertex(int vertexId) {
+        return Long.toString(labels.getLabel(vertexId));
+    }
+
+    // Maps each id to its label
+    private long[] toLabels(int[] ids) {
+        long[] result = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = labels.getLabel(ids[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+import ADTPackage.Hashing;
+
+/**
+ * A growable map from long vertex labels to dense ids 0, 1, 2, ... in the
+ * order the labels are added. Labels are kept in a long array indexed by
+ * id and the hash table holds id + 1 per slot, so nothing is boxed and a
+ * vertex costs one long and about two ints.
+ */
+final class LongLabelIndex {
+
+    private long[] labels; // labels[id]
+    private int[] table;   // id + 1 per slot; 0 = empty
+    private int size;
+
+    LongLabelIndex(int expectedLabels) {
+        labels = new long[Math.max(16, expectedLabels)];
+        table = new int[IntLabelIndex.tableSizeFor(expectedLabels)];
+        size = 0;
+    }
+
+    /**
+     * Adds a label, giving it the next id.
+     *
+     * @param label a vertex label
+     * @return the new id, or -1 if the label is already present
+     */
+    int add(long label) {
+        int mask = table.length - 1;
+        int slot = hash(label) & mask;
+        while (table[slot] != 0) {
+            if (labels[table[slot] - 1] == label) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size;
+        if (id == labels.length) {
+            labels = Arrays.copyOf(labels, 2 * id);
+        }
+        labels[id] = label;
+        table[slot] = id + 1;
+        size++;
+        if (size > table.length / 2) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Gets the id of a label.
+     *
+     * @param label a vertex label
+     * @return the label's id, or -1 if it is not present
+     */
+    int getId(long label) {
+        int mask = table.length - 1;
+        int slot = hash(label) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (labels[id] == label) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    long getLabel(int id) {
+        return labels[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash() {
+        table = new int[2 * table.length];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(labels[id]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    private static int hash(long label) {
+        return Hashing.mix(label);
+    }
+}
@@ -0,0 +1,131 @@
+package GraphPackage;
+
+/**
+ * A read-only directed graph served straight from a memory-mapped graph
+ * file (see GraphFile). Nothing is copied onto the heap when the file is
+ * opened: the CSR arrays are read from the mapping as the algorithms use
+ * them, labels are decoded only when a result is built, and a label is
+ * found by binary search over the file's sorted id table.
+ *
+ * <p>All GraphAlgorithmsInterface methods are provided by
+ * AbstractIndexedGraph, so traversals visit vertices in the same order as
+ * on the DirectedGraph or CsrGraph the file was written from. A mapped
+ * graph is immutable and may be shared between threads.</p>
+ */
+public final class MappedGraph<T> extends AbstractIndexedGraph<T> {
+
+    private final MappedRegion region;
+    private final LabelCodec<T> codec;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final long labelOffsetsPosition;
+    private final long sortedIdsPosition;
+    private final long offsetsPosition;
+    private final long targetsPosition;
+    private final long weightsPosition;
+    private final long labelDataPosition;
+
+    MappedGraph(MappedRegion region, LabelCodec<T> codec, int vertexCount, int edgeCount) {
+        this.region = region;
+        this.codec = codec;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        labelOffsetsPosition = GraphFile.labelOffsetsPosition();
+        sortedIdsPosition = GraphFile.sortedIdsPosition(vertexCount);
+        offsetsPosition = GraphFile.offsetsPosition(vertexCount);
+        targetsPosition = GraphFile.targetsPosition(vertexCount);
+        weightsPosition = GraphFile.weightsPosition(vertexCount, edgeCount);
+        labelDataPosition = GraphFile.labelDataPosition(vertexCount, edgeCount);
+    }
+
+    /* ===================== Structure ===================== */
+
+    @Override
+    public int getNumberOfEdges() {
+        return edgeCount;
+    }
+
+    /**
+     * Finds a label's id by binary search over the ids sorted by encoded
+     * label, in O(log V) byte comparisons.
+     */
+    @Override
+    public int getVertexId(T label) {
+        if (label == null) {
+            return -1;
+        }
+        byte[] key = codec.encode(label);
+
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int id = region.getInt(sortedIdsPosition + 4L * middle);
+            int comparison = GraphFile.compareBytes(labelBytes(id), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T getLabel(int vertexId) {
+        return codec.decode(labelBytes(vertexId));
+    }
+
+    /* ===================== IntAdjacency ===================== */
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        long position = offsetsPosition + 4L * vertex;
+        return region.getInt(position + 4) - region.getInt(position);
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int edge) {
+        int first = region.getInt(offsetsPosition + 4L * vertex);
+        return region.getInt(targetsPosition + 4L * (first + edge));
+    }
+
+    @Override
+    public double getWeight(int vertex, int edge) {
+        int first = region.getInt(offsetsPosition + 4L * vertex);
+        return region.getDouble(weightsPosition + 8L * (first + edge));
+    }
+
+    // The row start, so that scans of a whole row read it from the file once
+
+    @Override
+    public int getFirstEdge(int vertex) {
+        return region.getInt(offsetsPosition + 4L * vertex);
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int firstEdge, int edge) {
+        return region.getInt(targetsPosition + 4L * (firstEdge + edge));
+    }
+
+    @Override
+    public double getWeight(int vertex, int firstEdge, int edge) {
+        return region.getDouble(weightsPosition + 8L * (firstEdge + edge));
+    }
+
+    /* ===================== Helpers ===================== */
+
+    private byte[] labelBytes(int vertexId) {
+        long position = labelOffsetsPosition + 8L * vertexId;
+        long start = region.getLong(position);
+        long end = region.getLong(position + 8);
+        return region.getBytes(labelDataPosition + start, (int) (end - start));
+    }
+}
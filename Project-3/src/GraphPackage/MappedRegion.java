@@ -0,0 +1,78 @@
+package GraphPackage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only memory mapping of a whole file, addressed by long byte
+ * positions. A single MappedByteBuffer cannot exceed 2 GiB, so the file is
+ * mapped as consecutive chunks of CHUNK_SIZE bytes. Because the chunk size
+ * is a multiple of 8, a value at a position aligned to its own size never
+ * straddles two chunks.
+ */
+final class MappedRegion {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long length;
+
+    /**
+     * Maps an open file. The mapping stays valid after the channel is closed.
+     *
+     * @param channel a channel open for reading
+     * @throws IOException if the file cannot be mapped
+     */
+    MappedRegion(FileChannel channel) throws IOException {
+        length = channel.size();
+        int chunkCount = (int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, length - start));
+        }
+    }
+
+    long length() {
+        return length;
+    }
+
+    byte getByte(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & CHUNK_MASK));
+    }
+
+    int getInt(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getInt((int) (position & CHUNK_MASK));
+    }
+
+    long getLong(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    double getDouble(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getDouble((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * Copies a run of bytes, which may cross a chunk boundary.
+     *
+     * @param position the position of the first byte
+     * @param length   the number of bytes
+     * @return the bytes
+     */
+    byte[] getBytes(long position, int length) {
+        byte[] result = new byte[length];
+        int offset = (int) (position & CHUNK_MASK);
+        if (offset + (long) length <= CHUNK_SIZE) {
+            chunks[(int) (position >>> CHUNK_SHIFT)].get(offset, result);
+        } else {
+            for (int i = 0; i < length; i++) {
+                result[i] = getByte(position + i);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package GraphPackage;
+
+import ADTPackage.Hashing;
+
+/**
+ * A hash set of vertex indices that a Vertex builds over its neighbors
+ * once its out-degree grows past a threshold. With it, checking for an
+ * existing edge takes expected constant time instead of a scan of the
+ * adjacency list, so loading a high-degree vertex stays linear overall.
+ *
+ * <p>Open addressing with linear probing; slots hold index + 1 so that 0
+ * marks an empty slot. The table doubles whenever it becomes half full.
+ * Removal shifts later entries of the probe run back into the freed slot,
+ * so no deleted markers are left behind.</p>
+ */
+final class NeighborIndex {
+
+    private int[] table;
+    private int size;
+
+    /**
+     * Creates an index with room for the given number of neighbors.
+     *
+     * @param expectedSize the number of neighbors about to be added
+     */
+    NeighborIndex(int expectedSize) {
+        int capacity = 16;
+        while (capacity / 2 <= expectedSize) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Adds a neighbor index.
+     *
+     * @param vertexIndex the index of the neighbor
+     * @return true if it was added, or false if it was already present
+     */
+    boolean add(int vertexIndex) {
+        int mask = table.length - 1;
+        int slot = hash(vertexIndex) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == vertexIndex + 1) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = vertexIndex + 1;
+        size++;
+        if (size > table.length / 2) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Sees whether a neighbor index is present.
+     *
+     * @param vertexIndex the index of a vertex
+     * @return true if the vertex is a neighbor
+     */
+    boolean contains(int vertexIndex) {
+        int mask = table.length - 1;
+        int slot = hash(vertexIndex) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == vertexIndex + 1) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a neighbor index.
+     *
+     * @param vertexIndex the index of the neighbor
+     * @return true if it was removed, or false if it was not present
+     */
+    boolean remove(int vertexIndex) {
+        int mask = table.length - 1;
+        int slot = hash(vertexIndex) & mask;
+        while (table[slot] != vertexIndex + 1) {
+            if (table[slot] == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Move back each later entry whose home slot does not lie after the hole
+        int hole = slot;
+        for (int next = (slot + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = hash(table[next] - 1) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        int[] oldTable = table;
+        table = new int[2 * oldTable.length];
+        int mask = table.length - 1;
+        for (int entry : oldTable) {
+            if (entry != 0) {
+                int slot = hash(entry - 1) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+    }
+
+    private static int hash(int vertexIndex) {
+        return Hashing.mix(vertexIndex);
+    }
+}
@@ -0,0 +1,196 @@
+package GraphPackage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Level-synchronous breadth-first search that expands each frontier in
+ * parallel on a ForkJoinPool.
+ *
+ * <p>The result is the BFS level (edge distance from the origin) of every
+ * vertex, or -1 for vertices that cannot be reached. Levels are unique, so
+ * the parallel searches return exactly the same level sets as the
+ * sequential IndexedTraversals.breadthFirstLevels; only the order in which
+ * vertices of one level are discovered differs.</p>
+ *
+ * <p>In the top-down step each frontier vertex scans its out-edges and
+ * claims unvisited neighbors with a compare-and-set on the level array.
+ * The direction-optimizing variant switches to a bottom-up step while the
+ * frontier is large: every unvisited vertex scans its in-edges for a parent
+ * on the current level, which needs no atomics because each vertex is
+ * owned by one task, and stops at the first parent it finds.</p>
+ */
+final class ParallelBreadthFirstSearch {
+
+    private static final VarHandle LEVEL = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private static final int FRONTIER_GRAIN = 1024; // Frontier vertices per top-down task
+    private static final int VERTEX_GRAIN = 8192;   // Vertices per bottom-up task
+    private static final int ALPHA = 14;            // Go bottom-up when frontier edges > unexplored edges / ALPHA
+    private static final int BETA = 24;             // Go top-down when frontier size < V / BETA
+
+    private final IntAdjacency graph;
+    private final IntAdjacency reverse; // In-edges; null for top-down only
+    private final ForkJoinPool pool;
+    private final int[] level;
+
+    private ParallelBreadthFirstSearch(IntAdjacency graph, IntAdjacency reverse, ForkJoinPool pool) {
+        this.graph = graph;
+        this.reverse = reverse;
+        this.pool = pool;
+        level = new int[graph.getVertexCount()];
+        Arrays.fill(level, -1);
+    }
+
+    /**
+     * Computes BFS levels using parallel top-down steps only.
+     *
+     * @param graph  the graph to search
+     * @param origin the id of the origin vertex
+     * @param pool   the pool that runs the frontier expansions
+     * @return the level of each vertex, or -1 if it is unreachable
+     */
+    static int[] levels(IntAdjacency graph, int origin, ForkJoinPool pool) {
+        return new ParallelBreadthFirstSearch(graph, null, pool).run(origin);
+    }
+
+    /**
+     * Computes BFS levels, switching between top-down and bottom-up steps
+     * according to the size of the frontier.
+     *
+     * @param graph   the graph to search
+     * @param reverse the same graph with every edge reversed
+     * @param origin  the id of the origin vertex
+     * @param pool    the pool that runs the frontier expansions
+     * @return the level of each vertex, or -1 if it is unreachable
+     */
+    static int[] directionOptimizingLevels(IntAdjacency graph, IntAdjacency reverse,
+                                           int origin, ForkJoinPool pool) {
+        return new ParallelBreadthFirstSearch(graph, reverse, pool).run(origin);
+    }
+
+    private int[] run(int origin) {
+        int vertexCount = graph.getVertexCount();
+        long unexploredEdges = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            unexploredEdges += graph.getOutDegree(v);
+        }
+
+        int[] frontier = { origin };
+        level[origin] = 0;
+        long frontierEdges = graph.getOutDegree(origin);
+        boolean bottomUp = false;
+
+        for (int depth = 0; frontier.length > 0; depth++) {
+            unexploredEdges -= frontierEdges;
+            if (reverse != null) {
+                if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontier.length < vertexCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+
+            Step step = bottomUp
+                    ? new BottomUpStep(depth, 0, vertexCount)
+                    : new TopDownStep(frontier, depth, 0, frontier.length);
+            frontier = pool.invoke(step).toArray();
+
+            frontierEdges = 0;
+            for (int v : frontier) {
+                frontierEdges += graph.getOutDegree(v);
+            }
+        }
+
+        return level;
+    }
+
+    /* ===================== Fork/join steps ===================== */
+
+    // A step returns the vertices it placed on the next level
+    private abstract static class Step extends RecursiveTask<FrontierBuffer> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private final class TopDownStep extends Step {
+        private static final long serialVersionUID = 1L;
+        private final int[] frontier;
+        private final int depth;
+        private final int from;
+        private final int to;
+
+        private TopDownStep(int[] frontier, int depth, int from, int to) {
+            this.frontier = frontier;
+            this.depth = depth;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FrontierBuffer compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int middle = (from + to) >>> 1;
+                TopDownStep right = new TopDownStep(frontier, depth, middle, to);
+                right.fork();
+                FrontierBuffer left = new TopDownStep(frontier, depth, from, middle).compute();
+                return left.append(right.join());
+            }
+
+            FrontierBuffer found = new FrontierBuffer();
+            for (int i = from; i < to; i++) {
+                int vertex = frontier[i];
+                int degree = graph.getOutDegree(vertex);
+                for (int e = 0; e < degree; e++) {
+                    int neighbor = graph.getNeighbor(vertex, e);
+                    if (level[neighbor] < 0 && LEVEL.compareAndSet(level, neighbor, -1, depth + 1)) {
+                        found.add(neighbor);
+                    }
+                }
+            }
+            return found;
+        }
+    }
+
+    private final class BottomUpStep extends Step {
+        private static final long serialVersionUID = 1L;
+        private final int depth;
+        private final int from;
+        private final int to;
+
+        private BottomUpStep(int depth, int from, int to) {
+            this.depth = depth;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FrontierBuffer compute() {
+            if (to - from > VERTEX_GRAIN) {
+                int middle = (from + to) >>> 1;
+                BottomUpStep right = new BottomUpStep(depth, middle, to);
+                right.fork();
+                FrontierBuffer left = new BottomUpStep(depth, from, middle).compute();
+                return left.append(right.join());
+            }
+
+            FrontierBuffer found = new FrontierBuffer();
+            for (int vertex = from; vertex < to; vertex++) {
+                if (level[vertex] < 0) {
+                    int degree = reverse.getOutDegree(vertex);
+                    for (int e = 0; e < degree; e++) {
+                        // Vertices set during this step hold depth + 1, never depth
+                        if (level[reverse.getNeighbor(vertex, e)] == depth) {
+                            level[vertex] = depth + 1;
+                            found.add(vertex);
+                            break;
+                        }
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package GraphPackage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds strongly connected components in parallel with the
+ * forward-backward method.
+ *
+ * <p>First, trimming passes over all vertices in parallel remove every
+ * vertex that has no remaining in-neighbor or no remaining out-neighbor;
+ * such a vertex is a component on its own. This clears away the acyclic
+ * parts of a graph, which the forward-backward step handles poorly.</p>
+ *
+ * <p>The remaining vertices form one partition. Splitting a partition
+ * picks a random pivot and searches forward and then backward from it
+ * without leaving the partition: the vertices found both ways are the
+ * pivot's component, and the rest fall into three new partitions, those
+ * found only forward, only backward, or neither way. No component spans
+ * two of them, so the partitions of each round are split independently
+ * across the pool. The searches inside one partition are sequential, so
+ * the speedup comes from graphs that break up into many partitions.</p>
+ *
+ * <p>The components found are exactly those of
+ * IndexedTraversals.strongComponents, but they are numbered in order of
+ * their first vertex rather than topologically.</p>
+ */
+final class ParallelStrongComponents {
+
+    private static final VarHandle PART = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int GRAIN = 8192;         // Vertices per trimming task
+    private static final int MAX_TRIM_PASSES = 8;
+    private static final int DONE = -1;           // part[] value once a vertex's component is known
+    private static final int TRIMMED = -2;        // found[] value of a vertex that is a component on its own
+
+    private final IntAdjacency graph;
+    private final IntAdjacency reverse;
+    private final int[] part;  // Partition of each vertex still to place, else DONE
+    private final int[] found; // Component of each placed vertex, numbered as found; -1 if absent
+    private final AtomicInteger partitionCount = new AtomicInteger(1); // Partition 0 holds every vertex at first
+    private final AtomicInteger componentCount = new AtomicInteger();
+
+    private ParallelStrongComponents(IntAdjacency graph, IntAdjacency reverse) {
+        this.graph = graph;
+        this.reverse = reverse;
+        int vertexCount = graph.getVertexCount();
+        part = new int[vertexCount];
+        found = new int[vertexCount];
+        Arrays.fill(found, -1);
+        for (int v = 0; v < vertexCount; v++) {
+            if (!graph.hasVertex(v)) {
+                part[v] = DONE;
+            }
+        }
+    }
+
+    /**
+     * Finds the strongly connected components of a graph.
+     *
+     * @param graph   the graph to split
+     * @param reverse the same graph with every edge reversed
+     * @param pool    the pool that runs the trimming passes and the splits
+     * @return the component of every vertex, numbered 0 to k - 1 in order
+     *         of each component's lowest vertex id, or -1 for absent
+     *         vertices
+     */
+    static int[] components(IntAdjacency graph, IntAdjacency reverse, ForkJoinPool pool) {
+        return new ParallelStrongComponents(graph, reverse).run(pool);
+    }
+
+    private int[] run(ForkJoinPool pool) {
+        int vertexCount = part.length;
+        for (int pass = 0; pass < MAX_TRIM_PASSES; pass++) {
+            if (pool.invoke(new Trim(0, vertexCount)) == 0) {
+                break;
+            }
+        }
+
+        FrontierBuffer remaining = new FrontierBuffer();
+        for (int v = 0; v < vertexCount; v++) {
+            if (part[v] == 0) {
+                remaining.add(v);
+            }
+        }
+        int[][] partitions = (remaining.size() > 0) ? new int[][] {remaining.toArray()} : new int[0][];
+        while (partitions.length > 0) {
+            partitions = pool.invoke(new Round(partitions, 0, partitions.length));
+        }
+
+        // Number the components by their first vertex
+        int[] number = new int[componentCount.get()];
+        Arrays.fill(number, -1);
+        int[] component = new int[vertexCount];
+        int next = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int c = found[v];
+            if (c == TRIMMED) {
+                component[v] = next++;
+            } else if (c < 0) {
+                component[v] = -1;
+            } else {
+                if (number[c] < 0) {
+                    number[c] = next++;
+                }
+                component[v] = number[c];
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Sees whether a vertex has a neighbor, other than itself, that is
+     * still to be placed. A neighbor seen as placed really is, so a vertex
+     * trimmed on that evidence cannot lie on a cycle with other vertices.
+     */
+    private boolean hasUnplacedNeighbor(IntAdjacency adjacency, int vertex) {
+        int degree = adjacency.getOutDegree(vertex);
+        for (int e = 0; e < degree; e++) {
+            int neighbor = adjacency.getNeighbor(vertex, e);
+            if (neighbor != vertex && (int) PART.getOpaque(part, neighbor) != DONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits one partition around a random pivot. Every partition has its
+     * own ids, and a vertex's part entry is written only by the task that
+     * owns its partition, so the plain reads of other partitions' vertices
+     * may be stale but never match an id used here.
+     *
+     * @param members the vertices of the partition, all with the same id
+     * @return the nonempty new partitions, at most three
+     */
+    private int[][] split(int[] members) {
+        int id = part[members[0]];
+        int forward = partitionCount.getAndIncrement();
+        int backward = partitionCount.getAndIncrement();
+        int pivot = members[ThreadLocalRandom.current().nextInt(members.length)];
+        int[] queue = new int[members.length];
+
+        // Forward: everything the pivot reaches
+        int head = 0;
+        int tail = 0;
+        part[pivot] = forward;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            int vertex = queue[head++];
+            int degree = graph.getOutDegree(vertex);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(vertex, e);
+                if (part[neighbor] == id) {
+                    part[neighbor] = forward;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        // Backward: everything that reaches the pivot; those also reached forward are its component
+        int component = componentCount.getAndIncrement();
+        head = 0;
+        tail = 0;
+        part[pivot] = DONE;
+        found[pivot] = component;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            int vertex = queue[head++];
+            int degree = reverse.getOutDegree(vertex);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = reverse.getNeighbor(vertex, e);
+                int neighborPart = part[neighbor];
+                if (neighborPart == forward) {
+                    part[neighbor] = DONE;
+                    found[neighbor] = component;
+                    queue[tail++] = neighbor;
+                } else if (neighborPart == id) {
+                    part[neighbor] = backward;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        FrontierBuffer forwardOnly = new FrontierBuffer();
+        FrontierBuffer backwardOnly = new FrontierBuffer();
+        FrontierBuffer neither = new FrontierBuffer();
+        for (int vertex : members) {
+            int vertexPart = part[vertex];
+            if (vertexPart == forward) {
+                forwardOnly.add(vertex);
+            } else if (vertexPart == backward) {
+                backwardOnly.add(vertex);
+            } else if (vertexPart == id) {
+                neither.add(vertex);
+            }
+        }
+        return nonEmpty(forwardOnly, backwardOnly, neither);
+    }
+
+    private static int[][] nonEmpty(FrontierBuffer... buffers) {
+        int[][] result = new int[buffers.length][];
+        int count = 0;
+        for (FrontierBuffer buffer : buffers) {
+            if (buffer.size() > 0) {
+                result[count++] = buffer.toArray();
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // One trimming pass over vertices [from, to); returns the number trimmed
+    private final class Trim extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        private Trim(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                Trim right = new Trim(middle, to);
+                right.fork();
+                int left = new Trim(from, middle).compute();
+                return left + right.join();
+            }
+
+            int trimmed = 0;
+            for (int v = from; v < to; v++) {
+                if ((int) PART.getOpaque(part, v) == 0
+                        && (!hasUnplacedNeighbor(graph, v) || !hasUnplacedNeighbor(reverse, v))) {
+                    found[v] = TRIMMED;
+                    PART.setOpaque(part, v, DONE);
+                    trimmed++;
+                }
+            }
+            return trimmed;
+        }
+    }
+
+    // Splits partitions [from, to) of one round; returns the next round's partitions
+    private final class Round extends RecursiveTask<int[][]> {
+        private static final long serialVersionUID = 1L;
+        private final int[][] partitions;
+        private final int from;
+        private final int to;
+
+        private Round(int[][] partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                Round right = new Round(partitions, middle, to);
+                right.fork();
+                int[][] left = new Round(partitions, from, middle).compute();
+                int[][] rightResult = right.join();
+                int[][] result = Arrays.copyOf(left, left.length + rightResult.length);
+                System.arraycopy(rightResult, 0, result, left.length, rightResult.length);
+                return result;
+            }
+            return split(partitions[from]);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package GraphPackage;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ADTPackage.ConcurrentDisjointSets;
+
+/**
+ * Finds weakly connected components in parallel. The vertices are split
+ * into ranges across a ForkJoinPool, and each task merges the ends of
+ * its vertices' out-edges in one shared lock-free union-find structure.
+ * Merging is commutative, so the sets come out the same however the
+ * tasks interleave, and the result equals that of
+ * IndexedTraversals.weakComponents.
+ */
+final class ParallelWeakComponents {
+
+    private static final int GRAIN = 8192; // Vertices per task
+
+    private ParallelWeakComponents() {
+    }
+
+    /**
+     * Finds the weakly connected components of a graph.
+     *
+     * @param graph the graph to split
+     * @param pool  the pool that merges the edges
+     * @return the component of every vertex, numbered 0 to k - 1 in order
+     *         of each component's lowest vertex id, or -1 for absent
+     *         vertices
+     */
+    static int[] components(IntAdjacency graph, ForkJoinPool pool) {
+        ConcurrentDisjointSets sets = new ConcurrentDisjointSets(graph.getVertexCount());
+        pool.invoke(new MergeEdges(graph, sets, 0, graph.getVertexCount()));
+        return IndexedTraversals.numberSets(graph, sets::find);
+    }
+
+    private static final class MergeEdges extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final IntAdjacency graph;
+        private final ConcurrentDisjointSets sets;
+        private final int from;
+        private final int to;
+
+        private MergeEdges(IntAdjacency graph, ConcurrentDisjointSets sets, int from, int to) {
+            this.graph = graph;
+            this.sets = sets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MergeEdges(graph, sets, from, middle), new MergeEdges(graph, sets, middle, to));
+                return;
+            }
+            for (int v = from; v < to; v++) {
+                int degree = graph.getOutDegree(v);
+                for (int e = 0; e < degree; e++) {
+                    sets.union(v, graph.getNeighbor(v, e));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package GraphPackage;
+
+/**
+ * Estimates the cost still to pay from a vertex to the end of a path, to
+ * guide an A* search for a cheapest path. The search settles vertices in
+ * order of their cost so far plus the estimate, so a good estimate keeps
+ * it heading toward the end instead of spreading out in every direction.
+ *
+ * <p>For the search to return a cheapest path the estimate must be
+ * consistent: estimate(end, end) is 0, and for every edge from u to v,
+ * estimate(u, end) is at most the weight of that edge plus
+ * estimate(v, end). A consistent estimate never exceeds the true cost.
+ * The straight-line distance between vertices with coordinates, on a
+ * graph whose edge weights are at least the lengths of the edges, is
+ * consistent; so is a LandmarkHeuristic.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+@FunctionalInterface
+public interface PathHeuristic<T> {
+
+    /** Estimates the cost of a cheapest path between two vertices.
+        @param vertex  The label of a vertex the search has reached.
+        @param end     The label of the path's destination vertex.
+        @return  A lower bound on the cost from vertex to end, or
+                 Double.POSITIVE_INFINITY if end cannot be reached from
+                 vertex. */
+    double estimate(T vertex, T end);
+}
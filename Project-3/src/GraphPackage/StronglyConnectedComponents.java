@@ -0,0 +1,26 @@
+package GraphPackage;
+
+/**
+ * The strongly connected components of a graph: the largest sets of
+ * vertices in which every vertex can reach every other one along directed
+ * edges.
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+public final class StronglyConnectedComponents<T> extends ConnectedComponents<T> {
+
+    StronglyConnectedComponents(Object[] labelById, int[] componentById) {
+        super(labelById, componentById);
+    }
+
+    /**
+     * Sees whether two vertices can each reach the other.
+     *
+     * @param first  a vertex label
+     * @param second another vertex label
+     * @return true if both vertices were in the graph and share a component
+     */
+    public boolean isStronglyConnected(T first, T second) {
+        return isSameComponent(first, second);
+    }
+}
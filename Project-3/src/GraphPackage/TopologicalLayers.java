@@ -0,0 +1,110 @@
+package GraphPackage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits a directed acyclic graph into topological layers in parallel.
+ *
+ * <p>Layer 0 holds the vertices with no in-edges, and layer k + 1 holds
+ * the vertices whose last remaining in-edge comes from layer k, so a
+ * vertex's layer is the length of the longest path that ends at it. No
+ * edge joins two vertices of the same layer, so the vertices of one layer
+ * can be scheduled concurrently once all earlier layers are done.</p>
+ *
+ * <p>Each layer's out-edges are processed across a ForkJoinPool, with the
+ * in-degree counters decremented atomically; whichever task takes a
+ * counter to zero places that vertex on the next layer.</p>
+ */
+final class TopologicalLayers {
+
+    private static final VarHandle IN_DEGREE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int GRAIN = 1024; // Layer vertices per task
+
+    private TopologicalLayers() {
+    }
+
+    /**
+     * Computes the layers of a graph.
+     *
+     * @param graph the graph to split
+     * @param pool  the pool that processes each layer
+     * @return the vertex ids of each layer, ascending within a layer and
+     *         leaving out absent ones, or null if the graph has a cycle
+     */
+    static int[][] layers(IntAdjacency graph, ForkJoinPool pool) {
+        int vertexCount = graph.getVertexCount();
+        int[] inDegree = IndexedTraversals.inDegrees(graph);
+
+        FrontierBuffer sources = new FrontierBuffer();
+        int present = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (graph.hasVertex(v)) {
+                present++;
+                if (inDegree[v] == 0) {
+                    sources.add(v);
+                }
+            }
+        }
+
+        int[][] layers = new int[4][];
+        int layerCount = 0;
+        int placed = 0;
+        int[] layer = sources.toArray();
+        while (layer.length > 0) {
+            if (layerCount == layers.length) {
+                layers = Arrays.copyOf(layers, 2 * layerCount);
+            }
+            layers[layerCount++] = layer;
+            placed += layer.length;
+            layer = pool.invoke(new LayerStep(graph, inDegree, layer, 0, layer.length)).toArray();
+            Arrays.sort(layer); // Discovery order depends on scheduling
+        }
+
+        return placed == present ? Arrays.copyOf(layers, layerCount) : null;
+    }
+
+    private static final class LayerStep extends RecursiveTask<FrontierBuffer> {
+        private static final long serialVersionUID = 1L;
+        private final IntAdjacency graph;
+        private final int[] inDegree;
+        private final int[] layer;
+        private final int from;
+        private final int to;
+
+        private LayerStep(IntAdjacency graph, int[] inDegree, int[] layer, int from, int to) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.layer = layer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FrontierBuffer compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                LayerStep right = new LayerStep(graph, inDegree, layer, middle, to);
+                right.fork();
+                FrontierBuffer left = new LayerStep(graph, inDegree, layer, from, middle).compute();
+                return left.append(right.join());
+            }
+
+            FrontierBuffer next = new FrontierBuffer();
+            for (int i = from; i < to; i++) {
+                int vertex = layer[i];
+                int degree = graph.getOutDegree(vertex);
+                for (int e = 0; e < degree; e++) {
+                    int neighbor = graph.getNeighbor(vertex, e);
+                    if ((int) IN_DEGREE.getAndAdd(inDegree, neighbor, -1) == 1) {
+                        next.add(neighbor);
+                    }
+                }
+            }
+            return next;
+        }
+    }
+}
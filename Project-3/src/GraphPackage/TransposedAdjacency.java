@@ -0,0 +1,81 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+/**
+ * A graph's edges turned around, held in compressed sparse rows. The
+ * edges entering each vertex are found with a counting sort of all edges
+ * by their end vertex, so a vertex's neighbors here are its in-neighbors
+ * in the original graph, in ascending id order, and each edge keeps its
+ * weight.
+ */
+final class TransposedAdjacency implements IntAdjacency {
+
+    private final int[] offsets; // The edges entering vertex v are offsets[v] to offsets[v + 1] - 1
+    private final int[] sources;
+    private final double[] weights;
+
+    /**
+     * Transposes a graph, in O(V + E) time.
+     *
+     * @param graph the graph whose edges are turned around
+     */
+    TransposedAdjacency(IntAdjacency graph) {
+        int vertexCount = graph.getVertexCount();
+        offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            int degree = graph.getOutDegree(v);
+            for (int e = 0; e < degree; e++) {
+                offsets[graph.getNeighbor(v, e) + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        sources = new int[offsets[vertexCount]];
+        weights = new double[offsets[vertexCount]];
+        for (int v = 0; v < vertexCount; v++) {
+            int degree = graph.getOutDegree(v);
+            for (int e = 0; e < degree; e++) {
+                int slot = next[graph.getNeighbor(v, e)]++;
+                sources[slot] = v;
+                weights[slot] = graph.getWeight(v, e);
+            }
+        }
+    }
+
+    // The rows themselves, for building a CsrGraph without copying them
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    int[] getSources() {
+        return sources;
+    }
+
+    double[] getWeights() {
+        return weights;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int getNeighbor(int vertex, int edge) {
+        return sources[offsets[vertex] + edge];
+    }
+
+    @Override
+    public double getWeight(int vertex, int edge) {
+        return weights[offsets[vertex] + edge];
+    }
+}
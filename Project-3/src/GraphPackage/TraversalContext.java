@@ -0,0 +1,161 @@
+package GraphPackage;
+
+import java.util.Arrays;
+
+import ADTPackage.IndexedMinHeap;
+import ADTPackage.IntArrayQueue;
+import ADTPackage.IntArrayStack;
+
+/**
+ * Per-query bookkeeping for a graph traversal: the visited mark, path cost
+ * and predecessor of each vertex, keyed by vertex index.
+ *
+ * <p>Entries are stamped with the current epoch instead of being cleared.
+ * Starting a new query only advances the epoch, so a query pays for the
+ * vertices it touches rather than an O(V) reset of the whole graph. An
+ * entry whose stamp is older than the current epoch reads as unvisited,
+ * with cost 0 and no predecessor.</p>
+ *
+ * <p>Searches also borrow the context's work queue, stack, depth-first
+ * cursor stack and priority queue, which are emptied at the start of each query and otherwise kept,
+ * so repeated searches reuse their arrays.</p>
+ *
+ * <p>A context is used by one query at a time; concurrent queries each
+ * take their own context from a TraversalContextPool.</p>
+ */
+final class TraversalContext {
+
+    private int[] stamp;         // < discoveredMark: untouched this epoch
+    private double[] cost;
+    private int[] predecessor;   // Vertex index, or -1
+    private int discoveredMark;  // Entry touched this epoch
+    private int visitedMark;     // Entry touched and visited this epoch
+    private final IntArrayQueue queue;
+    private final IntArrayStack stack;
+    private final CursorStack path;
+    private IndexedMinHeap heap; // Created by the first weighted search
+
+    TraversalContext() {
+        stamp = new int[0];
+        cost = new double[0];
+        predecessor = new int[0];
+        discoveredMark = 0;
+        visitedMark = 1;
+        queue = new IntArrayQueue();
+        stack = new IntArrayStack();
+        path = new CursorStack();
+    }
+
+    /**
+     * Starts a new query over vertices with indices below vertexCapacity.
+     *
+     * @param vertexCapacity one more than the largest vertex index in use
+     */
+    void begin(int vertexCapacity) {
+        if (stamp.length < vertexCapacity) {
+            int newLength = Math.max(vertexCapacity, 2 * stamp.length);
+            stamp = Arrays.copyOf(stamp, newLength);
+            cost = Arrays.copyOf(cost, newLength);
+            predecessor = Arrays.copyOf(predecessor, newLength);
+        }
+
+        if (visitedMark > Integer.MAX_VALUE - 2) {
+            // Epochs exhausted: clear the stamps once and start over
+            Arrays.fill(stamp, 0);
+            visitedMark = 1;
+        }
+        discoveredMark = visitedMark + 1;
+        visitedMark = discoveredMark + 1;
+
+        queue.clear();
+        stack.clear();
+        path.clear();
+        if (heap != null) {
+            heap.clear();
+            heap.ensureCapacity(stamp.length);
+        }
+    }
+
+    /**
+     * Gets this context's queue of vertex indices, which is empty when a
+     * query begins.
+     *
+     * @return the queue
+     */
+    IntArrayQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * Gets this context's stack of vertex indices, which is empty when a
+     * query begins.
+     *
+     * @return the stack
+     */
+    IntArrayStack getStack() {
+        return stack;
+    }
+
+    /**
+     * Gets this context's depth-first cursor stack, which is empty when a
+     * query begins.
+     *
+     * @return the cursor stack
+     */
+    CursorStack getCursorStack() {
+        return path;
+    }
+
+    /**
+     * Gets this context's priority queue of vertex indices, which is empty
+     * when a query begins.
+     *
+     * @return the heap
+     */
+    IndexedMinHeap getHeap() {
+        if (heap == null) {
+            heap = new IndexedMinHeap(stamp.length);
+        }
+        return heap;
+    }
+
+    boolean isVisited(int vertex) {
+        return stamp[vertex] == visitedMark;
+    }
+
+    void visit(int vertex) {
+        touch(vertex);
+        stamp[vertex] = visitedMark;
+    }
+
+    void setPredecessor(int vertex, int predecessorIndex) {
+        touch(vertex);
+        predecessor[vertex] = predecessorIndex;
+    }
+
+    int getPredecessor(int vertex) {
+        return stamp[vertex] >= discoveredMark ? predecessor[vertex] : -1;
+    }
+
+    boolean hasPredecessor(int vertex) {
+        return getPredecessor(vertex) >= 0;
+    }
+
+    void setCost(int vertex, double newCost) {
+        touch(vertex);
+        cost[vertex] = newCost;
+    }
+
+    double getCost(int vertex) {
+        return stamp[vertex] >= discoveredMark ? cost[vertex] : 0.0;
+    }
+
+    // Gives a stale entry this epoch's default values
+    private void touch(int vertex) {
+        if (stamp[vertex] < discoveredMark) {
+            stamp[vertex] = discoveredMark;
+            cost[vertex] = 0.0;
+            predecessor[vertex] = -1;
+        }
+    }
+}
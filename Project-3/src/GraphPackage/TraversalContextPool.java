@@ -0,0 +1,59 @@
+package GraphPackage;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small lock-free pool of TraversalContexts belonging to one graph.
+ * Each query borrows a context and returns it when done, so concurrent
+ * readers never share state and a steady stream of queries reuses the
+ * same arrays instead of allocating new ones.
+ */
+final class TraversalContextPool {
+
+    private final AtomicReferenceArray<TraversalContext> slots;
+
+    TraversalContextPool() {
+        slots = new AtomicReferenceArray<>(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Borrows a context and starts a new query on it.
+     *
+     * @param vertexCapacity one more than the largest vertex index in use
+     * @return a context that no other query is using
+     */
+    TraversalContext acquire(int vertexCapacity) {
+        TraversalContext context = null;
+        for (int i = 0; context == null && i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                context = slots.getAndSet(i, null);
+            }
+        }
+        if (context == null) {
+            context = new TraversalContext();
+        }
+        context.begin(vertexCapacity);
+        return context;
+    }
+
+    /**
+     * Returns a borrowed context. If the pool is full the context is
+     * simply dropped.
+     *
+     * @param context a context obtained from acquire
+     */
+    void release(TraversalContext context) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, context)) {
+                return;
+            }
+        }
+    }
+
+    /** Drops all pooled contexts, for example after the graph is cleared. */
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package GraphPackage;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ADTPackage.IntArrayQueue;
+
+/**
+ * A lazy breadth-first or depth-first traversal over an IntAdjacency.
+ * Each call to next() expands the search only as far as needed to find
+ * the next vertex, so a caller that stops early never pays for the rest
+ * of the graph, and no list of results is ever built.
+ *
+ * <p>Apart from the visited marks, which live in a pooled TraversalContext,
+ * the iterator holds only the search frontier, also kept in the context:
+ * the queue of discovered but unexpanded vertices for breadth-first order,
+ * or the CursorStack of the current path for depth-first order. Both orders match
+ * getBreadthFirstTraversal and getDepthFirstTraversal exactly.</p>
+ *
+ * <p>The context goes back to its pool when the traversal is exhausted or
+ * close() is called. An iterator that is abandoned early simply leaves its
+ * context to the garbage collector.</p>
+ */
+final class TraversalIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final IntAdjacency graph;
+    private final IntFunction<T> labels;
+    private final boolean depthFirst;
+    private final TraversalContextPool pool;
+    private TraversalContext context; // null once released
+
+    private int expandNext; // Breadth-first: vertex to expand before the next step, or -1
+    private int nextVertex; // Vertex returned by the next call to next(), or -1 if not found yet
+
+    /**
+     * Starts a traversal at a vertex.
+     *
+     * @param graph      the graph to traverse
+     * @param labels     maps a vertex id to its label
+     * @param origin     the id of the origin vertex, or -1 for an empty traversal
+     * @param depthFirst true for depth-first order, false for breadth-first
+     * @param pool       the pool to borrow the visited marks from
+     * @param capacity   one more than the largest vertex id in use
+     */
+    TraversalIterator(IntAdjacency graph, IntFunction<T> labels, int origin,
+                      boolean depthFirst, TraversalContextPool pool, int capacity) {
+        this.graph = graph;
+        this.labels = labels;
+        this.depthFirst = depthFirst;
+        this.pool = pool;
+        expandNext = -1;
+        nextVertex = -1;
+        if (origin >= 0) {
+            context = pool.acquire(capacity);
+            context.visit(origin);
+            nextVertex = origin;
+        }
+    }
+
+    /**
+     * Wraps a traversal in a sequential stream that closes the traversal
+     * when the stream is closed.
+     *
+     * @param <T>       the type of the labels
+     * @param traversal a traversal that has not been advanced yet
+     * @return a stream of the traversal's labels
+     */
+    static <T> Stream<T> stream(TraversalIterator<T> traversal) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(traversal,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(traversal::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextVertex < 0 && context != null) {
+            nextVertex = advance();
+            if (nextVertex < 0) {
+                close();
+            }
+        }
+        return nextVertex >= 0;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int result = nextVertex;
+        nextVertex = -1;
+        // Expansion waits until the caller asks for another vertex
+        if (depthFirst) {
+            context.getCursorStack().push(result);
+        } else {
+            expandNext = result;
+        }
+        return labels.apply(result);
+    }
+
+    /** Ends the traversal early and returns its context to the pool. */
+    @Override
+    public void close() {
+        nextVertex = -1;
+        if (context != null) {
+            pool.release(context);
+            context = null;
+        }
+    }
+
+    // ===== Private helpers =====
+
+    // Finds the vertex that follows the last one returned, or -1 if none
+    private int advance() {
+        return depthFirst ? advanceDepthFirst() : advanceBreadthFirst();
+    }
+
+    private int advanceBreadthFirst() {
+        IntArrayQueue queue = context.getQueue();
+        if (expandNext >= 0) {
+            int vertex = expandNext;
+            expandNext = -1;
+            int degree = graph.getOutDegree(vertex);
+            int firstEdge = graph.getFirstEdge(vertex);
+            for (int e = 0; e < degree; e++) {
+                int neighbor = graph.getNeighbor(vertex, firstEdge, e);
+                if (!context.isVisited(neighbor)) {
+                    context.visit(neighbor);
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
+        return queue.isEmpty() ? -1 : queue.dequeue();
+    }
+
+    // Resumes each path vertex at its cursor, like returning from recursion
+    private int advanceDepthFirst() {
+        CursorStack path = context.getCursorStack();
+        while (!path.isEmpty()) {
+            int vertex = path.peek();
+            int edge = path.nextEdge();
+            if (edge < graph.getOutDegree(vertex)) {
+                int neighbor = graph.getNeighbor(vertex, edge);
+                if (!context.isVisited(neighbor)) {
+                    context.visit(neighbor);
+                    return neighbor;
+                }
+            } else {
+                path.pop();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,22 @@
+package GraphPackage;
+
+/**
+ * Receives the cost of each traversal a DirectedGraph runs, once the
+ * traversal finishes. Set one with DirectedGraph.setTraversalListener;
+ * TraversalStatistics is a ready-made listener that aggregates the
+ * reports in memory.
+ *
+ * <p>The listener is called on the thread that ran the query, and queries
+ * may run in several threads at once, so implementations must be thread
+ * safe. It should return quickly, since the query's caller waits for
+ * it.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+@FunctionalInterface
+public interface TraversalListener<T> {
+
+    /** Reports a finished traversal.
+        @param metrics  What the traversal did and what it cost. */
+    void traversalFinished(TraversalMetrics<T> metrics);
+}
@@ -0,0 +1,145 @@
+package GraphPackage;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * What one traversal of a DirectedGraph did and what it cost, as reported
+ * to a TraversalListener.
+ *
+ * <p>The frontier is the traversal's pending work: the queue of a
+ * breadth-first search (both queues, for a bidirectional one), the path
+ * stack of a depth-first search, or the heap of Dijkstra's algorithm.
+ * Allocated bytes count everything the calling thread allocated during
+ * the query, the returned result included.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+public final class TraversalMetrics<T> {
+
+    /** The traversal methods that report metrics. */
+    public enum Query {
+        BREADTH_FIRST,
+        DEPTH_FIRST,
+        BREADTH_FIRST_TREE,
+        DEPTH_FIRST_TREE,
+        SHORTEST_PATH,
+        BIDIRECTIONAL_SHORTEST_PATH,
+        CHEAPEST_PATH
+    }
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+
+    private final Query query;
+    private final T origin;
+    private final int verticesVisited;
+    private final long edgesScanned;
+    private final int maxFrontier;
+    private final long nanos;
+    private final long allocatedBytes;
+
+    TraversalMetrics(Query query, T origin, int verticesVisited, long edgesScanned, int maxFrontier,
+                     long nanos, long allocatedBytes) {
+        this.query = query;
+        this.origin = origin;
+        this.verticesVisited = verticesVisited;
+        this.edgesScanned = edgesScanned;
+        this.maxFrontier = maxFrontier;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Gets the method that ran.
+     *
+     * @return the kind of traversal
+     */
+    public Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the label the traversal started from.
+     *
+     * @return the origin label
+     */
+    public T getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Gets the number of vertices the traversal marked as visited.
+     *
+     * @return the visited vertex count
+     */
+    public int getVerticesVisited() {
+        return verticesVisited;
+    }
+
+    /**
+     * Gets the number of edges the traversal looked at.
+     *
+     * @return the scanned edge count
+     */
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    /**
+     * Gets the largest number of vertices waiting in the frontier at once.
+     *
+     * @return the maximum frontier size
+     */
+    public int getMaxFrontier() {
+        return maxFrontier;
+    }
+
+    /**
+     * Gets the wall-clock time the traversal took.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the calling thread during the
+     * traversal.
+     *
+     * @return the allocated byte count, or -1 if the JVM does not report it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return query + " from " + origin + ": " + verticesVisited + " vertices, " + edgesScanned
+                + " edges, frontier " + maxFrontier + ", " + nanos + " ns, " + allocatedBytes + " bytes";
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated so far.
+     *
+     * @return the allocated byte count, or -1 if the JVM does not report it
+     */
+    static long threadAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // The HotSpot extension exposes per-thread allocation counters
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotspotBean.isThreadAllocatedMemorySupported()) {
+                hotspotBean.setThreadAllocatedMemoryEnabled(true);
+                return hotspotBean;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,249 @@
+package GraphPackage;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A TraversalListener that keeps running statistics in memory, separately
+ * for each kind of query: counts and totals, maxima, log-scale histograms
+ * of time and of vertices visited, and the slowest query seen with its
+ * origin, so that pathological queries can be found and replayed.
+ *
+ * <p>Histogram bucket b counts the queries whose value v has
+ * 2^(b-1) &lt;= v &lt; 2^b, with bucket 0 holding zeros. Percentiles are
+ * read from the histograms and are therefore upper bounds accurate to
+ * within a factor of two.</p>
+ *
+ * <p>Every method may be called from any number of threads at once;
+ * recording takes no locks.</p>
+ *
+ * @param <T> the type of the graph's vertex labels
+ */
+public final class TraversalStatistics<T> implements TraversalListener<T> {
+
+    private static final int BUCKETS = 64;
+
+    private final Counters<T>[] counters;
+
+    @SuppressWarnings("unchecked")
+    public TraversalStatistics() {
+        TraversalMetrics.Query[] queries = TraversalMetrics.Query.values();
+        counters = (Counters<T>[]) new Counters<?>[queries.length];
+        for (int q = 0; q < queries.length; q++) {
+            counters[q] = new Counters<>();
+        }
+    }
+
+    @Override
+    public void traversalFinished(TraversalMetrics<T> metrics) {
+        Counters<T> c = counters[metrics.getQuery().ordinal()];
+        c.count.increment();
+        c.vertices.add(metrics.getVerticesVisited());
+        c.edges.add(metrics.getEdgesScanned());
+        c.nanos.add(metrics.getNanos());
+        if (metrics.getAllocatedBytes() > 0) {
+            c.bytes.add(metrics.getAllocatedBytes());
+        }
+        c.maxFrontier.accumulate(metrics.getMaxFrontier());
+        c.nanosHistogram.incrementAndGet(bucket(metrics.getNanos()));
+        c.verticesHistogram.incrementAndGet(bucket(metrics.getVerticesVisited()));
+
+        TraversalMetrics<T> slowest = c.slowest.get();
+        while ((slowest == null || metrics.getNanos() > slowest.getNanos())
+                && !c.slowest.compareAndSet(slowest, metrics)) {
+            slowest = c.slowest.get();
+        }
+    }
+
+    /**
+     * Gets the number of queries of a kind recorded so far.
+     *
+     * @param query a kind of query
+     * @return the query count
+     */
+    public long getCount(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].count.sum();
+    }
+
+    /**
+     * Gets the total number of vertices visited by queries of a kind.
+     *
+     * @param query a kind of query
+     * @return the sum of the visited vertex counts
+     */
+    public long getTotalVerticesVisited(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].vertices.sum();
+    }
+
+    /**
+     * Gets the total number of edges scanned by queries of a kind.
+     *
+     * @param query a kind of query
+     * @return the sum of the scanned edge counts
+     */
+    public long getTotalEdgesScanned(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].edges.sum();
+    }
+
+    /**
+     * Gets the total time spent in queries of a kind.
+     *
+     * @param query a kind of query
+     * @return the summed wall-clock time in nanoseconds
+     */
+    public long getTotalNanos(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].nanos.sum();
+    }
+
+    /**
+     * Gets the total number of bytes allocated by queries of a kind.
+     *
+     * @param query a kind of query
+     * @return the summed allocation, or 0 if the JVM does not report it
+     */
+    public long getTotalAllocatedBytes(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].bytes.sum();
+    }
+
+    /**
+     * Gets the largest frontier any query of a kind has held.
+     *
+     * @param query a kind of query
+     * @return the maximum frontier size, or 0 if none was recorded
+     */
+    public int getMaxFrontier(TraversalMetrics.Query query) {
+        return (int) counters[query.ordinal()].maxFrontier.get();
+    }
+
+    /**
+     * Gets the slowest query of a kind recorded so far.
+     *
+     * @param query a kind of query
+     * @return its metrics, or null if none was recorded
+     */
+    public TraversalMetrics<T> getSlowest(TraversalMetrics.Query query) {
+        return counters[query.ordinal()].slowest.get();
+    }
+
+    /**
+     * Gets a copy of the time histogram for a kind of query.
+     *
+     * @param query a kind of query
+     * @return the query count in each of the 64 buckets
+     */
+    public long[] getNanosHistogram(TraversalMetrics.Query query) {
+        return copy(counters[query.ordinal()].nanosHistogram);
+    }
+
+    /**
+     * Gets a copy of the visited-vertices histogram for a kind of query.
+     *
+     * @param query a kind of query
+     * @return the query count in each of the 64 buckets
+     */
+    public long[] getVerticesHistogram(TraversalMetrics.Query query) {
+        return copy(counters[query.ordinal()].verticesHistogram);
+    }
+
+    /**
+     * Estimates a percentile of query time from the time histogram.
+     *
+     * @param query    a kind of query
+     * @param fraction the percentile as a fraction, such as 0.99
+     * @return a time in nanoseconds that at least that fraction of the
+     *         queries took no longer than, or 0 if none was recorded
+     * @throws IllegalArgumentException if fraction is not between 0 and 1
+     */
+    public long getNanosPercentile(TraversalMetrics.Query query, double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Percentile fraction must be between 0 and 1.");
+        }
+        long[] histogram = getNanosHistogram(query);
+        long total = 0;
+        for (long queries : histogram) {
+            total += queries;
+        }
+        long wanted = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= wanted && seen > 0) {
+                return (b == 0) ? 0 : (b == BUCKETS - 1) ? Long.MAX_VALUE : (1L << b) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Discards everything recorded so far. Queries that finish while the
+     * reset is under way may be partly counted.
+     */
+    public void reset() {
+        for (Counters<T> c : counters) {
+            c.reset();
+        }
+    }
+
+    /**
+     * Summarizes the recorded queries, one line per kind that has run.
+     *
+     * @return a table of counts, averages, maxima and percentiles
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%-28s %10s %12s %12s %10s %10s %10s %12s%n",
+                "query", "count", "vertices/q", "edges/q", "frontier", "p50 us", "p99 us", "bytes/q"));
+        for (TraversalMetrics.Query query : TraversalMetrics.Query.values()) {
+            long count = getCount(query);
+            if (count > 0) {
+                report.append(String.format("%-28s %10d %12d %12d %10d %10.1f %10.1f %12d%n",
+                        query, count, getTotalVerticesVisited(query) / count, getTotalEdgesScanned(query) / count,
+                        getMaxFrontier(query), getNanosPercentile(query, 0.5) / 1000.0,
+                        getNanosPercentile(query, 0.99) / 1000.0, getTotalAllocatedBytes(query) / count));
+            }
+        }
+        return report.toString();
+    }
+
+    // 0 for values up to 0, else the number of significant bits
+    private static int bucket(long value) {
+        return (value <= 0) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    private static long[] copy(AtomicLongArray histogram) {
+        long[] result = new long[histogram.length()];
+        for (int b = 0; b < result.length; b++) {
+            result[b] = histogram.get(b);
+        }
+        return result;
+    }
+
+    // The statistics of one kind of query
+    private static final class Counters<T> {
+        final LongAdder count = new LongAdder();
+        final LongAdder vertices = new LongAdder();
+        final LongAdder edges = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAccumulator maxFrontier = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray nanosHistogram = new AtomicLongArray(BUCKETS);
+        final AtomicLongArray verticesHistogram = new AtomicLongArray(BUCKETS);
+        final AtomicReference<TraversalMetrics<T>> slowest = new AtomicReference<>();
+
+        void reset() {
+            count.reset();
+            vertices.reset();
+            edges.reset();
+            nanos.reset();
+            bytes.reset();
+            maxFrontier.reset();
+            for (int b = 0; b < BUCKETS; b++) {
+                nanosHistogram.set(b, 0);
+                verticesHistogram.set(b, 0);
+            }
+            slowest.set(null);
+        }
+    }
+}
@@ -1,25 +1,80 @@
 package GraphPackage;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-import ADTPackage.*; // ListWithIteratorInterface, LinkedListWithIterator
-
 /**
  * A class of vertices for a graph.
  * Based on Carrano & Henry, but adapted for our ADT setup.
+ *
+ * <p>Outgoing edges are kept in parallel growable arrays of end vertices
+ * and weights, so appending an edge is amortized O(1) and edge i can be
+ * read directly. Once the out-degree passes INDEX_THRESHOLD, the vertex
+ * also keeps a NeighborIndex so that duplicate-edge checks stay O(1).
+ * When the graph keeps a reverse index, each vertex also lists the
+ * vertices with edges into it, so searches can walk edges backwards.</p>
+ *
+ * <p>Edges added while a snapshot of the graph is open also carry the
+ * graph version they were added at, so a snapshot can see just the edges
+ * that existed when it was taken. Removing an edge while a snapshot is
+ * open does not touch the arrays in place: they are kept, with the
+ * version that retired them, and the vertex continues with copies. Appends
+ * and removals publish the edge arrays and the degree with release writes;
+ * snapshots read them with acquire reads and may therefore run in other
+ * threads while the graph changes.</p>
  */
 class Vertex<T> implements VertexInterface<T> {
 
+    static final int INDEX_THRESHOLD = 16; // Out-degree at which the neighbor index is built
+
+    private static final VarHandle NEIGHBORS;
+    private static final VarHandle WEIGHTS;
+    private static final VarHandle DEGREE;
+    private static final VarHandle EDGE_VERSIONS;
+    private static final VarHandle RETIRED;
+    private static final VarHandle REMOVED_VERSION;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEIGHBORS = lookup.findVarHandle(Vertex.class, "neighbors", Vertex[].class);
+            WEIGHTS = lookup.findVarHandle(Vertex.class, "weights", double[].class);
+            DEGREE = lookup.findVarHandle(Vertex.class, "degree", int.class);
+            EDGE_VERSIONS = lookup.findVarHandle(Vertex.class, "edgeVersions", long[].class);
+            RETIRED = lookup.findVarHandle(Vertex.class, "retired", RetiredEdges.class);
+            REMOVED_VERSION = lookup.findVarHandle(Vertex.class, "removedVersion", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private T label;
-    private ListWithIteratorInterface<Edge> edgeList; // Edges to neighbors
+    private int index;                                // Position in the graph's vertex table
+    private Vertex<T>[] neighbors;                    // End vertices of edges, [0, degree)
+    private double[] weights;                         // Weights parallel to neighbors
+    private int degree;                               // Number of outgoing edges
+    private NeighborIndex neighborIndex;              // Null until degree passes the threshold
+    private long[] edgeVersions;                      // Parallel to neighbors; null unless needed by a snapshot
+    private RetiredEdges<T> retired;                  // Edge arrays replaced while snapshots were open
+    private long removedVersion;                      // Version that removed this vertex, or 0
+    private Vertex<T>[] inNeighbors;                  // Origins of incoming edges, [0, inDegree)
+    private int inDegree;                             // Number of incoming edges, if indexed
     private boolean visited;                          // True if visited
     private VertexInterface<T> previousVertex;        // On path to this vertex
     private double cost;                              // Of path to this vertex
 
-    public Vertex(T vertexLabel) {
+    public Vertex(T vertexLabel, int vertexIndex) {
         label = vertexLabel;
-        edgeList = new LinkedListWithIterator<>();
+        index = vertexIndex;
+        neighbors = newVertexArray(4);
+        weights = new double[4];
+        degree = 0;
+        neighborIndex = null;
+        inNeighbors = null; // Allocated with the first indexed incoming edge
+        inDegree = 0;
         visited = false;
         previousVertex = null;
         cost = 0;
@@ -32,6 +87,40 @@ class Vertex<T> implements VertexInterface<T> {
         return label;
     }
 
+    /**
+     * Gets the dense index the owning graph assigned to this vertex.
+     * Per-query traversal state is kept in arrays keyed by this index.
+     *
+     * @return the vertex index
+     */
+    int getIndex() {
+        return index;
+    }
+
+    // Called by the graph when it compacts its vertex table
+    void setIndex(int vertexIndex) {
+        index = vertexIndex;
+    }
+
+    /**
+     * Sees whether the graph has removed this vertex. A removed vertex has
+     * no edges and is no longer in the graph's dictionary.
+     *
+     * @return true if the vertex was removed
+     */
+    boolean isRemoved() {
+        return removedVersion != 0;
+    }
+
+    /**
+     * Marks this vertex as removed.
+     *
+     * @param version the graph version the removal creates
+     */
+    void markRemoved(long version) {
+        REMOVED_VERSION.setRelease(this, version);
+    }
+
     @Override
     public void visit() {
         visited = true;
@@ -54,18 +143,10 @@ class Vertex<T> implements VertexInterface<T> {
         boolean result = false;
 
         if (!this.equals(endVertex)) { // Vertices are distinct
-            Iterator<VertexInterface<T>> neighbors = getNeighborIterator();
-            boolean duplicateEdge = false;
-
-            while (!duplicateEdge && neighbors.hasNext()) {
-                VertexInterface<T> nextNeighbor = neighbors.next();
-                if (endVertex.equals(nextNeighbor)) {
-                    duplicateEdge = true;
-                }
-            }
-
-            if (!duplicateEdge) {
-                edgeList.add(new Edge(endVertex, edgeWeight));
+            @SuppressWarnings("unchecked")
+            Vertex<T> end = (Vertex<T>) endVertex;
+            if (!hasEdgeTo(end)) {
+                append(end, edgeWeight, 0);
                 result = true;
             }
         }
@@ -90,7 +171,366 @@ class Vertex<T> implements VertexInterface<T> {
 
     @Override
     public boolean hasNeighbor() {
-        return !edgeList.isEmpty();
+        return degree > 0;
+    }
+
+    /*Indexed edge access for the graph's algorithms*/
+
+    /**
+     * Sees whether this vertex has an edge to the given vertex, in
+     * expected constant time once the neighbor index exists.
+     *
+     * @param endVertex a vertex of the same graph
+     * @return true if the edge exists
+     */
+    boolean hasEdgeTo(Vertex<T> endVertex) {
+        if (neighborIndex != null) {
+            return neighborIndex.contains(endVertex.index);
+        }
+        for (int i = 0; i < degree; i++) {
+            if (neighbors[i] == endVertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getOutDegree() {
+        return degree;
+    }
+
+    Vertex<T> getNeighborAt(int edge) {
+        return neighbors[edge];
+    }
+
+    double getWeightAt(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Makes room for the given number of outgoing edges.
+     *
+     * @param capacity the out-degree to accommodate without regrowing
+     */
+    void ensureEdgeCapacity(int capacity) {
+        if (capacity > neighbors.length) {
+            // Open snapshots may still be reading the old arrays, which stay unchanged
+            NEIGHBORS.setRelease(this, Arrays.copyOf(neighbors, capacity));
+            WEIGHTS.setRelease(this, Arrays.copyOf(weights, capacity));
+            if (edgeVersions != null) {
+                EDGE_VERSIONS.setRelease(this, Arrays.copyOf(edgeVersions, capacity));
+            }
+        }
+    }
+
+    /**
+     * Adds an edge that the caller knows is not present yet and does not
+     * loop back to this vertex.
+     *
+     * @param endVertex  a vertex of the same graph
+     * @param edgeWeight the weight of the edge
+     * @param version    the graph version to stamp the edge with, or 0 if
+     *                   no open snapshot needs to tell it apart
+     */
+    void append(Vertex<T> endVertex, double edgeWeight, long version) {
+        if (degree == neighbors.length) {
+            ensureEdgeCapacity(2 * degree);
+        }
+        neighbors[degree] = endVertex;
+        weights[degree] = edgeWeight;
+        if (version > 0 && edgeVersions == null) {
+            // Earlier edges get version 0, which every snapshot sees
+            EDGE_VERSIONS.setRelease(this, new long[neighbors.length]);
+        }
+        if (edgeVersions != null) {
+            edgeVersions[degree] = version;
+        }
+        DEGREE.setRelease(this, degree + 1); // Publishes the edge to snapshot readers
+
+        if (neighborIndex != null) {
+            neighborIndex.add(endVertex.index);
+        } else if (degree > INDEX_THRESHOLD) {
+            neighborIndex = new NeighborIndex(2 * degree);
+            for (int i = 0; i < degree; i++) {
+                neighborIndex.add(neighbors[i].index);
+            }
+        }
+    }
+
+    /**
+     * Removes the edge to a given vertex, keeping the order of the other
+     * edges, in time proportional to the out-degree.
+     *
+     * @param endVertex a vertex of the same graph
+     * @param version   the version the removal creates if an open snapshot
+     *                  may still read the current arrays, or 0 if none can
+     * @return true if the edge was there and has been removed
+     */
+    boolean removeEdgeTo(Vertex<T> endVertex, long version) {
+        if (neighborIndex != null && !neighborIndex.contains(endVertex.index)) {
+            return false;
+        }
+        int position = degree - 1;
+        while (position >= 0 && neighbors[position] != endVertex) {
+            position--;
+        }
+        if (position < 0) {
+            return false;
+        }
+
+        int after = degree - position - 1;
+        if (version > 0) {
+            // Leave the arrays as they are for the snapshots, and continue with copies
+            retire(version);
+            Vertex<T>[] newNeighbors = newVertexArray(neighbors.length);
+            double[] newWeights = new double[weights.length];
+            System.arraycopy(neighbors, 0, newNeighbors, 0, position);
+            System.arraycopy(neighbors, position + 1, newNeighbors, position, after);
+            System.arraycopy(weights, 0, newWeights, 0, position);
+            System.arraycopy(weights, position + 1, newWeights, position, after);
+            if (edgeVersions != null) {
+                long[] newVersions = new long[edgeVersions.length];
+                System.arraycopy(edgeVersions, 0, newVersions, 0, position);
+                System.arraycopy(edgeVersions, position + 1, newVersions, position, after);
+                EDGE_VERSIONS.setRelease(this, newVersions);
+            }
+            NEIGHBORS.setRelease(this, newNeighbors);
+            WEIGHTS.setRelease(this, newWeights);
+        } else {
+            System.arraycopy(neighbors, position + 1, neighbors, position, after);
+            System.arraycopy(weights, position + 1, weights, position, after);
+            if (edgeVersions != null) {
+                System.arraycopy(edgeVersions, position + 1, edgeVersions, position, after);
+            }
+            neighbors[degree - 1] = null;
+        }
+        DEGREE.setRelease(this, degree - 1);
+
+        if (neighborIndex != null) {
+            neighborIndex.remove(endVertex.index);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every outgoing edge of a vertex that is leaving the graph.
+     *
+     * @param version the version the removal creates if an open snapshot
+     *                may still read the current arrays, or 0 if none can
+     */
+    void removeAllEdges(long version) {
+        if (version > 0) {
+            retire(version);
+        }
+        EDGE_VERSIONS.setRelease(this, null);
+        NEIGHBORS.setRelease(this, newVertexArray(0));
+        WEIGHTS.setRelease(this, new double[0]);
+        DEGREE.setRelease(this, 0);
+        neighborIndex = null;
+    }
+
+    /**
+     * Rebuilds the neighbor index after the graph renumbered its
+     * vertices.
+     */
+    void reindexNeighbors() {
+        if (neighborIndex != null) {
+            neighborIndex = new NeighborIndex(2 * degree);
+            for (int i = 0; i < degree; i++) {
+                neighborIndex.add(neighbors[i].index);
+            }
+        }
+    }
+
+    // Publishes the current arrays as the ones snapshots older than version read
+    private void retire(long version) {
+        RETIRED.setRelease(this, new RetiredEdges<>(neighbors, weights, edgeVersions, degree, version, retired));
+    }
+
+    /* ==================== Incoming edges ==================== */
+
+    /**
+     * Records an incoming edge; called by a graph that keeps a reverse
+     * index, for every edge it adds.
+     *
+     * @param beginVertex the origin vertex of the edge
+     */
+    void addInNeighbor(Vertex<T> beginVertex) {
+        if (inNeighbors == null) {
+            inNeighbors = newVertexArray(4);
+        } else if (inDegree == inNeighbors.length) {
+            inNeighbors = Arrays.copyOf(inNeighbors, 2 * inDegree);
+        }
+        inNeighbors[inDegree++] = beginVertex;
+    }
+
+    /**
+     * Removes an incoming edge, keeping the order of the others.
+     *
+     * @param beginVertex the origin vertex of the edge
+     */
+    void removeInNeighbor(Vertex<T> beginVertex) {
+        for (int i = inDegree - 1; i >= 0; i--) {
+            if (inNeighbors[i] == beginVertex) {
+                System.arraycopy(inNeighbors, i + 1, inNeighbors, i, inDegree - i - 1);
+                inNeighbors[--inDegree] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes room for the given number of incoming edges.
+     *
+     * @param capacity the in-degree to accommodate without regrowing
+     */
+    void ensureInCapacity(int capacity) {
+        if (inNeighbors == null) {
+            inNeighbors = newVertexArray(Math.max(1, capacity));
+        } else if (capacity > inNeighbors.length) {
+            inNeighbors = Arrays.copyOf(inNeighbors, capacity);
+        }
+    }
+
+    /** Forgets the incoming edges when the graph drops its reverse index. */
+    void clearInNeighbors() {
+        inNeighbors = null;
+        inDegree = 0;
+    }
+
+    int getInDegree() {
+        return inDegree;
+    }
+
+    Vertex<T> getInNeighborAt(int edge) {
+        return inNeighbors[edge];
+    }
+
+    /**
+     * Creates an iterator over the origins of this vertex's incoming
+     * edges, in the order they were recorded.
+     *
+     * @return an iterator over the in-neighbors
+     */
+    Iterator<VertexInterface<T>> getInNeighborIterator() {
+        return new InNeighborIterator();
+    }
+
+    /* ==================== Snapshot reads ==================== */
+
+    /*
+     * A snapshot at version v reads the arrays that were current at v:
+     * the oldest retired arrays whose retirement came after v, or the
+     * current arrays if none did. The current arrays are read before the
+     * retired list, and retiring publishes the list before the new arrays,
+     * so a reader that saw any change made after a retirement also sees
+     * the retirement and uses the unchanged arrays it kept.
+     */
+
+    boolean hasSnapshotData() {
+        return edgeVersions != null || retired != null;
+    }
+
+    /** Drops the edge versions and retired arrays once no open snapshot can need them. */
+    void dropSnapshotData() {
+        EDGE_VERSIONS.setRelease(this, null);
+        RETIRED.setRelease(this, null);
+    }
+
+    /**
+     * Sees whether this vertex was in the graph at a given version.
+     *
+     * @param version the version of an open snapshot taken after the
+     *                vertex was added
+     * @return true unless the vertex was removed at or before the version
+     */
+    boolean isPresentAt(long version) {
+        long removed = (long) REMOVED_VERSION.getAcquire(this);
+        return removed == 0 || removed > version;
+    }
+
+    /**
+     * Counts the outgoing edges that were present at a given graph
+     * version. They are always the first edges of the arrays current at
+     * that version, since edges are appended and their versions never
+     * decrease.
+     *
+     * @param version the version of an open snapshot
+     * @return the out-degree as of that version
+     */
+    int getOutDegreeAt(long version) {
+        int visibleDegree = (int) DEGREE.getAcquire(this);
+        long[] versions = (long[]) EDGE_VERSIONS.getAcquire(this);
+        RetiredEdges<T> kept = retiredAt(version);
+        if (kept != null) {
+            visibleDegree = kept.degree;
+            versions = kept.versions;
+        }
+
+        if (versions != null && visibleDegree > 0 && versions[visibleDegree - 1] > version) {
+            // Binary search for the first edge added after the version
+            int low = 0;
+            int high = visibleDegree - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (versions[middle] > version) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            visibleDegree = low;
+        }
+        return visibleDegree;
+    }
+
+    @SuppressWarnings("unchecked")
+    Vertex<T> getNeighborAt(int edge, long version) {
+        Vertex<T>[] current = (Vertex<T>[]) NEIGHBORS.getAcquire(this);
+        RetiredEdges<T> kept = retiredAt(version);
+        return (kept != null) ? kept.neighbors[edge] : current[edge];
+    }
+
+    double getWeightAt(int edge, long version) {
+        double[] current = (double[]) WEIGHTS.getAcquire(this);
+        RetiredEdges<T> kept = retiredAt(version);
+        return (kept != null) ? kept.weights[edge] : current[edge];
+    }
+
+    // The oldest retired arrays still current at version, or null if the current ones are
+    @SuppressWarnings("unchecked")
+    private RetiredEdges<T> retiredAt(long version) {
+        RetiredEdges<T> result = null;
+        for (RetiredEdges<T> kept = (RetiredEdges<T>) RETIRED.getAcquire(this);
+                kept != null && kept.retiredVersion > version; kept = kept.older) {
+            result = kept;
+        }
+        return result;
+    }
+
+    // Edge arrays replaced at retiredVersion; never modified afterwards
+    private static final class RetiredEdges<T> {
+        final Vertex<T>[] neighbors;
+        final double[] weights;
+        final long[] versions;
+        final int degree;
+        final long retiredVersion;
+        final RetiredEdges<T> older;
+
+        RetiredEdges(Vertex<T>[] neighbors, double[] weights, long[] versions, int degree,
+                     long retiredVersion, RetiredEdges<T> older) {
+            this.neighbors = neighbors;
+            this.weights = weights;
+            this.versions = versions;
+            this.degree = degree;
+            this.retiredVersion = retiredVersion;
+            this.older = older;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Vertex<T>[] newVertexArray(int capacity) {
+        return (Vertex<T>[]) new Vertex<?>[capacity];
     }
 
     @Override
@@ -138,15 +578,41 @@ class Vertex<T> implements VertexInterface<T> {
     /*Iterators*/
 
     private class NeighborIterator implements Iterator<VertexInterface<T>> {
-        private Iterator<Edge> edges;
+        private int nextEdge;
 
         private NeighborIterator() {
-            edges = edgeList.getIterator();
+            nextEdge = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEdge < degree;
+        }
+
+        @Override
+        public VertexInterface<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return neighbors[nextEdge++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class InNeighborIterator implements Iterator<VertexInterface<T>> {
+        private int nextEdge;
+
+        private InNeighborIterator() {
+            nextEdge = 0;
         }
 
         @Override
         public boolean hasNext() {
-            return edges.hasNext();
+            return nextEdge < inDegree;
         }
 
         @Override
@@ -154,8 +620,7 @@ class Vertex<T> implements VertexInterface<T> {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            Edge edgeToNextNeighbor = edges.next();
-            return edgeToNextNeighbor.getEndVertex();
+            return inNeighbors[nextEdge++];
         }
 
         @Override
@@ -165,15 +630,15 @@ class Vertex<T> implements VertexInterface<T> {
     }
 
     private class WeightIterator implements Iterator<Double> {
-        private Iterator<Edge> edges;
+        private int nextEdge;
 
         private WeightIterator() {
-            edges = edgeList.getIterator();
+            nextEdge = 0;
         }
 
         @Override
         public boolean hasNext() {
-            return edges.hasNext();
+            return nextEdge < degree;
         }
 
         @Override
@@ -181,8 +646,7 @@ class Vertex<T> implements VertexInterface<T> {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            Edge edgeToNextNeighbor = edges.next();
-            return edgeToNextNeighbor.getWeight();
+            return weights[nextEdge++];
         }
 
         @Override
@@ -208,28 +672,8 @@ class Vertex<T> implements VertexInterface<T> {
         return result;
     }
 
-    /* ==================== Edge inner class ==================== */
-
-    protected class Edge {
-        private VertexInterface<T> vertex; // Vertex at end of edge
-        private double weight;
-
-        protected Edge(VertexInterface<T> endVertex, double edgeWeight) {
-            vertex = endVertex;
-            weight = edgeWeight;
-        }
-
-        protected Edge(VertexInterface<T> endVertex) {
-            vertex = endVertex;
-            weight = 0.0;
-        }
-
-        protected VertexInterface<T> getEndVertex() {
-            return vertex;
-        }
-
-        protected double getWeight() {
-            return weight;
-        }
+    @Override
+    public int hashCode() {
+        return label.hashCode();
     }
 }